@@ -3,7 +3,6 @@ package edu.kit.informatik.codefight;
 import edu.kit.informatik.codefight.command.CommandHandler;
 import edu.kit.informatik.codefight.command.GameInitialiser;
 import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
-import edu.kit.informatik.codefight.model.CodeFight;
 import edu.kit.informatik.codefight.command.usercommands.SetInitModeCommand;
 
 import static edu.kit.informatik.codefight.command.CommandHandler.ERROR_PREFIX;
@@ -19,7 +18,7 @@ import static java.util.Objects.requireNonNull;
 public final class Main {
     /**
      * The error message for when the given number is not an integer.
-     * Public because it is used in {@link SetInitModeCommand}
+     * Public because it is used in {@link SetInitModeCommand} and {@link GameInitialiser}
      */
     public static final String NUMBER_NOT_INT_FAILURE = "The specified number must be an integer.";
     private static final String UTILITY_CLASS_FAILURE = "Utility classes cannot be instantiated";
@@ -34,21 +33,19 @@ public final class Main {
      */
     public static void main(String[] args) {
         //Initialize the game with the command line arguments
+        GameInitialiser gameInitialiser;
         try {
-            Integer.parseInt(args[0]);
-        } catch (NumberFormatException e) {
-            System.err.println(ERROR_PREFIX + NUMBER_NOT_INT_FAILURE);
-            return;
-        }
-        CodeFight codeFight;
-        try {
-            codeFight = new GameInitialiser(args).getGame();
+            gameInitialiser = new GameInitialiser(args);
         } catch (GameInitialisationException e) {
             System.err.println(ERROR_PREFIX + e.getMessage());
             return;
         }
         //Start interaction with the user
-        CommandHandler commandHandler = new CommandHandler(requireNonNull(codeFight));
-        commandHandler.handleUserInput();
+        CommandHandler commandHandler = new CommandHandler(requireNonNull(gameInitialiser.getGame()));
+        if (gameInitialiser.isScriptMode()) {
+            commandHandler.handleScriptInput();
+        } else {
+            commandHandler.handleUserInput();
+        }
     }
 }
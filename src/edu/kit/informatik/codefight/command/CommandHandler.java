@@ -1,20 +1,38 @@
 package edu.kit.informatik.codefight.command;
 
 import edu.kit.informatik.codefight.command.usercommands.AddAiCommand;
+import edu.kit.informatik.codefight.command.usercommands.DumpMemoryCommand;
 import edu.kit.informatik.codefight.command.usercommands.EndGameCommand;
+import edu.kit.informatik.codefight.command.usercommands.EstimateCommand;
+import edu.kit.informatik.codefight.command.usercommands.EvolveCommand;
+import edu.kit.informatik.codefight.command.usercommands.ExploreCommand;
+import edu.kit.informatik.codefight.command.usercommands.FlushCommand;
 import edu.kit.informatik.codefight.command.usercommands.HelpCommand;
 import edu.kit.informatik.codefight.command.usercommands.NextCommand;
+import edu.kit.informatik.codefight.command.usercommands.PrevCommand;
 import edu.kit.informatik.codefight.command.usercommands.QuitCommand;
 import edu.kit.informatik.codefight.command.usercommands.RemoveAiCommand;
+import edu.kit.informatik.codefight.command.usercommands.ReplayCommand;
+import edu.kit.informatik.codefight.command.usercommands.SeekCommand;
 import edu.kit.informatik.codefight.command.usercommands.SetInitModeCommand;
 import edu.kit.informatik.codefight.command.usercommands.ShowAiCommand;
 import edu.kit.informatik.codefight.command.usercommands.ShowMemoryCommand;
+import edu.kit.informatik.codefight.command.usercommands.ShowTraceCommand;
 import edu.kit.informatik.codefight.command.usercommands.StartGameCommand;
+import edu.kit.informatik.codefight.command.usercommands.SweepCommand;
+import edu.kit.informatik.codefight.command.usercommands.SyncCommand;
+import edu.kit.informatik.codefight.command.usercommands.TournamentCommand;
 import edu.kit.informatik.codefight.command.usercommands.UserCommand;
 import edu.kit.informatik.codefight.model.CodeFight;
 import edu.kit.informatik.codefight.model.GamePhase;
 import edu.kit.informatik.codefight.model.round.RoundHandler;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -43,12 +61,16 @@ public class CommandHandler {
     public static final String COMMAND_NOT_FOUND_FORMAT = "Command '%s' not found";
     /**
      * The format for the error message when the number of arguments is wrong.
-     * Public because it is used in {@link StartGameCommand}, {@link NextCommand} and {@link ShowMemoryCommand}.
+     * Public because it is used in {@link StartGameCommand}, {@link NextCommand}, {@link ShowMemoryCommand}
+     * and {@link DumpMemoryCommand}.
      */
     public static final String WRONG_ARGUMENTS_COUNT_FORMAT = "wrong number of arguments for command '%s'!";
     private static final String WRONG_PHASE_FORMAT = "The game is not in the %s phase";
     private static final String INVALID_RESULT_TYPE_FORMAT = "Unexpected value: %s";
-    private static final String COMMAND_SEPARATOR_REGEX = " +";
+    private static final char COMMAND_SEPARATOR = ' ';
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final String STANDARD_OUTPUT_ENCODING_PROPERTY = "sun.stdout.encoding";
+    private static final String STANDARD_ERROR_ENCODING_PROPERTY = "sun.stderr.encoding";
     private final CodeFight codeFight;
     private final Map<String, UserCommand> commands;
     private boolean running = false;
@@ -75,6 +97,57 @@ public class CommandHandler {
             }
         }
     }
+    /**
+     * Executes the commands of a script from the standard input until the script ends or the quit command is executed.
+     * The script is read in large blocks and the standard output is collected in a buffer, which is only written when
+     * it is full, when the {@link FlushCommand flush command} is executed and at the end of the script. Error messages
+     * are rare, so the collected standard output is written before each of them and the error message is written
+     * immediately. The standard output and the standard error output therefore stay in the same order as if the
+     * commands were entered by a user, even if both are written to the same terminal or pipe.
+     */
+    public void handleScriptInput() {
+        this.running = true;
+        PrintStream standardOutput = System.out;
+        PrintStream standardError = System.err;
+        PrintStream bufferedOutput = new PrintStream(new BufferedOutputStream(standardOutput, OUTPUT_BUFFER_SIZE),
+                false, getCharset(STANDARD_OUTPUT_ENCODING_PROPERTY));
+        System.setOut(bufferedOutput);
+        System.setErr(new PrintStream(new OrderedErrorStream(standardError, bufferedOutput), true,
+                getCharset(STANDARD_ERROR_ENCODING_PROPERTY)));
+        try {
+            ScriptReader scriptReader = new ScriptReader(Channels.newChannel(System.in), Charset.defaultCharset());
+            String line = running ? scriptReader.readLine() : null;
+            while (line != null) {
+                executeCommand(line);
+                line = running ? scriptReader.readLine() : null;
+            }
+        } catch (IOException e) {
+            //like the scanner of the user input, a script that cannot be read anymore ends
+        } finally {
+            flush();
+            System.setOut(standardOutput);
+            System.setErr(standardError);
+        }
+    }
+
+    /**
+     * Returns the charset of the standard stream with the given encoding property.
+     */
+    private static Charset getCharset(String encodingProperty) {
+        //the standard streams are encoded with the charset of their property or else with the default charset
+        String encoding = System.getProperty(encodingProperty);
+        return encoding != null && Charset.isSupported(encoding) ? Charset.forName(encoding) : Charset.defaultCharset();
+    }
+
+    /**
+     * Writes the collected output of a script to the standard output and the standard error output. Without a script,
+     * the output is written immediately anyway.
+     */
+    public void flush() {
+        System.out.flush();
+        System.err.flush();
+    }
+
     /**
      * Quits the interaction with the user.
      */
@@ -82,7 +155,7 @@ public class CommandHandler {
         this.running = false;
     }
     private void executeCommand(String commandWithArguments) {
-        String[] splittedCommand = commandWithArguments.trim().split(COMMAND_SEPARATOR_REGEX);
+        String[] splittedCommand = splitCommand(commandWithArguments.trim());
         String commandName = splittedCommand[0];
         String[] commandArguments = Arrays.copyOfRange(splittedCommand, 1, splittedCommand.length);
         setCurrentNumberOfArguments(commandArguments.length);
@@ -90,6 +163,32 @@ public class CommandHandler {
         setCurrentPhase(codeFight.getPhase());
         executeCommand(commandName, commandArguments);
     }
+    /**
+     * Splits the trimmed command at every sequence of spaces, an empty command results in a single empty part.
+     */
+    private static String[] splitCommand(String command) {
+        //after trimming, a command neither starts nor ends with a space
+        int numberOfParts = 1;
+        for (int i = 1; i < command.length(); i++) {
+            if (command.charAt(i) == COMMAND_SEPARATOR && command.charAt(i - 1) != COMMAND_SEPARATOR) {
+                numberOfParts++;
+            }
+        }
+        String[] parts = new String[numberOfParts];
+        int startOfPart = 0;
+        int part = 0;
+        for (int i = 0; i < command.length(); i++) {
+            if (command.charAt(i) == COMMAND_SEPARATOR) {
+                if (command.charAt(i - 1) != COMMAND_SEPARATOR) {
+                    parts[part] = command.substring(startOfPart, i);
+                    part++;
+                }
+                startOfPart = i + 1;
+            }
+        }
+        parts[part] = command.substring(startOfPart);
+        return parts;
+    }
     private void executeCommand(String commandName, String[] commandArguments) {
         if (!commands.containsKey(commandName)) {
             System.err.println(ERROR_PREFIX + COMMAND_NOT_FOUND_FORMAT.formatted(commandName));
@@ -123,6 +222,18 @@ public class CommandHandler {
         this.addCommand(ShowMemoryCommand.COMMAND_NAME, new ShowMemoryCommand(this));
         this.addCommand(ShowAiCommand.COMMAND_NAME, new ShowAiCommand());
         this.addCommand(EndGameCommand.COMMAND_NAME, new EndGameCommand());
+        this.addCommand(SyncCommand.COMMAND_NAME, new SyncCommand(this));
+        this.addCommand(TournamentCommand.COMMAND_NAME, new TournamentCommand(this));
+        this.addCommand(SweepCommand.COMMAND_NAME, new SweepCommand(this));
+        this.addCommand(EstimateCommand.COMMAND_NAME, new EstimateCommand(this));
+        this.addCommand(EvolveCommand.COMMAND_NAME, new EvolveCommand(this));
+        this.addCommand(ExploreCommand.COMMAND_NAME, new ExploreCommand(this));
+        this.addCommand(PrevCommand.COMMAND_NAME, new PrevCommand(this));
+        this.addCommand(ReplayCommand.COMMAND_NAME, new ReplayCommand(this));
+        this.addCommand(ShowTraceCommand.COMMAND_NAME, new ShowTraceCommand());
+        this.addCommand(SeekCommand.COMMAND_NAME, new SeekCommand());
+        this.addCommand(DumpMemoryCommand.COMMAND_NAME, new DumpMemoryCommand(this));
+        this.addCommand(FlushCommand.COMMAND_NAME, new FlushCommand(this));
 
     }
     private void addCommand(String commandName, UserCommand userCommand) {
@@ -169,4 +280,34 @@ public class CommandHandler {
         return Collections.unmodifiableMap(commands);
     }
 
+    /**
+     * This class represents the standard error output of a script. The collected standard output is written before
+     * anything is written to the standard error output, so the outputs are not reordered.
+     */
+    private static final class OrderedErrorStream extends OutputStream {
+        private final PrintStream standardError;
+        private final PrintStream bufferedOutput;
+
+        OrderedErrorStream(PrintStream standardError, PrintStream bufferedOutput) {
+            this.standardError = standardError;
+            this.bufferedOutput = bufferedOutput;
+        }
+
+        @Override
+        public void write(int b) {
+            bufferedOutput.flush();
+            standardError.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bufferedOutput.flush();
+            standardError.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            standardError.flush();
+        }
+    }
 }
@@ -1,8 +1,27 @@
 package edu.kit.informatik.codefight.command;
 
 import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
+import edu.kit.informatik.codefight.model.ArrayMemoryStorage;
+import edu.kit.informatik.codefight.model.ByteBufferMemoryStorage;
 import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.DirectMemoryStorage;
+import edu.kit.informatik.codefight.model.GamePhase;
+import edu.kit.informatik.codefight.model.MemoryStorage;
+import edu.kit.informatik.codefight.model.PagedMemoryStorage;
+import edu.kit.informatik.codefight.model.PersistentArena;
+import edu.kit.informatik.codefight.model.batch.MatchResultCache;
+import edu.kit.informatik.codefight.model.round.StepTrace;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
 
 
 /**
@@ -12,6 +31,26 @@ import java.util.Arrays;
  * If the command line arguments are not valid, a GameInitializationException is thrown.
  * If the command line arguments are valid, the game is set up.
  * The game is then ready to be started and handle user input.
+ * The command line arguments may start with options: With the large memory option, the memory size is only limited by
+ * the available RAM and the memory cells are stored in pages which are allocated when they are written for the first time.
+ * With the off-heap option, the memory cells are stored outside the Java heap while a game is running. The off-heap
+ * memory is released when the game ends, but it is only freed once the garbage collector finds it unreachable.
+ * With the persistent option followed by a path, the running game is persisted in the file at this path and resumed
+ * when the program is started again with the same file. A persistent game cannot be reversible or take snapshots,
+ * because undoing commands and seeking to other steps change the memory outside the steps that are persisted.
+ * With the cycle detection option, a game that repeats a state skips the repetitions when commands are executed.
+ * With the reversible option, the executed commands of a running game can be undone with the prev command, repeated
+ * states are not skipped then.
+ * With the result cache option followed by a path, the results of headless matches are cached in the file at this path,
+ * so matches that were played before are not played again.
+ * With the record option followed by a path, every executed step of a running game is recorded in the replay log at
+ * this path, which can be replayed with the replay command. A recorded game cannot be reversible.
+ * With the trace depth option followed by a number, the trace of the last executed commands that is shown with the
+ * show trace command keeps this number of commands instead of 32, 0 disables the trace.
+ * With the snapshot spacing option followed by a number, a running game takes a snapshot whenever this number of
+ * commands was executed, so it can jump to any step with the seek command. A recorded game cannot take snapshots.
+ * With the script option, the commands are read as a script from the standard input and the standard output is
+ * collected until the flush command is executed, an error message is written or the script ends.
  *
  * @author uexnb
  * @version 1.0
@@ -20,30 +59,84 @@ public class GameInitialiser {
 
     private static final int MIN_MEMORY_SIZE = 7;
     private static final int MAX_MEMORY_SIZE = 1337;
+    private static final String LARGE_MEMORY_OPTION = "--large-memory";
+    private static final String OFF_HEAP_OPTION = "--off-heap";
+    private static final String PERSISTENT_OPTION = "--persistent";
+    private static final String CYCLE_DETECTION_OPTION = "--cycle-detection";
+    private static final String RESULT_CACHE_OPTION = "--result-cache";
+    private static final String REVERSIBLE_OPTION = "--reversible";
+    private static final String RECORD_OPTION = "--record";
+    private static final String TRACE_DEPTH_OPTION = "--trace-depth";
+    private static final String SNAPSHOT_SPACING_OPTION = "--snapshot-spacing";
+    private static final String SCRIPT_OPTION = "--script";
+    private static final String GAME_RESUMED_MESSAGE = "Game resumed.";
+    private static final String MAX_DIRECT_MEMORY_OPTION = "MaxDirectMemorySize";
     private static final int MIN_NUMBER_OF_COMMAND_LINE_ARGUMENTS = 9;
     private static final int NUMBER_OF_AI_INDEPENDENT_SYMBOLS = 4;
     private static final int NUMBER_OF_AI_DEPENDENT_SYMBOLS = 2;
     private static final String INITIALIZATION_SUCCESS_MESSAGE = "Welcome to CodeFight 2024. Enter 'help' for more details.";
     private static final String MEMORY_SIZE_INVALID = "The size of the memory must be in the inclusive range of [7, 1337].";
+    private static final String LARGE_MEMORY_SIZE_INVALID_FORMAT = "The size of the memory must be in the inclusive range of "
+            + "[7, %d] in large memory mode.";
     private static final String NUMBER_OF_ARGUMENTS_INVALID = "The number of command line arguments is invalid.";
     private static final String SYMBOLS_NOT_UNIQUE = "Symbols must be unique.";
+    private static final String RECORDED_GAME_REVERSIBLE = "A recorded game cannot be reversible.";
+    private static final String RECORDED_GAME_SNAPSHOTS = "A recorded game cannot take snapshots.";
+    private static final String PERSISTENT_GAME_REVERSIBLE = "A persistent game cannot be reversible.";
+    private static final String PERSISTENT_GAME_SNAPSHOTS = "A persistent game cannot take snapshots.";
+    private static final String SNAPSHOT_SPACING_INVALID = "The spacing of the snapshots must be positive.";
+    private static final String TRACE_DEPTH_INVALID_FORMAT = "The depth of the trace must be in the inclusive range of "
+            + "[0, %d].";
     private final CodeFight game;
+    private boolean largeMemory;
+    private boolean offHeap;
+    private String persistentGameFile;
+    private boolean cycleDetection;
+    private boolean reversible;
+    private String resultCacheFile;
+    private String replayLogFile;
+    private int traceDepth = StepTrace.DEFAULT_DEPTH;
+    private int snapshotSpacing;
+    private boolean scriptMode;
     /**
      * Constructs a new game initialiser with the specified command line arguments.
      * This game initialiser is responsible for setting up the game. If the game is set up properly,
      * an initialisation message is printed.
      *
-     * @param commandLineArguments the command line arguments
+     * @param arguments the command line arguments, optionally starting with the options
      * @throws GameInitialisationException if the game cannot be initialised
      */
-    public GameInitialiser(String[] commandLineArguments) throws GameInitialisationException {
+    public GameInitialiser(String[] arguments) throws GameInitialisationException {
+        int numberOfOptions = parseOptions(arguments);
+        //the journal of the memory either undoes or records the changes
+        if (reversible && replayLogFile != null) {
+            throw new GameInitialisationException(RECORDED_GAME_REVERSIBLE);
+        }
+        //seeking to an earlier step would break the sequence of recorded steps
+        if (snapshotSpacing > 0 && replayLogFile != null) {
+            throw new GameInitialisationException(RECORDED_GAME_SNAPSHOTS);
+        }
+        //a rewound game or a restored snapshot is not written to the file as a single step that can be rolled back
+        if (persistentGameFile != null && reversible) {
+            throw new GameInitialisationException(PERSISTENT_GAME_REVERSIBLE);
+        }
+        if (persistentGameFile != null && snapshotSpacing > 0) {
+            throw new GameInitialisationException(PERSISTENT_GAME_SNAPSHOTS);
+        }
+        //the remaining command line arguments are the same with and without options
+        String[] commandLineArguments = Arrays.copyOfRange(arguments, numberOfOptions, arguments.length);
+        int memorySize = parseMemorySize(commandLineArguments);
         //check if there are enough command line arguments
         if (commandLineArguments.length < MIN_NUMBER_OF_COMMAND_LINE_ARGUMENTS || commandLineArguments.length % 2 == 0) {
             throw new GameInitialisationException(NUMBER_OF_ARGUMENTS_INVALID);
         }
         //check if the memory size is within the valid range
-        int memorySize = Integer.parseInt(commandLineArguments[0]);
-        if (memorySize < MIN_MEMORY_SIZE || memorySize > MAX_MEMORY_SIZE) {
+        if (largeMemory) {
+            long maxLargeMemorySize = calculateMaxLargeMemorySize();
+            if (memorySize < MIN_MEMORY_SIZE || memorySize > maxLargeMemorySize) {
+                throw new GameInitialisationException(LARGE_MEMORY_SIZE_INVALID_FORMAT.formatted(maxLargeMemorySize));
+            }
+        } else if (memorySize < MIN_MEMORY_SIZE || memorySize > MAX_MEMORY_SIZE) {
             throw new GameInitialisationException(MEMORY_SIZE_INVALID);
         }
         //check if the symbols for the representation of the memory are unique
@@ -60,11 +153,160 @@ public class GameInitialiser {
                     aiDependentSymbols[i], 0, 2);
         }
         //set up the game
-        game = new CodeFight(memorySize, aiIndependentSymbols, aiDependentSymbols, maxAis);
+        PersistentArena persistentArena = persistentGameFile != null
+                ? new PersistentArena(Path.of(persistentGameFile), memorySize, maxAis) : null;
+        game = new CodeFight(memorySize, getStorageFactory(persistentArena), aiIndependentSymbols, aiDependentSymbols,
+                maxAis);
+        game.setPersistentArena(persistentArena);
+        game.setCycleDetectionEnabled(cycleDetection);
+        game.setReversible(reversible);
+        game.setReplayLogPath(replayLogFile != null ? Path.of(replayLogFile) : null);
+        game.setTraceDepth(traceDepth);
+        game.setSnapshotSpacing(snapshotSpacing);
+        //the running game is only resumed after all options are applied
+        if (persistentArena != null && persistentArena.hasRunningGame()) {
+            game.resumeGame();
+        }
+        if (resultCacheFile != null) {
+            game.setResultCache(new MatchResultCache(Path.of(resultCacheFile)));
+        }
         //print initialization message
         System.out.println(INITIALIZATION_SUCCESS_MESSAGE);
+        if (game.getPhase() == GamePhase.FIGHT) {
+            System.out.println(GAME_RESUMED_MESSAGE);
+        }
+
+    }
+    private int parseOptions(String[] arguments) throws GameInitialisationException {
+        int numberOfOptions = 0;
+        while (numberOfOptions < arguments.length) {
+            String option = arguments[numberOfOptions];
+            if (option.equals(LARGE_MEMORY_OPTION)) {
+                largeMemory = true;
+            } else if (option.equals(OFF_HEAP_OPTION)) {
+                offHeap = true;
+            } else if (option.equals(CYCLE_DETECTION_OPTION)) {
+                cycleDetection = true;
+            } else if (option.equals(REVERSIBLE_OPTION)) {
+                reversible = true;
+            } else if (option.equals(SCRIPT_OPTION)) {
+                scriptMode = true;
+            } else if (option.equals(PERSISTENT_OPTION) && numberOfOptions + 1 < arguments.length) {
+                //the path of the file is the argument after the option
+                numberOfOptions++;
+                persistentGameFile = arguments[numberOfOptions];
+            } else if (option.equals(RESULT_CACHE_OPTION) && numberOfOptions + 1 < arguments.length) {
+                numberOfOptions++;
+                resultCacheFile = arguments[numberOfOptions];
+            } else if (option.equals(RECORD_OPTION) && numberOfOptions + 1 < arguments.length) {
+                numberOfOptions++;
+                replayLogFile = arguments[numberOfOptions];
+            } else if (option.equals(TRACE_DEPTH_OPTION) && numberOfOptions + 1 < arguments.length) {
+                numberOfOptions++;
+                traceDepth = parseTraceDepth(arguments[numberOfOptions]);
+            } else if (option.equals(SNAPSHOT_SPACING_OPTION) && numberOfOptions + 1 < arguments.length) {
+                numberOfOptions++;
+                snapshotSpacing = parseSnapshotSpacing(arguments[numberOfOptions]);
+            } else { //the first argument that is no option is the memory size
+                break;
+            }
+            numberOfOptions++;
+        }
+        return numberOfOptions;
+    }
+
+    private static int parseTraceDepth(String argument) throws GameInitialisationException {
+        int depth;
+        try {
+            depth = Integer.parseInt(argument);
+        } catch (NumberFormatException e) {
+            throw new GameInitialisationException(NUMBER_NOT_INT_FAILURE);
+        }
+        if (depth < 0 || depth > StepTrace.MAX_DEPTH) {
+            throw new GameInitialisationException(TRACE_DEPTH_INVALID_FORMAT.formatted(StepTrace.MAX_DEPTH));
+        }
+        return depth;
+    }
+
+    private static int parseSnapshotSpacing(String argument) throws GameInitialisationException {
+        int spacing;
+        try {
+            spacing = Integer.parseInt(argument);
+        } catch (NumberFormatException e) {
+            throw new GameInitialisationException(NUMBER_NOT_INT_FAILURE);
+        }
+        if (spacing <= 0) {
+            throw new GameInitialisationException(SNAPSHOT_SPACING_INVALID);
+        }
+        return spacing;
+    }
 
+    private IntFunction<MemoryStorage> getStorageFactory(PersistentArena persistentArena) {
+        //the storage of a persistent game is the file
+        if (persistentArena != null) {
+            return persistentArena::getStorage;
+        }
+        if (offHeap) {
+            return DirectMemoryStorage::new;
+        }
+        return largeMemory ? PagedMemoryStorage::new : ArrayMemoryStorage::new;
+    }
+
+    private static int parseMemorySize(String[] commandLineArguments) throws GameInitialisationException {
+        if (commandLineArguments.length == 0) {
+            throw new GameInitialisationException(NUMBER_OF_ARGUMENTS_INVALID);
+        }
+        try {
+            return Integer.parseInt(commandLineArguments[0]);
+        } catch (NumberFormatException e) {
+            throw new GameInitialisationException(NUMBER_NOT_INT_FAILURE);
+        }
+    }
+
+    private long calculateMaxLargeMemorySize() {
+        long maxBytes;
+        int bytesPerCell = ByteBufferMemoryStorage.BYTES_PER_CELL;
+        if (persistentGameFile != null) {
+            //the memory cells are mapped from the file, so they have to fit on the storage device instead of the heap
+            maxBytes = calculateMaxFileSize();
+        } else if (offHeap) {
+            maxBytes = calculateMaxDirectMemory();
+        } else {
+            //every memory cell has to fit into the heap in case all pages get allocated
+            maxBytes = Runtime.getRuntime().maxMemory();
+            bytesPerCell = PagedMemoryStorage.BYTES_PER_CELL;
+        }
+        return Math.min(Integer.MAX_VALUE, maxBytes / bytesPerCell);
+    }
+
+    private long calculateMaxFileSize() {
+        Path path = Path.of(persistentGameFile).toAbsolutePath();
+        try {
+            //the memory cells that are already in the file do not need any further space
+            long sizeOfFile = Files.exists(path) ? Files.size(path) : 0;
+            return Files.getFileStore(path.getParent()).getUsableSpace() + sizeOfFile;
+        } catch (IOException e) {
+            //the file cannot be accessed, which is reported when it is opened
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long calculateMaxDirectMemory() {
+        //the off-heap memory is limited by the option of the JVM or to the size of the heap if it is not set
+        HotSpotDiagnosticMXBean diagnostics = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        if (diagnostics != null) {
+            try {
+                long maxDirectMemory = Long.parseLong(diagnostics.getVMOption(MAX_DIRECT_MEMORY_OPTION).getValue());
+                if (maxDirectMemory > 0) {
+                    return maxDirectMemory;
+                }
+            } catch (IllegalArgumentException e) {
+                //the JVM does not know the option, so the default limit applies
+            }
+        }
+        return Runtime.getRuntime().maxMemory();
     }
+
     private boolean containsSymbolMoreThanOnce(String[] commandLineArguments) {
         for (int i = 1; i < commandLineArguments.length; i++) {
             for (int j = i + 1; j < commandLineArguments.length; j++) {
@@ -83,4 +325,13 @@ public class GameInitialiser {
     public CodeFight getGame() {
         return game;
     }
+
+    /**
+     * Returns whether the commands are read as a script.
+     *
+     * @return true if the script option was given, false otherwise
+     */
+    public boolean isScriptMode() {
+        return scriptMode;
+    }
 }
@@ -0,0 +1,112 @@
+package edu.kit.informatik.codefight.command;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * This class reads the lines of a script from a channel. The bytes are read in large blocks and decoded into a buffer
+ * of characters that is searched for the line separators directly, so reading a line neither matches a pattern nor
+ * goes through a stream per character. The lines are separated like the lines of a {@link java.util.Scanner}: by a
+ * carriage return followed by a line feed, or by one of a line feed, a carriage return, a next line, a line separator
+ * and a paragraph separator. Malformed input is replaced like in an {@link java.io.InputStreamReader}.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+final class ScriptReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final char LINE_FEED = '\n';
+    private static final char CARRIAGE_RETURN = '\r';
+    private static final char NEXT_LINE = '\u0085';
+    private static final char LINE_SEPARATOR = '\u2028';
+    private static final char PARAGRAPH_SEPARATOR = '\u2029';
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE).flip();
+    private final CharBuffer characters = CharBuffer.allocate(BUFFER_SIZE).flip();
+    private final StringBuilder line = new StringBuilder();
+    private boolean isEndOfInput;
+    private boolean isDecoded;
+    //whether the last line ended with a carriage return, so a following line feed belongs to its line separator
+    private boolean isCarriageReturnPending;
+
+    /**
+     * Constructs a new reader of the given channel.
+     *
+     * @param channel the channel the script is read from
+     * @param charset the charset of the script
+     */
+    ScriptReader(ReadableByteChannel channel, Charset charset) {
+        this.channel = channel;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Reads the next line without its line separator.
+     *
+     * @return the line or null if the end of the script is reached
+     * @throws IOException if the channel cannot be read
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        while (characters.hasRemaining() || fill()) {
+            char[] array = characters.array();
+            int start = characters.position();
+            int end = characters.limit();
+            if (isCarriageReturnPending) {
+                isCarriageReturnPending = false;
+                if (array[start] == LINE_FEED) {
+                    characters.position(start + 1);
+                    continue;
+                }
+            }
+            for (int i = start; i < end; i++) {
+                if (isLineSeparator(array[i])) {
+                    line.append(array, start, i - start);
+                    isCarriageReturnPending = array[i] == CARRIAGE_RETURN;
+                    characters.position(i + 1);
+                    return line.toString();
+                }
+            }
+            line.append(array, start, end - start);
+            characters.position(end);
+        }
+        //the last line of the script does not need a line separator, but an empty last line is no line
+        return line.length() > 0 ? line.toString() : null;
+    }
+
+    private static boolean isLineSeparator(char character) {
+        return character == LINE_FEED || character == CARRIAGE_RETURN || character == NEXT_LINE
+                || character == LINE_SEPARATOR || character == PARAGRAPH_SEPARATOR;
+    }
+
+    /**
+     * Decodes the next characters, the previous characters must have been read.
+     *
+     * @return true if there are new characters, false if the end of the script is reached
+     */
+    private boolean fill() throws IOException {
+        characters.clear();
+        while (characters.position() == 0 && !isDecoded) {
+            if (!isEndOfInput) {
+                bytes.compact();
+                isEndOfInput = channel.read(bytes) == -1;
+                bytes.flip();
+            }
+            CoderResult result = decoder.decode(bytes, characters, isEndOfInput);
+            if (isEndOfInput && result.isUnderflow()) {
+                isDecoded = decoder.flush(characters).isUnderflow();
+            }
+        }
+        characters.flip();
+        return characters.hasRemaining();
+    }
+}
@@ -0,0 +1,108 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+import static edu.kit.informatik.codefight.command.CommandHandler.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * This command writes the symbols of the memory as shown by the {@link ShowMemoryCommand} directly to the output in
+ * chunks, so the display of a large memory is never created as a whole. An offset and a length page through the
+ * memory, and the format {@value #RUN_LENGTH_ENCODED_FORMAT} writes every run of equal symbols as its length and the
+ * symbol. The arguments are either none, the format, the offset and the length, or the offset, the length and the
+ * format.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class DumpMemoryCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "dump-memory";
+    private static final GamePhase CORRECT_PHASE = GamePhase.FIGHT;
+    private static final String COMMAND_DESCRIPTION = "Writes the memory to the output in chunks, optionally from an "
+            + "offset for a length and run-length encoded.";
+    private static final String RUN_LENGTH_ENCODED_FORMAT = "rle";
+    private static final int NUMBER_OF_PAGING_ARGUMENTS = 2;
+    private static final int MAX_NUMBER_OF_ARGUMENTS = 3;
+    private static final String INVALID_OFFSET_MESSAGE = "The offset either exceeds the memory size or is negative.";
+    private static final String INVALID_LENGTH_MESSAGE = "The length of the dump must be positive.";
+    private static final String UNKNOWN_FORMAT_FORMAT = "The format '%s' is unknown, the only format is '%s'.";
+    private static final String WRITE_FAILURE = "The memory could not be written to the output.";
+
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new DumpMemoryCommand.
+     *
+     * @param commandHandler the command handler the command is executed on
+     */
+    public DumpMemoryCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (commandArguments.length > MAX_NUMBER_OF_ARGUMENTS) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(COMMAND_NAME));
+        }
+        //the format is the only argument or follows the offset and the length
+        boolean isRunLengthEncoded = commandArguments.length % NUMBER_OF_PAGING_ARGUMENTS == 1;
+        if (isRunLengthEncoded && !commandArguments[commandArguments.length - 1].equals(RUN_LENGTH_ENCODED_FORMAT)) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_FORMAT_FORMAT.formatted(
+                    commandArguments[commandArguments.length - 1], RUN_LENGTH_ENCODED_FORMAT));
+        }
+        int size = model.getMemory().getSize();
+        int offset = 0;
+        int length = size;
+        if (commandArguments.length >= NUMBER_OF_PAGING_ARGUMENTS) {
+            try {
+                offset = Integer.parseInt(commandArguments[0]);
+                length = Integer.parseInt(commandArguments[1]);
+            } catch (NumberFormatException e) {
+                return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+            }
+            if (offset < 0 || offset >= size) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_OFFSET_MESSAGE);
+            }
+            if (length <= 0) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_LENGTH_MESSAGE);
+            }
+        }
+        //the dump is written to the output directly, so the result has no message
+        try {
+            model.dumpMemory(offset, length, isRunLengthEncoded, Channels.newChannel(System.out));
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, WRITE_FAILURE);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, null);
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        //just returns the current number of arguments inputted by the user as 0 to 3 arguments could be correct
+        //there is a check in the execute method
+        return commandHandler.getCurrentNumberOfArguments();
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+}
@@ -0,0 +1,120 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+import edu.kit.informatik.codefight.model.batch.WinRateEstimator;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+import static edu.kit.informatik.codefight.command.CommandHandler.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * This command estimates the win probabilities of a matchup of registered AIs by playing matches with random seeds
+ * of the random init mode without starting a game. The arguments are the maximum number of steps of every match,
+ * the requested precision in percentage points, the placement mode and the names of the AIs as for
+ * {@link StartGameCommand}. The running estimates are shown after every round of matches, the last estimate is shown
+ * when the precision is reached.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class EstimateCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "estimate";
+    private static final GamePhase CORRECT_PHASE = GamePhase.SETUP;
+    private static final String COMMAND_DESCRIPTION = "Estimates the win probabilities of the selected AIs with random "
+            + "seeds until the confidence intervals are as narrow as the given precision in percentage points.";
+    private static final String[] PLACEMENT_MODES = {"PLACEMENT_FIXED", "PLACEMENT_RANDOM"};
+    private static final int NUMBER_OF_ESTIMATE_ARGUMENTS = 3;
+    private static final int MIN_NUMBER_OF_AIS = 2;
+    private static final int MAX_NUMBER_OF_MATCHES = 100_000;
+    private static final double MAX_PRECISION = 50;
+    private static final double PERCENT = 100.0;
+    private static final String INVALID_MAX_STEPS_MESSAGE = "The maximum number of steps must be positive.";
+    private static final String INVALID_PRECISION_MESSAGE = "The precision must be a number larger than 0 and at most 50.";
+    private static final String INVALID_PLACEMENT_MODE_FORMAT = "The placement mode must be %s or %s.";
+    private static final String INVALID_AI_NAME_MESSAGE = "There is at least one name that does not correspond to a registered AI.";
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new EstimateCommand.
+     *
+     * @param commandHandler the command handler to be used to execute the estimate command
+     */
+    public EstimateCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        //check if the number of selected AIs is valid
+        int numberOfAis = commandArguments.length - NUMBER_OF_ESTIMATE_ARGUMENTS;
+        if (numberOfAis < MIN_NUMBER_OF_AIS || numberOfAis > model.getMaxAis()) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(COMMAND_NAME));
+        }
+        int maxSteps;
+        try {
+            maxSteps = Integer.parseInt(commandArguments[0]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+        }
+        if (maxSteps < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_MAX_STEPS_MESSAGE);
+        }
+        double precision;
+        try {
+            precision = Double.parseDouble(commandArguments[1]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PRECISION_MESSAGE);
+        }
+        //the negated comparison also rejects NaN
+        if (!(precision > 0 && precision <= MAX_PRECISION)) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PRECISION_MESSAGE);
+        }
+        if (!Arrays.asList(PLACEMENT_MODES).contains(commandArguments[2])) {
+            return new CommandResult(CommandResultType.FAILURE,
+                    INVALID_PLACEMENT_MODE_FORMAT.formatted(PLACEMENT_MODES[0], PLACEMENT_MODES[1]));
+        }
+        boolean isPlacementRandom = commandArguments[2].equals(PLACEMENT_MODES[1]);
+        //check if the selected AIs are registered
+        String[] aiNames = Arrays.copyOfRange(commandArguments, NUMBER_OF_ESTIMATE_ARGUMENTS, commandArguments.length);
+        for (String aiName : aiNames) {
+            if (!model.getRegisteredAis().contains(new ArtificialIntelligence(aiName))) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_AI_NAME_MESSAGE);
+            }
+        }
+        WinRateEstimator estimator = new WinRateEstimator(model, aiNames, maxSteps, isPlacementRandom);
+        //the running estimates are shown while the matches are played, before the result of the command
+        return new CommandResult(CommandResultType.SUCCESS, estimator.estimate(ForkJoinPool.commonPool(),
+                precision / PERCENT, MAX_NUMBER_OF_MATCHES, System.out::println).format());
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        //just returns the number of arguments of the current user input because the
+        //number of selected AIs is not fixed. There is a check in the execute method
+        return commandHandler.getCurrentNumberOfArguments();
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+}
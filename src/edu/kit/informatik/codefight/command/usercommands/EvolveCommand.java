@@ -0,0 +1,114 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+import edu.kit.informatik.codefight.model.batch.Evolution;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+import static edu.kit.informatik.codefight.command.CommandHandler.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * This command evolves programs against a benchmark pool of registered AIs without starting a game. The arguments are
+ * the number of generations, the number of programs of every generation, the maximum number of steps of every match
+ * and the names of the AIs of the pool. A summary of every generation is shown while the evolution runs, the result
+ * is the hall of fame with the AI commands of the best programs in the format of the add-ai command.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class EvolveCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "evolve";
+    private static final GamePhase CORRECT_PHASE = GamePhase.SETUP;
+    private static final String COMMAND_DESCRIPTION = "Evolves AI commands against the selected AIs for the given number "
+            + "of generations and shows the best AI commands found.";
+    private static final int NUMBER_OF_EVOLVE_ARGUMENTS = 3;
+    private static final int MAX_NUMBER_OF_GENERATIONS = 10_000;
+    private static final int MIN_POPULATION_SIZE = 2;
+    private static final int MAX_POPULATION_SIZE = 1_000;
+    private static final String INVALID_NUMBER_OF_GENERATIONS_FORMAT = "The number of generations must be between 1 and %d.";
+    private static final String INVALID_POPULATION_SIZE_FORMAT = "The population size must be between %d and %d.";
+    private static final String INVALID_MAX_STEPS_MESSAGE = "The maximum number of steps must be positive.";
+    private static final String INVALID_AI_NAME_MESSAGE = "There is at least one name that does not correspond to a registered AI.";
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new EvolveCommand.
+     *
+     * @param commandHandler the command handler to be used to execute the evolve command
+     */
+    public EvolveCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        //check if at least one AI of the benchmark pool is selected
+        if (commandArguments.length <= NUMBER_OF_EVOLVE_ARGUMENTS) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(COMMAND_NAME));
+        }
+        //check if the numbers are integers
+        int numberOfGenerations;
+        int populationSize;
+        int maxSteps;
+        try {
+            numberOfGenerations = Integer.parseInt(commandArguments[0]);
+            populationSize = Integer.parseInt(commandArguments[1]);
+            maxSteps = Integer.parseInt(commandArguments[2]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+        }
+        if (numberOfGenerations < 1 || numberOfGenerations > MAX_NUMBER_OF_GENERATIONS) {
+            return new CommandResult(CommandResultType.FAILURE,
+                    INVALID_NUMBER_OF_GENERATIONS_FORMAT.formatted(MAX_NUMBER_OF_GENERATIONS));
+        }
+        if (populationSize < MIN_POPULATION_SIZE || populationSize > MAX_POPULATION_SIZE) {
+            return new CommandResult(CommandResultType.FAILURE,
+                    INVALID_POPULATION_SIZE_FORMAT.formatted(MIN_POPULATION_SIZE, MAX_POPULATION_SIZE));
+        }
+        if (maxSteps < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_MAX_STEPS_MESSAGE);
+        }
+        //check if the selected AIs are registered
+        String[] benchmarkNames = Arrays.copyOfRange(commandArguments, NUMBER_OF_EVOLVE_ARGUMENTS, commandArguments.length);
+        for (String benchmarkName : benchmarkNames) {
+            if (!model.getRegisteredAis().contains(new ArtificialIntelligence(benchmarkName))) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_AI_NAME_MESSAGE);
+            }
+        }
+        Evolution evolution = new Evolution(model, benchmarkNames, populationSize, maxSteps);
+        //the summaries of the generations are shown while the evolution runs, before the result of the command
+        return new CommandResult(CommandResultType.SUCCESS,
+                evolution.evolve(ForkJoinPool.commonPool(), numberOfGenerations, System.out::println).format());
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        //just returns the number of arguments of the current user input because the
+        //number of selected AIs is not fixed. There is a check in the execute method
+        return commandHandler.getCurrentNumberOfArguments();
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+}
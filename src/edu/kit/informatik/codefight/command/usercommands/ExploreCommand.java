@@ -0,0 +1,113 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.exceptions.GameExecutionException;
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+
+import java.util.StringJoiner;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+import static edu.kit.informatik.codefight.command.CommandHandler.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * This command explores a continuation of the running game in a {@link CodeFight#fork() fork} of the game, so the
+ * running game is not changed. The arguments are the number of commands to execute and optionally the names of active
+ * AIs that are stopped in the fork before. The result are the messages of the AIs that stopped in the fork and the
+ * AIs that are still alive afterwards.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class ExploreCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "explore";
+    private static final GamePhase CORRECT_PHASE = GamePhase.FIGHT;
+    private static final String COMMAND_DESCRIPTION = "Executes the given number of commands in a copy of the game "
+            + "without changing the game. The given AIs are stopped in the copy before.";
+    private static final String INVALID_NUMBER_OF_COMMANDS_MESSAGE = "The number of commands must not be negative.";
+    private static final String INVALID_AI_NAME_MESSAGE = "There is at least one name that does not correspond to "
+            + "a living AI.";
+    private static final String ALIVE_AIS_FORMAT = "Alive after %d commands: %s";
+    private static final String NO_AI_ALIVE = "none";
+    private static final String AI_NAMES_SEPARATOR = ", ";
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new ExploreCommand.
+     *
+     * @param commandHandler the command handler to be used to execute the explore command
+     */
+    public ExploreCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        //check if the number of arguments is correct
+        if (commandArguments.length == 0) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(COMMAND_NAME));
+        }
+        //check if the number is a valid number of commands
+        int numberOfCommands;
+        try {
+            numberOfCommands = Integer.parseInt(commandArguments[0]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+        }
+        if (numberOfCommands < 0) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_NUMBER_OF_COMMANDS_MESSAGE);
+        }
+        //the AIs are only stopped in the fork, the running game is never changed
+        CodeFight fork = model.fork();
+        for (int i = 1; i < commandArguments.length; i++) {
+            if (!fork.stopActiveAi(commandArguments[i])) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_AI_NAME_MESSAGE);
+            }
+        }
+        String stopMessages;
+        try {
+            stopMessages = fork.executeNextCommands(numberOfCommands);
+        } catch (GameExecutionException e) {
+            return new CommandResult(CommandResultType.FAILURE, e.getMessage());
+        }
+        StringJoiner aliveAis = new StringJoiner(AI_NAMES_SEPARATOR);
+        for (ArtificialIntelligence ai : fork.getActiveAis()) {
+            if (ai.getIsAlive()) {
+                aliveAis.add(ai.getName());
+            }
+        }
+        String aliveMessage = ALIVE_AIS_FORMAT.formatted(numberOfCommands,
+                aliveAis.length() > 0 ? aliveAis.toString() : NO_AI_ALIVE);
+        if (stopMessages == null) {
+            return new CommandResult(CommandResultType.SUCCESS, aliveMessage);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, stopMessages + System.lineSeparator() + aliveMessage);
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        //just returns the number of arguments of the current user input because the
+        //number of stopped AIs is not fixed. There is a check in the execute method
+        return commandHandler.getCurrentNumberOfArguments();
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+}
@@ -0,0 +1,55 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+
+/**
+ * This command writes the output that a {@link CommandHandler command handler} collected while executing a script,
+ * so the output of a long script can be followed. Without a script, the output is written immediately anyway.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class FlushCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "flush";
+    private static final String COMMAND_DESCRIPTION = "Writes the collected output of a script.";
+    private static final int NUMBER_OF_ARGUMENTS = 0;
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new FlushCommand.
+     *
+     * @param commandHandler the command handler whose output is written
+     */
+    public FlushCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        commandHandler.flush();
+        return new CommandResult(CommandResultType.SUCCESS, null);
+    }
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+    @Override
+    public GamePhase getCorrectPhase() {
+        //just returns current phase because this command can be executed in any phase
+        return commandHandler.getCurrentPhase();
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+}
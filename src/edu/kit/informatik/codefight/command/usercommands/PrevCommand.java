@@ -0,0 +1,96 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.exceptions.GameExecutionException;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+import static edu.kit.informatik.codefight.command.CommandHandler.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * This command undoes the last executed AI commands of a reversible game, so the game is in the same state as before
+ * they were executed with the {@link NextCommand}.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class PrevCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "prev";
+    private static final GamePhase CORRECT_PHASE = GamePhase.FIGHT;
+    private static final String COMMAND_DESCRIPTION = "Undoes the last executed commands of the AIs. The number of "
+            + "commands is specified by the given value.";
+    private static final String NOT_REVERSIBLE_MESSAGE = "The game is not reversible.";
+    private static final String NEGATIVE_NUMBER_MESSAGE = "The number of commands must not be negative.";
+    private static final String TOO_MANY_COMMANDS_FORMAT = "The game can only be rewound by %d commands.";
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new PrevCommand.
+     *
+     * @param commandHandler the command handler to be used to execute the prev command
+     */
+    public PrevCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        //check if the number of arguments is correct
+        if (commandHandler.getCurrentNumberOfArguments() > 1) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(COMMAND_NAME));
+        }
+        if (!model.isReversible()) {
+            return new CommandResult(CommandResultType.FAILURE, NOT_REVERSIBLE_MESSAGE);
+        }
+        //check if the number is an integer
+        int numberOfCommands = 1;
+        if (commandHandler.getCurrentNumberOfArguments() == 1) {
+            try {
+                numberOfCommands = Integer.parseInt(commandArguments[0]);
+            } catch (NumberFormatException e) {
+                return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+            }
+        }
+        if (numberOfCommands < 0) {
+            return new CommandResult(CommandResultType.FAILURE, NEGATIVE_NUMBER_MESSAGE);
+        }
+        int numberOfRewindableCommands = model.getNumberOfRewindableCommands();
+        if (numberOfCommands > numberOfRewindableCommands) {
+            return new CommandResult(CommandResultType.FAILURE,
+                    TOO_MANY_COMMANDS_FORMAT.formatted(numberOfRewindableCommands));
+        }
+        try {
+            model.rewindCommands(numberOfCommands);
+        } catch (GameExecutionException e) {
+            return new CommandResult(CommandResultType.FAILURE, e.getMessage());
+        }
+        return new CommandResult(CommandResultType.SUCCESS, null);
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        //just returns the current input arguments as the number of arguments is either 0 or 1
+        //there is a check for the correct number of arguments in the execute method
+        return commandHandler.getCurrentNumberOfArguments();
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+}
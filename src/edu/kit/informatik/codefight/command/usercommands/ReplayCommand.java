@@ -0,0 +1,92 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.exceptions.GameExecutionException;
+import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.replay.Replayer;
+
+import java.nio.file.Path;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+
+/**
+ * This command replays a replay log that was recorded with the record option up to the given step and shows the
+ * memory at this step. The log is replayed in the memory of an {@link CodeFight#createIndependentGame() independent
+ * game}, so the game is not changed. The arguments are the path of the log and the number of steps. If the log ends
+ * before, it is replayed up to its end.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class ReplayCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "replay";
+    private static final String COMMAND_DESCRIPTION = "Replays the given number of steps of the given replay log and "
+            + "shows the memory afterwards.";
+    private static final int NUMBER_OF_ARGUMENTS = 2;
+    private static final String NEGATIVE_NUMBER_MESSAGE = "The number of steps must not be negative.";
+    private static final String REPLAYED_STEPS_FORMAT = "Replayed %d steps, %d checksums verified.";
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new ReplayCommand.
+     *
+     * @param commandHandler the command handler to be used to execute the replay command
+     */
+    public ReplayCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        //check if the number is an integer
+        int numberOfSteps;
+        try {
+            numberOfSteps = Integer.parseInt(commandArguments[1]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+        }
+        if (numberOfSteps < 0) {
+            return new CommandResult(CommandResultType.FAILURE, NEGATIVE_NUMBER_MESSAGE);
+        }
+        Memory memory = model.createIndependentGame().getMemory();
+        try (Replayer replayer = new Replayer(Path.of(commandArguments[0]), memory, model.getMaxAis())) {
+            replayer.replay(numberOfSteps);
+            String replayedSteps = REPLAYED_STEPS_FORMAT.formatted(replayer.getNumberOfReplayedSteps(),
+                    replayer.getNumberOfVerifiedChecksums());
+            return new CommandResult(CommandResultType.SUCCESS, replayedSteps + System.lineSeparator()
+                    + memory.getMemoryDisplay(replayer.getAis(), replayer.getNextAiIndex(), null));
+        } catch (GameInitialisationException | GameExecutionException e) {
+            return new CommandResult(CommandResultType.FAILURE, e.getMessage());
+        } finally {
+            memory.releaseStorage();
+        }
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        //just returns current phase because the log is replayed independently of the game
+        return commandHandler.getCurrentPhase();
+    }
+
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+}
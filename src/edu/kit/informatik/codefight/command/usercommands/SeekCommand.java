@@ -0,0 +1,80 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.exceptions.GameExecutionException;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+
+/**
+ * This command sets a game that takes snapshots to the state at the given step, which is the sum of the numbers of
+ * executed commands of all AIs. Earlier steps are reached by restoring the last snapshot before the step and executing
+ * the commands after it again, later steps by executing the commands up to the step like the {@link NextCommand}.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class SeekCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "seek";
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final GamePhase CORRECT_PHASE = GamePhase.FIGHT;
+    private static final String COMMAND_DESCRIPTION = "Sets the game to the state after the given number of executed "
+            + "commands of all AIs.";
+    private static final String NOT_SEEKABLE_MESSAGE = "The game takes no snapshots.";
+    private static final String STEP_TOO_EARLY_FORMAT = "The game can only seek to steps from %d on.";
+    private static final String GAME_ENDED_FORMAT = "All AIs stopped at step %d.";
+    private static final String STEP_REACHED_FORMAT = "The game is at step %d.";
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        if (!model.isSeekable()) {
+            return new CommandResult(CommandResultType.FAILURE, NOT_SEEKABLE_MESSAGE);
+        }
+        //check if the step is an integer, steps may exceed the range of int
+        long step;
+        try {
+            step = Long.parseLong(commandArguments[0]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+        }
+        long firstSeekableStep = model.getFirstSeekableStep();
+        if (step < firstSeekableStep) {
+            return new CommandResult(CommandResultType.FAILURE, STEP_TOO_EARLY_FORMAT.formatted(firstSeekableStep));
+        }
+        long reachedStep;
+        try {
+            reachedStep = model.seekStep(step);
+        } catch (GameExecutionException e) {
+            return new CommandResult(CommandResultType.FAILURE, e.getMessage());
+        }
+        if (reachedStep < step) {
+            return new CommandResult(CommandResultType.SUCCESS, GAME_ENDED_FORMAT.formatted(reachedStep));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, STEP_REACHED_FORMAT.formatted(reachedStep));
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+}
@@ -28,8 +28,6 @@ public final class SetInitModeCommand implements UserCommand {
      * Public because it is used in {@link CommandHandler}.
      */
     public static final String COMMAND_NAME = "set-init-mode";
-    private static final int MIN_SEED = -1337;
-    private static final int MAX_SEED = 1337;
     private static final GamePhase CORRECT_PHASE = GamePhase.SETUP;
     private static final String SEPARATOR = " ";
     private static final String COMMAND_DESCRIPTION = "Sets the mode with which the memory is initialised.";
@@ -75,7 +73,7 @@ public final class SetInitModeCommand implements UserCommand {
             }
         }
         //check if the seed is in the valid range
-        if (seed < MIN_SEED || seed > MAX_SEED) {
+        if (seed < Memory.MIN_SEED || seed > Memory.MAX_SEED) {
             return new CommandResult(CommandResultType.FAILURE, INVALID_SEED_MESSAGE);
         }
         //set the initialisation mode of the memory
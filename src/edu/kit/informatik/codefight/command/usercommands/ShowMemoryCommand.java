@@ -10,7 +10,8 @@ import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
 import static edu.kit.informatik.codefight.command.CommandHandler.WRONG_ARGUMENTS_COUNT_FORMAT;
 
 /**
- * This command shows the current state of the memory.
+ * This command shows the current state of the memory. An optional index of a memory cell adds a range display
+ * starting at it, and an optional second argument sets the number of memory cells of the range display.
  *
  * @author uexnb
  * @version 1.0
@@ -23,6 +24,9 @@ public final class ShowMemoryCommand implements UserCommand {
     public static final String COMMAND_NAME = "show-memory";
     private static final String INVALID_MEMORY_CELL_INDEX_MESSAGE = "The given memory cell index either exceeds the memory size"
             + " or is negative.";
+    private static final String INVALID_LENGTH_OF_RANGE_DISPLAY_MESSAGE = "The length of the range display must be"
+            + " positive.";
+    private static final int MAX_NUMBER_OF_ARGUMENTS = 2;
     private static final GamePhase CORRECT_PHASE = GamePhase.FIGHT;
     private static final String COMMAND_DESCRIPTION = "Shows the current state of the memory.";
 
@@ -38,11 +42,11 @@ public final class ShowMemoryCommand implements UserCommand {
     @Override
     public CommandResult execute(CodeFight model, String[] commandArguments) {
         //check if there are too many arguments
-        if (commandArguments.length > 1) {
+        if (commandArguments.length > MAX_NUMBER_OF_ARGUMENTS) {
             return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(COMMAND_NAME));
         }
         //if there is one argument, check if it is a valid memory cell index
-        if (commandArguments.length == 1) {
+        if (commandArguments.length >= 1) {
             try {
                 int index = Integer.parseInt(commandArguments[0]);
                 if (index < 0 || index >= model.getMemory().getSize()) {
@@ -52,9 +56,22 @@ public final class ShowMemoryCommand implements UserCommand {
                 return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
             }
         }
+        //if there is a second argument, check if it is a valid length of the range display
+        if (commandArguments.length == MAX_NUMBER_OF_ARGUMENTS) {
+            try {
+                if (Integer.parseInt(commandArguments[1]) <= 0) {
+                    return new CommandResult(CommandResultType.FAILURE, INVALID_LENGTH_OF_RANGE_DISPLAY_MESSAGE);
+                }
+            } catch (NumberFormatException e) {
+                return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+            }
+        }
         //get the display of the memory as a string
         String memoryDisplay;
-        if (commandArguments.length == 1) {
+        if (commandArguments.length == MAX_NUMBER_OF_ARGUMENTS) {
+            memoryDisplay = model.displayMemory(Integer.parseInt(commandArguments[0]),
+                    Integer.parseInt(commandArguments[1]));
+        } else if (commandArguments.length == 1) {
             memoryDisplay = model.displayMemory(Integer.parseInt(commandArguments[0]));
         } else {
             memoryDisplay = model.displayMemory(null);
@@ -69,7 +86,7 @@ public final class ShowMemoryCommand implements UserCommand {
 
     @Override
     public int getNumberOfArguments() {
-        //just returns the current number of arguments inputted by the user as either 0 or 1 could be correct
+        //just returns the current number of arguments inputted by the user as 0, 1 or 2 could be correct
         //there is a check in the execute method
         return commandHandler.getCurrentNumberOfArguments();
     }
@@ -0,0 +1,54 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+
+/**
+ * This command shows the trace of the last executed commands of the AIs, from the oldest to the latest one, so the
+ * commands before an AI stopped can be inspected. Every line shows the AI, its step, the executed command with its
+ * address and the address of the next command of the AI.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class ShowTraceCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "show-trace";
+    private static final int NUMBER_OF_ARGUMENTS = 0;
+    private static final GamePhase CORRECT_PHASE = GamePhase.FIGHT;
+    private static final String COMMAND_DESCRIPTION = "Shows the last executed commands of the AIs.";
+    private static final String TRACE_DISABLED_MESSAGE = "The trace is disabled.";
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        String trace = model.displayStepTrace();
+        if (trace == null) {
+            return new CommandResult(CommandResultType.FAILURE, TRACE_DISABLED_MESSAGE);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, trace);
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+}
@@ -0,0 +1,108 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.batch.SeedSweep;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+import static edu.kit.informatik.codefight.command.CommandHandler.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * This command plays a matchup of registered AIs with the random init mode for every seed of a range without starting
+ * a game. The arguments are the maximum number of steps of every match, the first and the last seed of the range and
+ * the names of the AIs as for {@link StartGameCommand}. The result are the win rates of the AIs, the statistics of the
+ * steps until they stopped and the number of draws.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class SweepCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "sweep";
+    private static final GamePhase CORRECT_PHASE = GamePhase.SETUP;
+    private static final String COMMAND_DESCRIPTION = "Plays the selected AIs with the random init mode for every seed "
+            + "between the given first and last seed and shows their win rates and when they stopped.";
+    private static final int NUMBER_OF_SWEEP_ARGUMENTS = 3;
+    private static final int MIN_NUMBER_OF_AIS = 2;
+    private static final String INVALID_MAX_STEPS_MESSAGE = "The maximum number of steps must be positive.";
+    private static final String INVALID_SEED_RANGE_FORMAT = "The seeds must be between %d and %d and the first seed must "
+            + "not be larger than the last seed.";
+    private static final String INVALID_AI_NAME_MESSAGE = "There is at least one name that does not correspond to a registered AI.";
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new SweepCommand.
+     *
+     * @param commandHandler the command handler to be used to execute the sweep command
+     */
+    public SweepCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        //check if the number of selected AIs is valid
+        int numberOfAis = commandArguments.length - NUMBER_OF_SWEEP_ARGUMENTS;
+        if (numberOfAis < MIN_NUMBER_OF_AIS || numberOfAis > model.getMaxAis()) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(COMMAND_NAME));
+        }
+        //check if the numbers are integers
+        int maxSteps;
+        int firstSeed;
+        int lastSeed;
+        try {
+            maxSteps = Integer.parseInt(commandArguments[0]);
+            firstSeed = Integer.parseInt(commandArguments[1]);
+            lastSeed = Integer.parseInt(commandArguments[2]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+        }
+        if (maxSteps < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_MAX_STEPS_MESSAGE);
+        }
+        if (firstSeed < Memory.MIN_SEED || lastSeed > Memory.MAX_SEED || firstSeed > lastSeed) {
+            return new CommandResult(CommandResultType.FAILURE,
+                    INVALID_SEED_RANGE_FORMAT.formatted(Memory.MIN_SEED, Memory.MAX_SEED));
+        }
+        //check if the selected AIs are registered
+        String[] aiNames = Arrays.copyOfRange(commandArguments, NUMBER_OF_SWEEP_ARGUMENTS, commandArguments.length);
+        for (String aiName : aiNames) {
+            if (!model.getRegisteredAis().contains(new ArtificialIntelligence(aiName))) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_AI_NAME_MESSAGE);
+            }
+        }
+        SeedSweep seedSweep = new SeedSweep(model, aiNames, firstSeed, lastSeed, maxSteps);
+        return new CommandResult(CommandResultType.SUCCESS, seedSweep.play(ForkJoinPool.commonPool()).format());
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        //just returns the number of arguments of the current user input because the
+        //number of selected AIs is not fixed. There is a check in the execute method
+        return commandHandler.getCurrentNumberOfArguments();
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+}
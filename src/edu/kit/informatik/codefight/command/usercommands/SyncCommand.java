@@ -0,0 +1,92 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+import edu.kit.informatik.codefight.model.PersistentArena;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+import static edu.kit.informatik.codefight.command.CommandHandler.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * This command writes the running game to the storage device of the persistent game file. If a number is given,
+ * the changes are written automatically after this number of executed AI commands from now on.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class SyncCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "sync";
+    private static final GamePhase CORRECT_PHASE = GamePhase.FIGHT;
+    private static final String COMMAND_DESCRIPTION = "Writes the game to the persistent game file. If a number is given, "
+            + "the game is written automatically after this number of executed commands (0 to disable).";
+    private static final String NOT_PERSISTENT_MESSAGE = "The game is not persistent.";
+    private static final String NEGATIVE_INTERVAL_MESSAGE = "The number of commands must not be negative.";
+    private static final String SYNC_SUCCESS_MESSAGE = "Game written to the persistent game file.";
+    private static final String INTERVAL_CHANGED_FORMAT = "Changed the sync interval from %d to %d commands.";
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new SyncCommand.
+     *
+     * @param commandHandler the command handler to be used to execute the sync command
+     */
+    public SyncCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        //check if the number of arguments is correct
+        if (commandHandler.getCurrentNumberOfArguments() > 1) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(COMMAND_NAME));
+        }
+        PersistentArena persistentArena = model.getPersistentArena();
+        if (persistentArena == null) {
+            return new CommandResult(CommandResultType.FAILURE, NOT_PERSISTENT_MESSAGE);
+        }
+        if (commandArguments.length == 0) {
+            persistentArena.sync();
+            return new CommandResult(CommandResultType.SUCCESS, SYNC_SUCCESS_MESSAGE);
+        }
+        //check if the number is a valid interval
+        int syncInterval;
+        try {
+            syncInterval = Integer.parseInt(commandArguments[0]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+        }
+        if (syncInterval < 0) {
+            return new CommandResult(CommandResultType.FAILURE, NEGATIVE_INTERVAL_MESSAGE);
+        }
+        int oldSyncInterval = persistentArena.getSyncInterval();
+        persistentArena.setSyncInterval(syncInterval);
+        return new CommandResult(CommandResultType.SUCCESS, INTERVAL_CHANGED_FORMAT.formatted(oldSyncInterval, syncInterval));
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        //just returns the current input arguments as the number of arguments is either 0 or 1
+        //there is a check for the correct number of arguments in the execute method
+        return commandHandler.getCurrentNumberOfArguments();
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+}
@@ -0,0 +1,102 @@
+package edu.kit.informatik.codefight.command.usercommands;
+
+import edu.kit.informatik.codefight.command.CommandHandler;
+import edu.kit.informatik.codefight.command.CommandResult;
+import edu.kit.informatik.codefight.command.CommandResultType;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.GamePhase;
+import edu.kit.informatik.codefight.model.batch.Tournament;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static edu.kit.informatik.codefight.Main.NUMBER_NOT_INT_FAILURE;
+import static edu.kit.informatik.codefight.command.CommandHandler.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * This command plays a round-robin tournament of the registered AIs without starting a game. Every group of
+ * registered AIs of the given size, which is 2 by default, plays one match of at most the given number of steps.
+ * The result is a matrix of the wins, losses and draws of every AI against every other AI.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class TournamentCommand implements UserCommand {
+    /**
+     * The name of the command.
+     * Public because it is used in {@link CommandHandler}.
+     */
+    public static final String COMMAND_NAME = "tournament";
+    private static final GamePhase CORRECT_PHASE = GamePhase.SETUP;
+    private static final String COMMAND_DESCRIPTION = "Plays a match of at most the given number of steps for every group "
+            + "of registered AIs of the given size (2 by default) and shows the wins, losses and draws of every AI.";
+    private static final int DEFAULT_GROUP_SIZE = 2;
+    private static final int MAX_NUMBER_OF_MATCHES = 100_000;
+    private static final String INVALID_MAX_STEPS_MESSAGE = "The maximum number of steps must be positive.";
+    private static final String INVALID_GROUP_SIZE_FORMAT = "The group size must be between 2 and %d.";
+    private static final String NOT_ENOUGH_AIS_FORMAT = "At least %d AIs have to be registered.";
+    private static final String TOO_MANY_MATCHES_FORMAT = "A tournament must not have more than %d matches.";
+    private final CommandHandler commandHandler;
+    /**
+     * Constructs a new TournamentCommand.
+     *
+     * @param commandHandler the command handler to be used to execute the tournament command
+     */
+    public TournamentCommand(CommandHandler commandHandler) {
+        this.commandHandler = commandHandler;
+    }
+
+    @Override
+    public CommandResult execute(CodeFight model, String[] commandArguments) {
+        //check if the number of arguments is correct
+        if (commandArguments.length < 1 || commandArguments.length > 2) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(COMMAND_NAME));
+        }
+        //check if the numbers are integers
+        int maxSteps;
+        int groupSize = DEFAULT_GROUP_SIZE;
+        try {
+            maxSteps = Integer.parseInt(commandArguments[0]);
+            if (commandArguments.length == 2) {
+                groupSize = Integer.parseInt(commandArguments[1]);
+            }
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, NUMBER_NOT_INT_FAILURE);
+        }
+        if (maxSteps < 1) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_MAX_STEPS_MESSAGE);
+        }
+        if (groupSize < DEFAULT_GROUP_SIZE || groupSize > model.getMaxAis()) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_GROUP_SIZE_FORMAT.formatted(model.getMaxAis()));
+        }
+        int numberOfAis = model.getRegisteredAis().size();
+        if (numberOfAis < groupSize) {
+            return new CommandResult(CommandResultType.FAILURE, NOT_ENOUGH_AIS_FORMAT.formatted(groupSize));
+        }
+        if (Tournament.countMatches(numberOfAis, groupSize) > MAX_NUMBER_OF_MATCHES) {
+            return new CommandResult(CommandResultType.FAILURE, TOO_MANY_MATCHES_FORMAT.formatted(MAX_NUMBER_OF_MATCHES));
+        }
+        Tournament tournament = new Tournament(model, groupSize, maxSteps);
+        return new CommandResult(CommandResultType.SUCCESS, tournament.play(ForkJoinPool.commonPool()).format());
+    }
+
+    @Override
+    public int getNumberOfArguments() {
+        //just returns the current input arguments as the number of arguments is either 1 or 2
+        //there is a check for the correct number of arguments in the execute method
+        return commandHandler.getCurrentNumberOfArguments();
+    }
+
+    @Override
+    public GamePhase getCorrectPhase() {
+        return CORRECT_PHASE;
+    }
+
+    @Override
+    public String getCommandDescription() {
+        return COMMAND_DESCRIPTION;
+    }
+    @Override
+    public String getCommandName() {
+        return COMMAND_NAME;
+    }
+}
@@ -0,0 +1,138 @@
+package edu.kit.informatik.codefight.model;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the memory cells column-wise in parallel primitive arrays instead of one object per cell.
+ * A fork shares the arrays with the storage it was forked from until one of them writes a memory cell, then the
+ * writing storage copies the arrays (copy on write), so forking does not depend on the size of the memory.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class ArrayMemoryStorage implements MemoryStorage {
+    private byte[] opcodes;
+    private int[] firstArguments;
+    private int[] secondArguments;
+    private short[] displaySymbolIds;
+    //whether the arrays are shared with a fork, so they have to be copied before they are written
+    private boolean isShared;
+
+    /**
+     * Constructs a new array memory storage.
+     *
+     * @param size the number of memory cells
+     */
+    public ArrayMemoryStorage(int size) {
+        opcodes = new byte[size];
+        firstArguments = new int[size];
+        secondArguments = new int[size];
+        displaySymbolIds = new short[size];
+    }
+
+    private ArrayMemoryStorage(ArrayMemoryStorage storage) {
+        opcodes = storage.opcodes;
+        firstArguments = storage.firstArguments;
+        secondArguments = storage.secondArguments;
+        displaySymbolIds = storage.displaySymbolIds;
+        isShared = true;
+    }
+
+    @Override
+    public int getSize() {
+        return opcodes.length;
+    }
+
+    @Override
+    public byte getOpcode(int index) {
+        return opcodes[index];
+    }
+
+    @Override
+    public int getFirstArgument(int index) {
+        return firstArguments[index];
+    }
+
+    @Override
+    public int getSecondArgument(int index) {
+        return secondArguments[index];
+    }
+
+    @Override
+    public short getDisplaySymbolId(int index) {
+        return displaySymbolIds[index];
+    }
+
+    @Override
+    public void setMemoryCell(int index, byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        unshare();
+        opcodes[index] = opcode;
+        firstArguments[index] = firstArgument;
+        secondArguments[index] = secondArgument;
+        displaySymbolIds[index] = displaySymbolId;
+    }
+
+    @Override
+    public void setFirstArgument(int index, int firstArgument) {
+        unshare();
+        firstArguments[index] = firstArgument;
+    }
+
+    @Override
+    public void setSecondArgument(int index, int secondArgument) {
+        unshare();
+        secondArguments[index] = secondArgument;
+    }
+
+    @Override
+    public void setDisplaySymbolId(int index, short displaySymbolId) {
+        unshare();
+        displaySymbolIds[index] = displaySymbolId;
+    }
+
+    @Override
+    public void copyMemoryCell(int sourceIndex, int targetIndex) {
+        unshare();
+        opcodes[targetIndex] = opcodes[sourceIndex];
+        firstArguments[targetIndex] = firstArguments[sourceIndex];
+        secondArguments[targetIndex] = secondArguments[sourceIndex];
+        displaySymbolIds[targetIndex] = displaySymbolIds[sourceIndex];
+    }
+
+    @Override
+    public void fill(byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        if (isShared) {
+            //the old content is overwritten anyway, so new arrays are enough
+            opcodes = new byte[opcodes.length];
+            firstArguments = new int[opcodes.length];
+            secondArguments = new int[opcodes.length];
+            displaySymbolIds = new short[opcodes.length];
+            isShared = false;
+        }
+        Arrays.fill(opcodes, opcode);
+        Arrays.fill(firstArguments, firstArgument);
+        Arrays.fill(secondArguments, secondArgument);
+        Arrays.fill(displaySymbolIds, displaySymbolId);
+    }
+
+    /**
+     * Creates a fork that shares the arrays with this storage until one of them writes a memory cell.
+     *
+     * @return the fork of the storage
+     */
+    @Override
+    public MemoryStorage fork() {
+        isShared = true;
+        return new ArrayMemoryStorage(this);
+    }
+
+    private void unshare() {
+        if (isShared) {
+            opcodes = opcodes.clone();
+            firstArguments = firstArguments.clone();
+            secondArguments = secondArguments.clone();
+            displaySymbolIds = displaySymbolIds.clone();
+            isShared = false;
+        }
+    }
+}
@@ -15,8 +15,8 @@ import static edu.kit.informatik.codefight.command.usercommands.AddAiCommand.AI_
  */
 public class ArtificialIntelligence implements Copyable<ArtificialIntelligence> {
     private String name;
-    private String standardAiCommand;
-    private String aiBomb;
+    private short standardAiCommandId;
+    private short aiBombId;
     private boolean isAlive;
     private final List<MemoryCell> aiCommands;
     private int instructionPointer;
@@ -36,39 +36,39 @@ public class ArtificialIntelligence implements Copyable<ArtificialIntelligence>
     }
 
     /**
-     * Sets the standard symbol for the AI commands.
+     * Sets the display symbol id of the standard symbol for the AI commands.
      *
-     * @param standardAiCommand the standard symbol for the AI commands
+     * @param standardAiCommandId the display symbol id of the standard symbol for the AI commands
      */
-    public void setStandardAiCommand(String standardAiCommand) {
-        this.standardAiCommand = standardAiCommand;
+    public void setStandardAiCommandId(short standardAiCommandId) {
+        this.standardAiCommandId = standardAiCommandId;
     }
 
     /**
-     * Sets the symbol for the AI bombs.
+     * Sets the display symbol id of the symbol for the AI bombs.
      *
-     * @param aiBomb the symbol for the AI bombs
+     * @param aiBombId the display symbol id of the symbol for the AI bombs
      */
-    public void setAiBomb(String aiBomb) {
-        this.aiBomb = aiBomb;
+    public void setAiBombId(short aiBombId) {
+        this.aiBombId = aiBombId;
     }
 
     /**
-     * Returns the standard symbol for the AI commands.
+     * Returns the display symbol id of the standard symbol for the AI commands.
      *
-     * @return the standard symbol for the AI commands
+     * @return the display symbol id of the standard symbol for the AI commands
      */
-    public String getStandardAiCommand() {
-        return standardAiCommand;
+    public short getStandardAiCommandId() {
+        return standardAiCommandId;
     }
 
     /**
-     * Returns the symbol for the AI bombs.
+     * Returns the display symbol id of the symbol for the AI bombs.
      *
-     * @return the symbol for the AI bombs
+     * @return the display symbol id of the symbol for the AI bombs
      */
-    public String getAiBomb() {
-        return aiBomb;
+    public short getAiBombId() {
+        return aiBombId;
     }
 
     /**
@@ -119,8 +119,7 @@ public class ArtificialIntelligence implements Copyable<ArtificialIntelligence>
         for (int i = 0; i < aiCommands.length; i += AI_COMMAND_LENGTH) { //extract the AI commands from the string array
             this.aiCommands.add(new MemoryCell(aiCommands[i],
                     Integer.parseInt(aiCommands[i + 1]),
-                    Integer.parseInt(aiCommands[i + 2]),
-                    this));
+                    Integer.parseInt(aiCommands[i + 2])));
         }
     }
 
@@ -133,15 +132,6 @@ public class ArtificialIntelligence implements Copyable<ArtificialIntelligence>
         aiCommands.add(aiCommand);
     }
 
-    /**
-     * Sets the initial display symbols for the AI commands (no ai bombs).
-     */
-    public void setInitialDisplaySymbols() {
-        for (MemoryCell aiCommand : aiCommands) {
-            aiCommand.initDisplaySymbol(standardAiCommand);
-        }
-    }
-
     /**
      * Returns the current position in the memory of the instruction pointer of the AI.
      *
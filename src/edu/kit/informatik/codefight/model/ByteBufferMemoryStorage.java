@@ -0,0 +1,167 @@
+package edu.kit.informatik.codefight.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * This class stores the memory cells outside the Java heap in byte buffers, so the garbage collector never has to scan
+ * or move them. Every memory cell has a fixed layout of 12 bytes: the code of the opcode, one unused byte, the id of the
+ * display symbol and the two arguments. As a single buffer is limited to 2 GB, the memory cells are split into chunks
+ * which are provided by the subclasses.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public abstract class ByteBufferMemoryStorage implements MemoryStorage {
+    /**
+     * The number of bytes needed for one memory cell.
+     */
+    public static final int BYTES_PER_CELL = 12;
+    /**
+     * The byte order of the memory cells. It does not depend on the platform, so a file holding memory cells can be
+     * read on any platform.
+     */
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int OPCODE_OFFSET = 0;
+    private static final int DISPLAY_SYMBOL_ID_OFFSET = 2;
+    private static final int FIRST_ARGUMENT_OFFSET = 4;
+    private static final int SECOND_ARGUMENT_OFFSET = 8;
+    private static final int CHUNK_SHIFT = 27;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private final int size;
+    private final ByteBuffer[] chunks;
+
+    /**
+     * Constructs a new byte buffer memory storage.
+     *
+     * @param size the number of memory cells
+     */
+    protected ByteBufferMemoryStorage(int size) {
+        this.size = size;
+        chunks = new ByteBuffer[getNumberOfChunks(size)];
+    }
+
+    /**
+     * Returns the number of chunks needed for the given number of memory cells.
+     *
+     * @param size the number of memory cells
+     * @return the number of chunks
+     */
+    protected static int getNumberOfChunks(int size) {
+        return (int) (((long) size + CHUNK_SIZE - 1) >> CHUNK_SHIFT);
+    }
+
+    /**
+     * Returns the number of memory cells in the chunk with the given index. Only the last chunk may be smaller
+     * than the others.
+     *
+     * @param size the number of memory cells
+     * @param indexOfChunk the index of the chunk
+     * @return the number of memory cells in the chunk
+     */
+    protected static int getCellsInChunk(int size, int indexOfChunk) {
+        return Math.min(CHUNK_SIZE, size - (indexOfChunk << CHUNK_SHIFT));
+    }
+
+    /**
+     * Sets the chunk with the given index. The byte order of the chunk is set to the {@link #BYTE_ORDER byte order}
+     * of the memory cells.
+     *
+     * @param indexOfChunk the index of the chunk
+     * @param chunk the byte buffer holding the memory cells of the chunk
+     */
+    protected void setChunk(int indexOfChunk, ByteBuffer chunk) {
+        chunks[indexOfChunk] = chunk.order(BYTE_ORDER);
+    }
+
+    /**
+     * Returns the chunk with the given index.
+     *
+     * @param indexOfChunk the index of the chunk
+     * @return the byte buffer holding the memory cells of the chunk
+     */
+    protected ByteBuffer getChunkAt(int indexOfChunk) {
+        return chunks[indexOfChunk];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public byte getOpcode(int index) {
+        return getChunk(index).get(getOffset(index) + OPCODE_OFFSET);
+    }
+
+    @Override
+    public int getFirstArgument(int index) {
+        return getChunk(index).getInt(getOffset(index) + FIRST_ARGUMENT_OFFSET);
+    }
+
+    @Override
+    public int getSecondArgument(int index) {
+        return getChunk(index).getInt(getOffset(index) + SECOND_ARGUMENT_OFFSET);
+    }
+
+    @Override
+    public short getDisplaySymbolId(int index) {
+        return getChunk(index).getShort(getOffset(index) + DISPLAY_SYMBOL_ID_OFFSET);
+    }
+
+    @Override
+    public void setMemoryCell(int index, byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        ByteBuffer chunk = getChunk(index);
+        int offset = getOffset(index);
+        chunk.put(offset + OPCODE_OFFSET, opcode);
+        chunk.putShort(offset + DISPLAY_SYMBOL_ID_OFFSET, displaySymbolId);
+        chunk.putInt(offset + FIRST_ARGUMENT_OFFSET, firstArgument);
+        chunk.putInt(offset + SECOND_ARGUMENT_OFFSET, secondArgument);
+    }
+
+    @Override
+    public void setFirstArgument(int index, int firstArgument) {
+        getChunk(index).putInt(getOffset(index) + FIRST_ARGUMENT_OFFSET, firstArgument);
+    }
+
+    @Override
+    public void setSecondArgument(int index, int secondArgument) {
+        getChunk(index).putInt(getOffset(index) + SECOND_ARGUMENT_OFFSET, secondArgument);
+    }
+
+    @Override
+    public void setDisplaySymbolId(int index, short displaySymbolId) {
+        getChunk(index).putShort(getOffset(index) + DISPLAY_SYMBOL_ID_OFFSET, displaySymbolId);
+    }
+
+    @Override
+    public void copyMemoryCell(int sourceIndex, int targetIndex) {
+        //a memory cell is copied as a whole with one bulk copy of its bytes
+        getChunk(targetIndex).put(getOffset(targetIndex), getChunk(sourceIndex), getOffset(sourceIndex), BYTES_PER_CELL);
+    }
+
+    @Override
+    public void fill(byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        for (int i = 0; i < size; i++) {
+            setMemoryCell(i, opcode, firstArgument, secondArgument, displaySymbolId);
+        }
+    }
+
+    /**
+     * Drops the references to the byte buffers, so their memory can be freed.
+     */
+    @Override
+    public void release() {
+        Arrays.fill(chunks, null);
+    }
+
+    private ByteBuffer getChunk(int index) {
+        return chunks[index >>> CHUNK_SHIFT];
+    }
+
+    private static int getOffset(int index) {
+        return (index & CHUNK_MASK) * BYTES_PER_CELL;
+    }
+}
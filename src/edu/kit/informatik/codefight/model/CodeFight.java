@@ -3,18 +3,29 @@ package edu.kit.informatik.codefight.model;
 
 import edu.kit.informatik.codefight.exceptions.GameExecutionException;
 import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
+import edu.kit.informatik.codefight.model.batch.MatchResultCache;
 import edu.kit.informatik.codefight.model.round.RoundHandler;
+import edu.kit.informatik.codefight.model.round.StepTrace;
+import edu.kit.informatik.codefight.model.round.StopEventLog;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.IntFunction;
 
 import static edu.kit.informatik.codefight.command.usercommands.AddAiCommand.AI_COMMANDS_OVERLAP_MESSAGE;
 import static java.lang.Math.floor;
 import static java.lang.Math.min;
 
 /**
- * This class represents the code fight game.
+ * This class represents the code fight game. The settings of a game, such as cycle detection or the depth of the
+ * trace, are only read when a game starts, so changing them does not affect the running game but the next one.
  *
  * @author uexnb
  * @version 1.0
@@ -24,28 +35,50 @@ public class CodeFight {
     private static final int INDEX_OF_LAST_AI_INDEPENDENT_SYMBOL = 3;
     private final Memory memory;
     private final int maxAis;
+    //the configuration of the game is kept to create independent games with the same configuration
+    private final IntFunction<MemoryStorage> storageFactory;
+    private final String[] aiIndependentSymbols;
     private final String[][] aiDependentSymbols;
     private final List<ArtificialIntelligence> registeredAis;
     private final List<ArtificialIntelligence> activeAis = new ArrayList<>();
+    //the view is created once as it is requested frequently during the fight
+    private final List<ArtificialIntelligence> unmodifiableActiveAis = Collections.unmodifiableList(activeAis);
     private RoundHandler roundHandler;
     private GamePhase phase;
+    private PersistentArena persistentArena;
+    private boolean isCycleDetectionEnabled;
+    private boolean isStoppedWhenDecided;
+    private boolean isReversible;
+    //the cache of the results of headless matches, null if every match is played
+    private MatchResultCache resultCache;
+    //the path of the replay log every started game is recorded in or null if the games are not recorded
+    private Path replayLogPath;
+    //the number of the last executed commands that are kept in the trace of a running game
+    private int traceDepth = StepTrace.DEFAULT_DEPTH;
+    //the initial number of steps between the snapshots of a running game, 0 if no snapshots are taken
+    private int snapshotSpacing;
+    //the seed of the random placement of the AIs, null if the AIs are placed at fixed distances
+    private Long placementSeed;
 
     /**
      * Constructs a new CodeFight game.
      *
      * @param maxAis the maximum number of AIs
      * @param memorySize the size of the memory
+     * @param storageFactory the factory creating the storage of the memory cells for the given size
      * @param aiIndependentSymbols the symbols for displaying the AI independent information of the memory
      *                             (unchanged AI commands, range limits of range display, next AI command of next AI,
      *                             next AI commands of other AIs)
      * @param aiDependentSymbols the symbols for displaying the AI dependent information of the memory
      */
-    public CodeFight(int memorySize, String[] aiIndependentSymbols, String[][] aiDependentSymbols,
-                     int maxAis) {
+    public CodeFight(int memorySize, IntFunction<MemoryStorage> storageFactory, String[] aiIndependentSymbols,
+                     String[][] aiDependentSymbols, int maxAis) {
         this.maxAis = maxAis;
-        this.memory = new Memory(memorySize, aiIndependentSymbols[0], aiIndependentSymbols[1], aiIndependentSymbols[2],
-                aiIndependentSymbols[INDEX_OF_LAST_AI_INDEPENDENT_SYMBOL]);
+        this.storageFactory = storageFactory;
+        this.aiIndependentSymbols = aiIndependentSymbols.clone();
         this.aiDependentSymbols = aiDependentSymbols.clone();
+        this.memory = new Memory(memorySize, storageFactory, aiIndependentSymbols[0], aiIndependentSymbols[1],
+                aiIndependentSymbols[2], aiIndependentSymbols[INDEX_OF_LAST_AI_INDEPENDENT_SYMBOL], aiDependentSymbols);
         this.phase = GamePhase.SETUP;
         this.registeredAis = new ArrayList<>();
     }
@@ -58,6 +91,231 @@ public class CodeFight {
         return memory;
     }
 
+    /**
+     * Returns the file in which the running game is persisted.
+     *
+     * @return the file in which the running game is persisted or null if the game is not persistent
+     */
+    public PersistentArena getPersistentArena() {
+        return persistentArena;
+    }
+
+    /**
+     * Sets the file in which the running game is persisted. Its storage has to be the storage of the memory.
+     *
+     * @param persistentArena the file in which the running game is persisted
+     */
+    public void setPersistentArena(PersistentArena persistentArena) {
+        this.persistentArena = persistentArena;
+    }
+
+    /**
+     * Returns the cache of the results of headless matches.
+     *
+     * @return the cache or null if every match is played
+     */
+    public MatchResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Sets the cache of the results of headless matches.
+     *
+     * @param resultCache the cache or null if every match is played
+     */
+    public void setResultCache(MatchResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Creates a new game with the same memory size, symbols and maximum number of AIs. The registered AIs, the init
+     * mode and the seed are copied, but the memory of the new game is independent of the memory of this game,
+     * so games can be played in the new game while this game is not affected.
+     *
+     * @return the new game in the setup phase
+     */
+    public CodeFight createIndependentGame() {
+        CodeFight game = new CodeFight(memory.getSize(), getIndependentStorageFactory(), aiIndependentSymbols,
+                aiDependentSymbols, maxAis);
+        for (ArtificialIntelligence ai : registeredAis) {
+            game.registerAi(ai.copy());
+        }
+        game.getMemory().setInitMode(memory.getInitMode());
+        game.getMemory().setSeed(Objects.requireNonNullElse(memory.getSeed(), 0));
+        return game;
+    }
+
+    private IntFunction<MemoryStorage> getIndependentStorageFactory() {
+        //the storage of a persistent game is the file of this game, so another game stores its memory cells in pages
+        return persistentArena != null ? PagedMemoryStorage::new : storageFactory;
+    }
+
+    /**
+     * Creates a fork of this game in its current state, so alternative continuations of the game can be explored
+     * without affecting this game. The memory of the fork shares the memory cells with the memory of this game until
+     * either game writes them, so forking a game does not depend on the size of the memory. The active AIs and the
+     * state of the rounds are copied, the registered AIs and the settings of this game are taken over.
+     * The fork is neither persisted nor reversible and takes no snapshots.
+     *
+     * @return the fork in the same phase as this game
+     */
+    public CodeFight fork() {
+        return new CodeFight(this);
+    }
+
+    private CodeFight(CodeFight game) {
+        this.maxAis = game.maxAis;
+        this.storageFactory = game.getIndependentStorageFactory();
+        this.aiIndependentSymbols = game.aiIndependentSymbols;
+        this.aiDependentSymbols = game.aiDependentSymbols;
+        this.memory = game.memory.fork(storageFactory);
+        this.phase = game.phase;
+        this.registeredAis = new ArrayList<>(game.registeredAis.size());
+        for (ArtificialIntelligence ai : game.registeredAis) {
+            registeredAis.add(ai.copy());
+        }
+        for (ArtificialIntelligence ai : game.activeAis) {
+            ArtificialIntelligence copyOfAi = ai.copy();
+            copyOfAi.setStandardAiCommandId(ai.getStandardAiCommandId());
+            copyOfAi.setAiBombId(ai.getAiBombId());
+            activeAis.add(copyOfAi);
+        }
+        this.isCycleDetectionEnabled = game.isCycleDetectionEnabled;
+        this.placementSeed = game.placementSeed;
+        this.traceDepth = game.traceDepth;
+        this.resultCache = game.resultCache;
+        if (game.roundHandler != null && phase == GamePhase.FIGHT) {
+            //the turn order only depends on which AIs are alive and whose turn it is
+            this.roundHandler = new RoundHandler(this, game.roundHandler.getNextAiIndex());
+        }
+    }
+
+    /**
+     * Returns whether repeated states of the game are detected, so that their repetitions are skipped when
+     * commands are executed.
+     *
+     * @return true if cycle detection is enabled, false otherwise
+     */
+    public boolean isCycleDetectionEnabled() {
+        return isCycleDetectionEnabled;
+    }
+
+    /**
+     * Sets whether repeated states of the game are detected. Repeated states are not skipped while a game is
+     * reversible, recorded or takes snapshots.
+     *
+     * @param isCycleDetectionEnabled true if cycle detection is enabled, false otherwise
+     */
+    public void setCycleDetectionEnabled(boolean isCycleDetectionEnabled) {
+        this.isCycleDetectionEnabled = isCycleDetectionEnabled;
+    }
+
+    /**
+     * Returns whether a running game stops executing commands as soon as at most one AI is alive.
+     *
+     * @return true if the game stops when it is decided, false otherwise
+     */
+    public boolean isStoppedWhenDecided() {
+        return isStoppedWhenDecided;
+    }
+
+    /**
+     * Sets whether a running game stops executing commands as soon as at most one AI is alive, so the last living AI
+     * executes no commands after the game is decided.
+     *
+     * @param isStoppedWhenDecided true if the game stops when it is decided, false otherwise
+     */
+    public void setStoppedWhenDecided(boolean isStoppedWhenDecided) {
+        this.isStoppedWhenDecided = isStoppedWhenDecided;
+    }
+
+    /**
+     * Returns whether the executed commands of a running game can be undone.
+     *
+     * @return true if the game is reversible, false otherwise
+     */
+    public boolean isReversible() {
+        return isReversible;
+    }
+
+    /**
+     * Sets whether the executed commands of a running game can be undone.
+     *
+     * @param isReversible true if the game is reversible, false otherwise
+     */
+    public void setReversible(boolean isReversible) {
+        this.isReversible = isReversible;
+    }
+
+    /**
+     * Returns the path of the replay log in which every started game is recorded.
+     *
+     * @return the path or null if the games are not recorded
+     */
+    public Path getReplayLogPath() {
+        return replayLogPath;
+    }
+
+    /**
+     * Sets the path of the replay log in which every started game is recorded. The log is replaced whenever a game
+     * starts, so it contains the last started game.
+     *
+     * @param replayLogPath the path or null if the games are not recorded
+     */
+    public void setReplayLogPath(Path replayLogPath) {
+        this.replayLogPath = replayLogPath;
+    }
+
+    /**
+     * Returns the number of the last executed commands that are kept in the trace of a running game.
+     *
+     * @return the depth of the trace, 0 if no trace is kept
+     */
+    public int getTraceDepth() {
+        return traceDepth;
+    }
+
+    /**
+     * Sets the number of the last executed commands that are kept in the trace of a running game. Repetitions of
+     * a cycle that are skipped are not part of the trace.
+     *
+     * @param traceDepth the depth of the trace in the inclusive range of [0, {@link StepTrace#MAX_DEPTH}],
+     *                   0 if no trace is kept
+     */
+    public void setTraceDepth(int traceDepth) {
+        this.traceDepth = traceDepth;
+    }
+
+    /**
+     * Returns the initial number of steps between the snapshots of a running game, which allow to seek to any step.
+     *
+     * @return the spacing of the snapshots, 0 if no snapshots are taken
+     */
+    public int getSnapshotSpacing() {
+        return snapshotSpacing;
+    }
+
+    /**
+     * Sets the initial number of steps between the snapshots of a running game. The number of snapshots is bounded,
+     * so the spacing doubles whenever the snapshots of a long game reach the bound.
+     *
+     * @param snapshotSpacing the spacing of the snapshots, 0 if no snapshots are taken
+     */
+    public void setSnapshotSpacing(int snapshotSpacing) {
+        this.snapshotSpacing = snapshotSpacing;
+    }
+
+    /**
+     * Sets how the AIs are placed in the memory when the next game starts. Without a seed, the AIs are placed at fixed
+     * distances from each other. With a seed, the AIs keep their order, but the free memory cells are distributed
+     * randomly between them, so the AIs are placed at random distances that only depend on the seed.
+     *
+     * @param placementSeed the seed of the random placement or null for the placement at fixed distances
+     */
+    public void setPlacementSeed(Long placementSeed) {
+        this.placementSeed = placementSeed;
+    }
+
     /**
      * Returns the current phase of the game.
      *
@@ -118,7 +376,7 @@ public class CodeFight {
      * @return the list of active AIs
      */
     public List<ArtificialIntelligence> getActiveAis() {
-        return Collections.unmodifiableList(activeAis);
+        return unmodifiableActiveAis;
     }
 
     /**
@@ -152,11 +410,9 @@ public class CodeFight {
                     ArtificialIntelligence aiWithCorrectedName = ai.copy();
                     //set the AI to alive
                     aiWithCorrectedName.setIsAlive(true);
-                    //set the standard AI command and the AI bomb for the AI
-                    aiWithCorrectedName.setStandardAiCommand(aiDependentSymbols[i][0]);
-                    aiWithCorrectedName.setAiBomb(aiDependentSymbols[i][1]);
-                    //set the initial symbols for displaying the memory cells of the AI (in show memory command)
-                    aiWithCorrectedName.setInitialDisplaySymbols();
+                    //set the standard AI command and the AI bomb for the AI, the symbols are determined by the position of the AI
+                    aiWithCorrectedName.setStandardAiCommandId(Memory.getStandardAiCommandId(i));
+                    aiWithCorrectedName.setAiBombId(Memory.getAiBombId(i));
                     //change the name of the AI to the correct name
                     aiWithCorrectedName.setName(correctedAiNames[i]);
                     activeAis.add(aiWithCorrectedName);
@@ -167,64 +423,218 @@ public class CodeFight {
     }
     /**
      * Initialise the memory and load the AI commands into the memory. Set the instruction pointer of the AIs to their
-     * first command and initialise the round handler.
+     * first command and initialise the round handler. If the games are recorded, the recording starts.
      *
-     * @throws GameInitialisationException if the AI commands overlap
+     * @throws GameInitialisationException if the AI commands overlap or the replay log or the persistent game file
+     *                                     cannot be accessed
      */
     public void startGame() throws GameInitialisationException {
         memory.initialiseMemory();
         for (int i = 0; i < activeAis.size(); i++) {
-            int firstIndexOfCurrentAi = calculateFirstIndexOfCurrentAi(i);
+            int firstIndexOfCurrentAi;
+            try {
+                firstIndexOfCurrentAi = calculateFirstIndexOfCurrentAi(i);
+            } catch (GameInitialisationException e) {
+                //the game does not start, so the storage is not needed until the next start
+                memory.releaseStorage();
+                throw e;
+            }
             ArtificialIntelligence currentAi = activeAis.get(i);
             //put the AI commands in the memory
             for (int j = firstIndexOfCurrentAi;
                 //AI commands exceeding memory size are ignored
-                 j < min(firstIndexOfCurrentAi + currentAi.getAiCommands().size(), memory.getSize());
+                 j < min((long) firstIndexOfCurrentAi + currentAi.getAiCommands().size(), memory.getSize());
                  j++) {
-                memory.setMemoryCell(j, currentAi.getAiCommands().get(j - firstIndexOfCurrentAi));
+                //before the first AI has changed the memory cell, the display symbol is
+                //always the standard AI command symbol of the AI this memory cell belongs to
+                memory.setMemoryCell(j, currentAi.getAiCommands().get(j - firstIndexOfCurrentAi), currentAi.getStandardAiCommandId());
             }
             //set the instruction pointer of the AI to their first command
             currentAi.setInstructionPointer(firstIndexOfCurrentAi);
         }
         this.roundHandler = new RoundHandler(this);
+        try {
+            if (replayLogPath != null) {
+                roundHandler.startRecording(replayLogPath);
+            }
+            if (persistentArena != null) {
+                persistentArena.saveGame(activeAis, registeredAis, roundHandler.getNextAiIndex());
+            }
+        } catch (GameInitialisationException e) {
+            roundHandler.stopRecording();
+            memory.releaseStorage();
+            throw e;
+        }
+    }
+
+    /**
+     * Resumes the running game of the persistent game file. The memory cells are already in the file, so only the
+     * active and the registered AIs are read and the game continues with the AI whose turn it was.
+     *
+     * @throws GameInitialisationException if the file or the replay log cannot be accessed
+     */
+    public void resumeGame() throws GameInitialisationException {
+        activeAis.clear();
+        activeAis.addAll(persistentArena.loadAis());
+        registeredAis.clear();
+        registeredAis.addAll(persistentArena.loadRegisteredAis());
+        memory.openStorage();
+        this.roundHandler = new RoundHandler(this, persistentArena.getNextAiIndex());
+        if (replayLogPath != null) {
+            roundHandler.startRecording(replayLogPath);
+        }
+        phase = GamePhase.FIGHT;
     }
 
     private int calculateFirstIndexOfCurrentAi(int numberOfCurrentAi) throws GameInitialisationException {
+        if (placementSeed != null) {
+            return calculateRandomFirstIndexOfCurrentAi(numberOfCurrentAi);
+        }
         //calculate the first index of the current AI using the provided formula
         int firstIndexOfCurrentAi = (int) floor(numberOfCurrentAi * (double) memory.getSize() / activeAis.size());
         if (numberOfCurrentAi != activeAis.size() - 1) {
             int firstIndexOfNextAi = (int) floor((numberOfCurrentAi + 1) * (double) memory.getSize() / activeAis.size());
             //check if the AI commands overlap, if so throw an exception
-            if (firstIndexOfCurrentAi + activeAis.get(numberOfCurrentAi).getAiCommands().size() > firstIndexOfNextAi) {
+            if ((long) firstIndexOfCurrentAi + activeAis.get(numberOfCurrentAi).getAiCommands().size() > firstIndexOfNextAi) {
                 throw new GameInitialisationException(AI_COMMANDS_OVERLAP_MESSAGE);
             }
         }
         return firstIndexOfCurrentAi;
     }
+    private int calculateRandomFirstIndexOfCurrentAi(int numberOfCurrentAi) throws GameInitialisationException {
+        long numberOfFreeCells = memory.getSize();
+        for (ArtificialIntelligence ai : activeAis) {
+            numberOfFreeCells -= ai.getAiCommands().size();
+        }
+        if (numberOfFreeCells < 0) {
+            throw new GameInitialisationException(AI_COMMANDS_OVERLAP_MESSAGE);
+        }
+        //the free cells in front of each AI are the distances between sorted random cuts of all free cells,
+        //so the AIs never overlap and never exceed the memory size
+        Random random = new Random(placementSeed);
+        long[] cuts = new long[activeAis.size()];
+        for (int i = 0; i < cuts.length; i++) {
+            cuts[i] = (long) (random.nextDouble() * (numberOfFreeCells + 1));
+        }
+        Arrays.sort(cuts);
+        long firstIndexOfCurrentAi = cuts[numberOfCurrentAi];
+        for (int i = 0; i < numberOfCurrentAi; i++) {
+            firstIndexOfCurrentAi += activeAis.get(i).getAiCommands().size();
+        }
+        return (int) firstIndexOfCurrentAi;
+    }
     /**
-     * Execute the next commands of the AIs.
+     * Stops the active AI with the given name as if it executed a stop command, but without a message. This is used to
+     * explore continuations of a {@link #fork() fork} of the game with fewer AIs.
+     *
+     * @param name the name of the active AI
+     * @return true if the AI was alive and is stopped now, false otherwise
+     */
+    public boolean stopActiveAi(String name) {
+        for (int i = 0; i < activeAis.size(); i++) {
+            if (activeAis.get(i).getName().equals(name)) {
+                return roundHandler.stopAi(i);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Execute the next commands of the AIs. If cycle detection is enabled, repetitions of a state of the game
+     * are skipped and the numbers of executed commands are reported as if every command was executed.
      *
      * @param numberOfCommands the number of commands to execute
      * @return an optional string containing the messages for all the stopped AIs
-     * @throws GameExecutionException if the command name is not valid
+     * @throws GameExecutionException if the command name is not valid or the replay log cannot be written anymore
      */
     public String executeNextCommands(int numberOfCommands) throws GameExecutionException {
-        StringBuilder resultMessage = new StringBuilder();
-        for (int i = 0; i < numberOfCommands; i++) {
-            String result = roundHandler.executeCommand();
-            if (result != null) {
-                if (!resultMessage.isEmpty()) {
-                    resultMessage.append(System.lineSeparator());
-                }
-                resultMessage.append(result);
-            }
-        }
-        //check if no AI has been stopped, in that case the stringbuilder would be empty
-        if (resultMessage.isEmpty()) {
-            return null;
-        }
-        return resultMessage.toString();
+        StopEventLog stopEvents = roundHandler.getStopEvents();
+        stopEvents.clear();
+        roundHandler.executeCommands(numberOfCommands);
+        //the messages for the stopped AIs are only created after all commands are executed,
+        //if no AI has been stopped, null is returned
+        return stopEvents.format(activeAis);
     }
+    /**
+     * Returns the number of the last executed commands that can be undone.
+     *
+     * @return the number of commands or 0 if the game is not reversible
+     */
+    public int getNumberOfRewindableCommands() {
+        return roundHandler.getNumberOfRewindableCommands();
+    }
+
+    /**
+     * Undoes the given number of the last executed commands of the AIs, so the game is in the same state as before
+     * they were executed.
+     *
+     * @param numberOfCommands the number of commands, at most the {@link #getNumberOfRewindableCommands() number of
+     *                         rewindable commands}
+     * @throws GameExecutionException if a command that is executed again is not valid
+     */
+    public void rewindCommands(int numberOfCommands) throws GameExecutionException {
+        StopEventLog stopEvents = roundHandler.getStopEvents();
+        //the AIs that stop while the commands before the target are executed again stopped before already
+        stopEvents.clear();
+        roundHandler.rewind(numberOfCommands);
+        stopEvents.clear();
+    }
+
+    /**
+     * Returns whether the running game takes snapshots, so it can seek to earlier steps.
+     *
+     * @return true if the game takes snapshots, false otherwise
+     */
+    public boolean isSeekable() {
+        return roundHandler.isSeekable();
+    }
+
+    /**
+     * Returns the current step of the running game, which is the sum of the numbers of executed commands of all AIs.
+     *
+     * @return the current step
+     */
+    public long getStep() {
+        return roundHandler.getStep();
+    }
+
+    /**
+     * Returns the earliest step the running game can seek to, which is the step the game was started or resumed at.
+     *
+     * @return the earliest step
+     */
+    public long getFirstSeekableStep() {
+        return roundHandler.getFirstSeekableStep();
+    }
+
+    /**
+     * Sets the running game to the state at the given step. Earlier steps are reached by restoring the last snapshot
+     * before the step and executing the commands after it again, so at most the spacing of the snapshots has to be
+     * executed. If all AIs stop before the step, the game stays at the step at which the last AI stopped.
+     *
+     * @param step the step, at least the {@link #getFirstSeekableStep() first seekable step}
+     * @return the step the game is at afterwards
+     * @throws GameExecutionException if a command that is executed is not valid
+     */
+    public long seekStep(long step) throws GameExecutionException {
+        StopEventLog stopEvents = roundHandler.getStopEvents();
+        //the AIs that stop while the commands up to the step are executed are not reported
+        stopEvents.clear();
+        long reachedStep = roundHandler.seek(step);
+        stopEvents.clear();
+        return reachedStep;
+    }
+
+    /**
+     * Returns the trace of the last executed commands of the running game, from the oldest to the latest one.
+     *
+     * @return the trace or null if no trace is kept
+     */
+    public String displayStepTrace() {
+        StepTrace stepTrace = roundHandler.getStepTrace();
+        return stepTrace != null ? stepTrace.format(activeAis) : null;
+    }
+
     /**
      * Returns the display of the memory. If an index of a memory cell is provided, a range
      * display is returned. Otherwise, a memory display is returned.
@@ -240,15 +650,40 @@ public class CodeFight {
         }
     }
 
+    /**
+     * Returns the range display of the memory with the given number of memory cells.
+     *
+     * @param indexOfMemoryCell the index of the memory cell from which the range display starts
+     * @param lengthOfRangeDisplay the number of memory cells of the range display, positive
+     * @return the display of the memory
+     */
+    public String displayMemory(int indexOfMemoryCell, int lengthOfRangeDisplay) {
+        return memory.getRangeDisplay(activeAis, roundHandler.getNextAiIndex(), indexOfMemoryCell, lengthOfRangeDisplay);
+    }
+
+    /**
+     * Writes the symbols of the memory cells from the given offset on directly to the given channel.
+     *
+     * @param offset the index of the first memory cell, in the range of the memory
+     * @param length the maximum number of memory cells, positive
+     * @param isRunLengthEncoded whether the runs of equal symbols are written in the run-length encoded form
+     * @param channel the channel the symbols are written to
+     * @throws IOException if the channel cannot be written
+     */
+    public void dumpMemory(int offset, int length, boolean isRunLengthEncoded, WritableByteChannel channel)
+            throws IOException {
+        memory.dumpMemory(activeAis, roundHandler.getNextAiIndex(), offset, length, isRunLengthEncoded, channel);
+    }
+
     /**
      * Check for duplicate AI names in the list of AIs to be set as active and change the names to the
      * expected format if necessary.
      *
-     * @param aiNames the names of the AIs to check
+     * @param aiNames the names of the AIs to check, the names of duplicate AIs are changed in this array
      * @return the revised names of the AIs to be set as active. If an AI is instantiated multiple times
      *         the name of the respective AI is supplemented by a number (starting from 0).
      */
-    private String[] determineActiveAisNames(String[] aiNames) {
+    public static String[] determineActiveAisNames(String[] aiNames) {
         String[] correctedAiNames = new String[aiNames.length];
         for (int i = 0; i < aiNames.length; i++) {
             boolean duplicate = false;
@@ -271,10 +706,21 @@ public class CodeFight {
         return correctedAiNames;
     }
     /**
-     * Reset the important game components so that a new game can be started.
+     * Reset the important game components so that a new game can be started. The journal and the listener of the
+     * memory are detached, so the state of the round handler is not kept until the next game starts.
      */
     public void reset() {
+        if (roundHandler != null) {
+            roundHandler.stopRecording();
+            roundHandler = null;
+        }
+        memory.setMemoryJournal(null);
+        memory.setMemoryListener(null);
         activeAis.clear();
+        if (persistentArena != null) {
+            persistentArena.endGame();
+        }
+        memory.releaseStorage();
         phase = GamePhase.SETUP;
     }
 }
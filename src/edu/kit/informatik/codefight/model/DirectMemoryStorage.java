@@ -0,0 +1,27 @@
+package edu.kit.informatik.codefight.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class stores the memory cells off-heap in direct byte buffers, so the garbage collector never has to scan or
+ * move them. When the game ends, the storage is {@link #release() released} and drops its buffers, but there is no
+ * public way to free the memory of a direct buffer at once: it is freed by the cleaner of the buffer after the garbage
+ * collector found the buffer unreachable, which may be some time after the game ended. If the off-heap memory runs
+ * short before, allocating the buffers of the next game triggers a garbage collection that frees it.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class DirectMemoryStorage extends ByteBufferMemoryStorage {
+    /**
+     * Constructs a new direct memory storage and allocates the off-heap memory for all memory cells.
+     *
+     * @param size the number of memory cells
+     */
+    public DirectMemoryStorage(int size) {
+        super(size);
+        for (int i = 0; i < getNumberOfChunks(size); i++) {
+            setChunk(i, ByteBuffer.allocateDirect(getCellsInChunk(size, i) * BYTES_PER_CELL));
+        }
+    }
+}
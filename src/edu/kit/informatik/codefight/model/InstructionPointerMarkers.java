@@ -0,0 +1,113 @@
+package edu.kit.informatik.codefight.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents the positions of the instruction pointers of the active AIs in a memory display, which are
+ * marked with the symbols of the next AI command of the next AI and of the other AIs. It is built once per display,
+ * so the marker of a memory cell is found in constant time instead of going through the list of AIs for every
+ * memory cell. The positions of the other AIs are stored in a small open addressing hash table, so neither building
+ * nor querying the markers depends on the size of the memory.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+final class InstructionPointerMarkers {
+    private static final int NO_POSITION = -1;
+    private static final int MULTIPLIER_OF_HASH = 0x9E3779B9;
+    //the table is at most half full, so a probe ends at an empty slot soon
+    private static final int LOAD_FACTOR_INVERSE = 2;
+    private final int[] positions;
+    private final int indexOfNextAi;
+    private final int positionOfNextAi;
+    private final int[] positionsOfOtherAis;
+    private final int shiftOfHash;
+
+    /**
+     * Determines the positions of the instruction pointers of the given AIs.
+     *
+     * @param activeAis the list of active AIs
+     * @param indexOfNextAi the index of the next AI in the list of active AIs or -1 if no AI is alive
+     * @param size the size of the memory
+     */
+    InstructionPointerMarkers(List<ArtificialIntelligence> activeAis, int indexOfNextAi, int size) {
+        this.indexOfNextAi = indexOfNextAi;
+        this.positions = new int[activeAis.size()];
+        for (int i = 0; i < positions.length; i++) {
+            //no instruction pointer is shown if no AI is alive, the one of a stopped AI is negative and is not shown
+            positions[i] = indexOfNextAi != -1 ? activeAis.get(i).getInstructionPointer() % size : NO_POSITION;
+        }
+        this.positionOfNextAi = indexOfNextAi != -1 ? positions[indexOfNextAi] : NO_POSITION;
+        int capacity = Integer.highestOneBit(Math.max(1, positions.length) * LOAD_FACTOR_INVERSE) * LOAD_FACTOR_INVERSE;
+        this.shiftOfHash = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+        this.positionsOfOtherAis = new int[capacity];
+        Arrays.fill(positionsOfOtherAis, NO_POSITION);
+        for (int i = 0; i < positions.length; i++) {
+            if (i != indexOfNextAi && positions[i] >= 0) {
+                int slot = findSlot(positions[i]);
+                positionsOfOtherAis[slot] = positions[i];
+            }
+        }
+    }
+
+    /**
+     * Returns whether the memory cell at the given index is the next AI command of the next AI.
+     *
+     * @param index the index of the memory cell
+     * @return true if the instruction pointer of the next AI points to the memory cell, false otherwise
+     */
+    boolean isNextAiCommandOfNextAi(int index) {
+        return positionOfNextAi == index;
+    }
+
+    /**
+     * Returns whether the memory cell at the given index is the next AI command of an AI other than the next AI.
+     *
+     * @param index the index of the memory cell
+     * @return true if the instruction pointer of another AI points to the memory cell, false otherwise
+     */
+    boolean isNextAiCommandOfOtherAis(int index) {
+        return positionsOfOtherAis[findSlot(index)] == index;
+    }
+
+    /**
+     * Returns the number of active AIs.
+     *
+     * @return the number of active AIs
+     */
+    int getNumberOfAis() {
+        return positions.length;
+    }
+
+    /**
+     * Returns the position of the instruction pointer of the AI with the given index.
+     *
+     * @param aiIndex the index of the AI in the list of active AIs
+     * @return the normalised position or a negative value if the instruction pointer is not shown
+     */
+    int getPosition(int aiIndex) {
+        return positions[aiIndex];
+    }
+
+    /**
+     * Returns the index of the next AI.
+     *
+     * @return the index of the next AI in the list of active AIs or -1 if no AI is alive
+     */
+    int getIndexOfNextAi() {
+        return indexOfNextAi;
+    }
+
+    /**
+     * Returns the slot of the table that contains the given position or the empty slot it would be stored in.
+     */
+    private int findSlot(int position) {
+        int mask = positionsOfOtherAis.length - 1;
+        int slot = position * MULTIPLIER_OF_HASH >>> shiftOfHash;
+        while (positionsOfOtherAis[slot] != NO_POSITION && positionsOfOtherAis[slot] != position) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
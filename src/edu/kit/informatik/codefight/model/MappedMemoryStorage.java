@@ -0,0 +1,50 @@
+package edu.kit.informatik.codefight.model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * This class stores the memory cells in a file which is mapped into memory, so every write to a memory cell
+ * goes straight to the file and survives the end of the program.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class MappedMemoryStorage extends ByteBufferMemoryStorage {
+    /**
+     * Constructs a new mapped memory storage by mapping the region of the file that holds the memory cells.
+     *
+     * @param fileChannel the channel of the file
+     * @param position the position of the first memory cell in the file
+     * @param size the number of memory cells
+     * @throws IOException if the file cannot be mapped
+     */
+    public MappedMemoryStorage(FileChannel fileChannel, long position, int size) throws IOException {
+        super(size);
+        long positionOfChunk = position;
+        for (int i = 0; i < getNumberOfChunks(size); i++) {
+            long sizeOfChunk = (long) getCellsInChunk(size, i) * BYTES_PER_CELL;
+            setChunk(i, fileChannel.map(FileChannel.MapMode.READ_WRITE, positionOfChunk, sizeOfChunk));
+            positionOfChunk += sizeOfChunk;
+        }
+    }
+
+    /**
+     * Writes all changes of the memory cells to the storage device of the file.
+     */
+    public void force() {
+        for (int i = 0; i < getNumberOfChunks(getSize()); i++) {
+            ((MappedByteBuffer) getChunkAt(i)).force();
+        }
+    }
+
+    /**
+     * Writes all changes of the memory cells to the file. The mapping is kept as it belongs to the file
+     * and is used again by the next game.
+     */
+    @Override
+    public void release() {
+        force();
+    }
+}
@@ -1,18 +1,15 @@
 package edu.kit.informatik.codefight.model;
 
 
-import edu.kit.informatik.codefight.model.round.aicommands.AddCommand;
-import edu.kit.informatik.codefight.model.round.aicommands.AddRCommand;
-import edu.kit.informatik.codefight.model.round.aicommands.CmpCommand;
-import edu.kit.informatik.codefight.model.round.aicommands.JmpCommand;
-import edu.kit.informatik.codefight.model.round.aicommands.JmzCommand;
-import edu.kit.informatik.codefight.model.round.aicommands.MovICommand;
-import edu.kit.informatik.codefight.model.round.aicommands.MovRCommand;
-import edu.kit.informatik.codefight.model.round.aicommands.StopCommand;
-import edu.kit.informatik.codefight.model.round.aicommands.SwapCommand;
+import edu.kit.informatik.codefight.model.round.aicommands.Opcode;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.function.IntFunction;
 
 /**
  * This class represents the memory of the game.
@@ -22,28 +19,40 @@ import java.util.Random;
  */
 public class Memory {
     /**
-     * The names of the AI commands in the order needed for the random initialisation of the memory.
-     */
-    private static final String[] ORDERED_AI_COMMAND_NAMES = {StopCommand.COMMAND_NAME,
-                                                              MovRCommand.COMMAND_NAME,
-                                                              MovICommand.COMMAND_NAME,
-                                                              AddCommand.COMMAND_NAME,
-                                                              AddRCommand.COMMAND_NAME,
-                                                              JmpCommand.COMMAND_NAME,
-                                                              JmzCommand.COMMAND_NAME,
-                                                              CmpCommand.COMMAND_NAME,
-                                                              SwapCommand.COMMAND_NAME};
+     * The smallest seed of the random init mode.
+     */
+    public static final int MIN_SEED = -1337;
+    /**
+     * The largest seed of the random init mode.
+     */
+    public static final int MAX_SEED = 1337;
     private static final String[] INIT_MODES = {"INIT_MODE_RANDOM", "INIT_MODE_STOP"};
     private static final int LENGTH_OF_RANGE_DISPLAY = 10;
-    private static final String FORMAT_SPECIFIER_SYMBOL = "%";
-    private static final String FORMAT_SPECIFIER_TYPE_STRING = "s";
-    private static final String FORMAT_SPECIFIER_STRING = FORMAT_SPECIFIER_SYMBOL + FORMAT_SPECIFIER_TYPE_STRING + " ";
-    private static final String FORMAT_SPECIFIER_TYPE_DECIMAL = "d";
+    private static final String SYMBOL_SEPARATOR = " ";
     private static final String ARGUMENT_SEPARATOR = " | ";
     private static final String MEMORY_CELL_INDEX_SEPARATOR = ": ";
+    private static final short UNCHANGED_AI_COMMAND_ID = 0;
     private final int size;
-    private final MemoryCell[] memory;
-    private final String unchangedAiCommand;
+    //the opcode of a memory cell is the code of the Opcode of the AI command and the display symbol id
+    //is the index of the symbol in displaySymbols
+    //the storage only exists while a game is running and is created by the factory when the game starts
+    private final IntFunction<MemoryStorage> storageFactory;
+    private MemoryStorage storage;
+    //notified about every change of the content of a memory cell, null if no one needs to be notified
+    private MemoryListener memoryListener;
+    //records every memory cell before it is changed, null if the changes are not undone
+    private MemoryJournal memoryJournal;
+    //the fingerprint of the content of all memory cells, null if it is not maintained
+    private StateFingerprint fingerprint;
+    //the cached memory display, created when the memory is shown the first time
+    private MemoryDisplayCache displayCache;
+    //the buffer the range display is written into, which is reused by every range display
+    private final RangeDisplayFormatter rangeDisplayFormatter = new RangeDisplayFormatter();
+    //the writer of the memory dumps, created when the memory is dumped the first time
+    private MemoryDumpWriter dumpWriter;
+    //whether the storage outlives the game, so that the next game of this memory does not create a new one
+    private boolean isStorageKept;
+    private final String[] displaySymbols;
     private final String rangeLimitsOfRangeDisplay;
     private final String nextAiCommandOfNextAi;
     private final String nextAiCommandsOfOtherAis;
@@ -53,40 +62,166 @@ public class Memory {
      * Constructs a new Memory.
      *
      * @param size the size of the memory
+     * @param storageFactory the factory creating the storage of the memory cells for the given size
      * @param unchangedAiCommand the symbol for unchanged AI commands
      * @param rangeLimitsOfRangeDisplay the symbol for the range limits of the range display
      * @param nextAiCommandOfNextAi the symbol for the next AI command of the next AI
      * @param nextAiCommandsOfOtherAis the symbol for the next AI commands of the other AIs
+     * @param aiDependentSymbols the standard AI command symbol and the AI bomb symbol for each possible AI
      */
-    public Memory(int size, String unchangedAiCommand, String rangeLimitsOfRangeDisplay, String nextAiCommandOfNextAi,
-                  String nextAiCommandsOfOtherAis) {
+    public Memory(int size, IntFunction<MemoryStorage> storageFactory, String unchangedAiCommand,
+                  String rangeLimitsOfRangeDisplay, String nextAiCommandOfNextAi, String nextAiCommandsOfOtherAis,
+                  String[][] aiDependentSymbols) {
         this.size = size;
-        this.unchangedAiCommand = unchangedAiCommand;
         this.rangeLimitsOfRangeDisplay = rangeLimitsOfRangeDisplay;
         this.nextAiCommandOfNextAi = nextAiCommandOfNextAi;
         this.nextAiCommandsOfOtherAis = nextAiCommandsOfOtherAis;
         initMode = INIT_MODES[1];
         seed = 0;
-        memory = new MemoryCell[size];
+        this.storageFactory = storageFactory;
+        //the unchanged AI command symbol is followed by the standard AI command and the AI bomb symbol of each AI
+        displaySymbols = new String[1 + 2 * aiDependentSymbols.length];
+        displaySymbols[UNCHANGED_AI_COMMAND_ID] = unchangedAiCommand;
+        for (int i = 0; i < aiDependentSymbols.length; i++) {
+            displaySymbols[getStandardAiCommandId(i)] = aiDependentSymbols[i][0];
+            displaySymbols[getAiBombId(i)] = aiDependentSymbols[i][1];
+        }
+    }
+
+    private Memory(Memory memory, IntFunction<MemoryStorage> storageFactory) {
+        this.size = memory.size;
+        this.rangeLimitsOfRangeDisplay = memory.rangeLimitsOfRangeDisplay;
+        this.nextAiCommandOfNextAi = memory.nextAiCommandOfNextAi;
+        this.nextAiCommandsOfOtherAis = memory.nextAiCommandsOfOtherAis;
+        this.displaySymbols = memory.displaySymbols;
+        this.initMode = memory.initMode;
+        this.seed = memory.seed;
+        this.storageFactory = storageFactory;
+        this.storage = memory.storage != null ? memory.storage.fork() : null;
+        if (memory.fingerprint != null) {
+            this.fingerprint = new StateFingerprint();
+            fingerprint.set(memory.fingerprint);
+        }
     }
 
     /**
-     * Initialises the memory depending on the chosen init mode.
+     * Creates a fork of the memory with the same content. The storage of the fork is a
+     * {@link MemoryStorage#fork() fork} of the storage of this memory, so the memory cells are only copied when either
+     * memory writes them. The fingerprint is kept, the listener is not.
+     *
+     * @param storageFactory the factory creating the storage of the fork when its storage was released
+     * @return the fork of the memory
+     */
+    public Memory fork(IntFunction<MemoryStorage> storageFactory) {
+        return new Memory(this, storageFactory);
+    }
+
+    /**
+     * Initialises the memory depending on the chosen init mode. The storage of the memory cells is created if
+     * it does not exist yet.
      */
     public void initialiseMemory() {
-        if (initMode.equals(INIT_MODES[1])) {
-            for (int i = 0; i < size; i++) {
-                memory[i] = new MemoryCell(ORDERED_AI_COMMAND_NAMES[0], 0, 0, unchangedAiCommand);
-            }
-        } else {
+        openStorage();
+        storage.fill(Opcode.STOP.getCode(), 0, 0, UNCHANGED_AI_COMMAND_ID);
+        if (initMode.equals(INIT_MODES[0])) {
             Random random = new Random(seed);
             for (int i = 0; i < size; i++) {
-                memory[i] = new MemoryCell(ORDERED_AI_COMMAND_NAMES[random.nextInt(ORDERED_AI_COMMAND_NAMES.length)], random.nextInt(),
-                        random.nextInt(), unchangedAiCommand);
+                byte opcode = (byte) random.nextInt(Opcode.getNumberOfOpcodes());
+                int firstArgument = random.nextInt();
+                storage.setMemoryCell(i, opcode, firstArgument, random.nextInt(), UNCHANGED_AI_COMMAND_ID);
             }
+        }
+        invalidateDisplayCache();
+    }
 
+    /**
+     * Creates the storage of the memory cells if it does not exist yet without changing its content.
+     * This is used directly if the memory cells of a persisted game are resumed.
+     */
+    public void openStorage() {
+        if (storage == null) {
+            storage = storageFactory.apply(size);
+            invalidateDisplayCache();
+        }
+    }
 
+    /**
+     * Releases the storage of the memory cells, so its memory is freed when the game ends. The storage is created again
+     * when the memory is initialised the next time. A {@link #setStorageKept(boolean) kept} storage is not released.
+     */
+    public void releaseStorage() {
+        if (storage != null && !isStorageKept) {
+            storage.release();
+            storage = null;
+            invalidateDisplayCache();
         }
+        fingerprint = null;
+    }
+
+    /**
+     * Sets whether the storage of the memory cells is kept when it is released at the end of a game. A kept storage is
+     * reused by the next game, which is worth it if many games are played one after another with the same memory.
+     * If the storage is not kept anymore, it is still kept until it is released the next time.
+     *
+     * @param isStorageKept true if the storage is kept, false otherwise
+     */
+    public void setStorageKept(boolean isStorageKept) {
+        this.isStorageKept = isStorageKept;
+    }
+
+    /**
+     * Starts to maintain the fingerprint of the content of all memory cells. The fingerprint is calculated from all
+     * memory cells once and then updated whenever a memory cell is changed until the storage is released.
+     * A fingerprint that is maintained already, for example by the fork of a memory, is kept.
+     */
+    public void enableFingerprint() {
+        if (fingerprint != null) {
+            return;
+        }
+        fingerprint = new StateFingerprint();
+        for (int i = 0; i < size; i++) {
+            toggleFingerprint(i);
+        }
+    }
+
+    /**
+     * Returns the fingerprint of the content of all memory cells, including their display symbols.
+     *
+     * @return the fingerprint or null if it is not maintained
+     */
+    public StateFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    //removes the memory cell from the fingerprint before it is changed and adds it again afterwards
+    private void toggleFingerprint(int index) {
+        if (fingerprint != null) {
+            long opcodeAndDisplaySymbol = (storage.getOpcode(index) & 0xFFL) << Short.SIZE
+                    | storage.getDisplaySymbolId(index) & 0xFFFFL;
+            long arguments = (long) storage.getFirstArgument(index) << Integer.SIZE
+                    | storage.getSecondArgument(index) & 0xFFFFFFFFL;
+            fingerprint.toggle((long) index << Integer.SIZE | opcodeAndDisplaySymbol, arguments);
+        }
+    }
+
+    /**
+     * Returns the display symbol id of the standard AI command symbol of the AI with the given index.
+     *
+     * @param indexOfAi the index of the AI in the list of active AIs
+     * @return the display symbol id of the standard AI command symbol
+     */
+    public static short getStandardAiCommandId(int indexOfAi) {
+        return (short) (1 + 2 * indexOfAi);
+    }
+
+    /**
+     * Returns the display symbol id of the AI bomb symbol of the AI with the given index.
+     *
+     * @param indexOfAi the index of the AI in the list of active AIs
+     * @return the display symbol id of the AI bomb symbol
+     */
+    public static short getAiBombId(int indexOfAi) {
+        return (short) (2 + 2 * indexOfAi);
     }
     /**
      * Returns all the AI command names in the order needed for the random initialisation of the memory.
@@ -94,7 +229,11 @@ public class Memory {
      * @return all the AI command names in the order needed for the random initialisation of the memory
      */
     public static String[] getOrderedAiCommandNames() {
-        return ORDERED_AI_COMMAND_NAMES.clone();
+        String[] orderedAiCommandNames = new String[Opcode.getNumberOfOpcodes()];
+        for (Opcode opcode : Opcode.values()) {
+            orderedAiCommandNames[opcode.getCode()] = opcode.getCommandName();
+        }
+        return orderedAiCommandNames;
     }
     /**
      * Returns the size of the memory.
@@ -151,36 +290,258 @@ public class Memory {
     }
 
     /**
-     * Returns a copy of the memory cell at the given index. If the index exceeds the size of the memory,
+     * Returns the index of the memory cell in the memory for the given index. If the index exceeds the size of the memory,
      * it starts again from the beginning as the memory is circular. This is done by using the modulo operator.
      *
      * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
+     * @return the index of the memory cell in the range of [0, size)
+     */
+    public int normaliseIndex(long index) {
+        if (index >= 0 && index < size) { //most indices are already in the range, so the division is skipped
+            return (int) index;
+        }
+        return (int) Math.floorMod(index, (long) size);
+    }
+
+    /**
+     * Sets the listener that is notified whenever the content of a memory cell is changed.
+     *
+     * @param memoryListener the listener or null if no one needs to be notified
+     */
+    public void setMemoryListener(MemoryListener memoryListener) {
+        this.memoryListener = memoryListener;
+    }
+
+    private void notifyMemoryListener(int index) {
+        if (memoryListener != null) {
+            memoryListener.memoryCellChanged(index);
+        }
+    }
+
+    private void markDisplaySymbol(int index) {
+        if (displayCache != null) {
+            displayCache.markMemoryCell(index);
+        }
+    }
+
+    private void invalidateDisplayCache() {
+        if (displayCache != null) {
+            displayCache.invalidate();
+        }
+    }
+
+    /**
+     * Returns a copy of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
      * @return memory cell at the given index
      */
     public MemoryCell getMemoryCell(long index) {
-        if (index < 0) {
-            return memory[(int) (size - (Math.abs(index) % size))].copy();
-        } else {
-            return memory[(int) (index % size)].copy();
+        int normalisedIndex = normaliseIndex(index);
+        return new MemoryCell(getCommandName(storage.getOpcode(normalisedIndex)), storage.getFirstArgument(normalisedIndex),
+                storage.getSecondArgument(normalisedIndex));
+    }
+
+    /**
+     * Sets the journal that records every memory cell before it is changed.
+     *
+     * @param memoryJournal the journal or null if the changes are not undone
+     */
+    public void setMemoryJournal(MemoryJournal memoryJournal) {
+        this.memoryJournal = memoryJournal;
+    }
+
+    private void recordMemoryCell(int index) {
+        if (memoryJournal != null) {
+            memoryJournal.recordMemoryCell(index, storage.getOpcode(index), storage.getFirstArgument(index),
+                    storage.getSecondArgument(index), storage.getDisplaySymbolId(index));
         }
     }
 
     /**
-     * Sets the memory cell at the given index. If the index exceeds the size of the memory,
-     * it starts again from the beginning as the memory is circular. This is done by using the modulo operator.
+     * Sets the memory cell at the given index.
      *
      * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
      * @param memoryCell the memory cell to set
+     * @param displaySymbolId the id of the display symbol of the memory cell
      */
-    public void setMemoryCell(long index, MemoryCell memoryCell) {
-        if (index < 0) {
-            memory[(int) (size - (Math.abs(index) % size))] = memoryCell.copy();
+    public void setMemoryCell(long index, MemoryCell memoryCell, short displaySymbolId) {
+        int normalisedIndex = normaliseIndex(index);
+        recordMemoryCell(normalisedIndex);
+        toggleFingerprint(normalisedIndex);
+        storage.setMemoryCell(normalisedIndex, memoryCell.getOpcode().getCode(), memoryCell.getFirstArgument(),
+                memoryCell.getSecondArgument(), displaySymbolId);
+        toggleFingerprint(normalisedIndex);
+        notifyMemoryListener(normalisedIndex);
+        markDisplaySymbol(normalisedIndex);
+    }
+
+    /**
+     * Returns the code of the opcode of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
+     * @return the code of the opcode of the memory cell
+     */
+    public byte getOpcode(long index) {
+        return storage.getOpcode(normaliseIndex(index));
+    }
+
+    /**
+     * Returns the command name of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
+     * @return the command name of the memory cell
+     */
+    public String getCommandName(long index) {
+        return getCommandName(storage.getOpcode(normaliseIndex(index)));
+    }
+
+    private static String getCommandName(byte code) {
+        Opcode opcode = Opcode.fromCode(code);
+        //a memory cell that was not written by this game may contain a code without an AI command
+        return opcode != null ? opcode.getCommandName() : String.valueOf(code);
+    }
+
+    /**
+     * Returns the first argument of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
+     * @return the first argument of the memory cell
+     */
+    public int getFirstArgument(long index) {
+        return storage.getFirstArgument(normaliseIndex(index));
+    }
+
+    /**
+     * Returns the second argument of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
+     * @return the second argument of the memory cell
+     */
+    public int getSecondArgument(long index) {
+        return storage.getSecondArgument(normaliseIndex(index));
+    }
+
+    /**
+     * Returns the id of the display symbol of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
+     * @return the id of the display symbol of the memory cell
+     */
+    public short getDisplaySymbolId(long index) {
+        return storage.getDisplaySymbolId(normaliseIndex(index));
+    }
+
+    /**
+     * Sets the first argument of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
+     * @param firstArgument the new first argument of the memory cell
+     */
+    public void setFirstArgument(long index, int firstArgument) {
+        int normalisedIndex = normaliseIndex(index);
+        recordMemoryCell(normalisedIndex);
+        toggleFingerprint(normalisedIndex);
+        storage.setFirstArgument(normalisedIndex, firstArgument);
+        toggleFingerprint(normalisedIndex);
+        notifyMemoryListener(normalisedIndex);
+    }
+
+    /**
+     * Sets the second argument of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
+     * @param secondArgument the new second argument of the memory cell
+     */
+    public void setSecondArgument(long index, int secondArgument) {
+        int normalisedIndex = normaliseIndex(index);
+        recordMemoryCell(normalisedIndex);
+        toggleFingerprint(normalisedIndex);
+        storage.setSecondArgument(normalisedIndex, secondArgument);
+        toggleFingerprint(normalisedIndex);
+        notifyMemoryListener(normalisedIndex);
+    }
+
+    /**
+     * Copies the content of the memory cell at the source index to the memory cell at the target index.
+     *
+     * @param sourceIndex the index of the source memory cell, long accepted to prevent unintended integer overflow
+     * @param targetIndex the index of the target memory cell, long accepted to prevent unintended integer overflow
+     */
+    public void copyMemoryCell(long sourceIndex, long targetIndex) {
+        int normalisedTargetIndex = normaliseIndex(targetIndex);
+        recordMemoryCell(normalisedTargetIndex);
+        toggleFingerprint(normalisedTargetIndex);
+        storage.copyMemoryCell(normaliseIndex(sourceIndex), normalisedTargetIndex);
+        toggleFingerprint(normalisedTargetIndex);
+        notifyMemoryListener(normalisedTargetIndex);
+        markDisplaySymbol(normalisedTargetIndex);
+    }
+
+    /**
+     * Sets the whole content of the memory cell at the given index to an earlier content. The change is not recorded
+     * by the journal, as it undoes recorded changes.
+     *
+     * @param index the normalised index of the memory cell
+     * @param opcode the code of the opcode
+     * @param firstArgument the first argument
+     * @param secondArgument the second argument
+     * @param displaySymbolId the id of the display symbol
+     */
+    public void restoreMemoryCell(int index, byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        toggleFingerprint(index);
+        storage.setMemoryCell(index, opcode, firstArgument, secondArgument, displaySymbolId);
+        toggleFingerprint(index);
+        notifyMemoryListener(index);
+        markDisplaySymbol(index);
+    }
+
+    /**
+     * Sets the content of all memory cells to the content of the given memory, which has the same size. Only the
+     * memory cells that differ are changed, so the listener is only notified about them.
+     *
+     * @param memory the memory whose content is restored, for example a {@link #fork(IntFunction) fork}
+     */
+    public void restore(Memory memory) {
+        MemoryStorage source = memory.storage;
+        for (int i = 0; i < size; i++) {
+            byte opcode = source.getOpcode(i);
+            int firstArgument = source.getFirstArgument(i);
+            int secondArgument = source.getSecondArgument(i);
+            short displaySymbolId = source.getDisplaySymbolId(i);
+            if (storage.getOpcode(i) != opcode || storage.getFirstArgument(i) != firstArgument
+                    || storage.getSecondArgument(i) != secondArgument || storage.getDisplaySymbolId(i) != displaySymbolId) {
+                restoreMemoryCell(i, opcode, firstArgument, secondArgument, displaySymbolId);
+            }
+        }
+    }
+
+    /**
+     * Sets the display symbol of the memory cell at the given index depending on its current content.
+     * If the memory cell contains an AI bomb, the AI bomb symbol of the AI is used, otherwise the
+     * standard AI command symbol of the AI.
+     *
+     * @param index the index of the memory cell, long accepted to prevent unintended integer overflow
+     * @param lastAiToChange the last AI to change this memory cell
+     */
+    public void updateDisplaySymbol(long index, ArtificialIntelligence lastAiToChange) {
+        int normalisedIndex = normaliseIndex(index);
+        recordMemoryCell(normalisedIndex);
+        toggleFingerprint(normalisedIndex);
+        Opcode opcode = Opcode.fromCode(storage.getOpcode(normalisedIndex));
+        if (opcode != null && opcode.isAiBomb(storage.getFirstArgument(normalisedIndex),
+                storage.getSecondArgument(normalisedIndex))) {
+            storage.setDisplaySymbolId(normalisedIndex, lastAiToChange.getAiBombId());
         } else {
-            memory[(int) (index % size)] = memoryCell.copy();
+            storage.setDisplaySymbolId(normalisedIndex, lastAiToChange.getStandardAiCommandId());
         }
+        toggleFingerprint(normalisedIndex);
+        markDisplaySymbol(normalisedIndex);
     }
+
     /**
-     * Returns the memory display for the current state of the game.
+     * Returns the memory display for the current state of the game. Without a range display, only the memory cells
+     * whose symbols changed since the memory was shown the last time are rendered again.
      *
      * @param activeAis the list of active AIs with their symbols
      * @param indexOfNextAi the index of the next AI in the list of active AIs
@@ -189,66 +550,109 @@ public class Memory {
      * @return the memory display for the current state of the game
      */
     public String getMemoryDisplay(List<ArtificialIntelligence> activeAis, int indexOfNextAi, Integer indexOfMemoryCell) {
-        StringBuilder memoryDisplay = new StringBuilder();
+        InstructionPointerMarkers markers = new InstructionPointerMarkers(activeAis, indexOfNextAi, size);
+        if (indexOfMemoryCell == null) {
+            if (displayCache == null) {
+                displayCache = new MemoryDisplayCache(this, size);
+            }
+            return displayCache.getDisplay(markers);
+        }
+        rangeDisplayFormatter.clear();
+        appendMemoryDisplayWithRangeLimits(markers, indexOfMemoryCell, LENGTH_OF_RANGE_DISPLAY);
+        return rangeDisplayFormatter.toString();
+    }
+
+    private void appendMemoryDisplayWithRangeLimits(InstructionPointerMarkers markers, int indexOfMemoryCell,
+                                                    int lengthOfRangeDisplay) {
         for (int i = 0; i < size; i++) {
-            if (indexOfMemoryCell != null && LENGTH_OF_RANGE_DISPLAY > size //if the range display is greater than the size of the memory
+            if (lengthOfRangeDisplay > size //if the range display is greater than the size of the memory
                     && limitsNeedToBeInserted(indexOfMemoryCell, i, size)) {
-                memoryDisplay.append(rangeLimitsOfRangeDisplay);
+                rangeDisplayFormatter.append(rangeLimitsOfRangeDisplay);
                 if (indexOfMemoryCell != 0) {
                     //if the range display starts at a memory cell other than the first one, the
                     //range limit symbols are directly after each other
-                    memoryDisplay.append(rangeLimitsOfRangeDisplay);
+                    rangeDisplayFormatter.append(rangeLimitsOfRangeDisplay);
                 }
-            } else if (indexOfMemoryCell != null && LENGTH_OF_RANGE_DISPLAY <= size
-                    && limitsNeedToBeInserted(indexOfMemoryCell, i, LENGTH_OF_RANGE_DISPLAY)) {
-                memoryDisplay.append(rangeLimitsOfRangeDisplay);
+            } else if (lengthOfRangeDisplay <= size
+                    && limitsNeedToBeInserted(indexOfMemoryCell, i, lengthOfRangeDisplay)) {
+                rangeDisplayFormatter.append(rangeLimitsOfRangeDisplay);
             }
-            generateSymbolsForMemoryCells(activeAis, indexOfNextAi, i, memoryDisplay);
+            rangeDisplayFormatter.append(getSymbolOfMemoryCell(i, markers));
         }
         //if the range display is greater than the size of the memory and the range display starts at the first memory cell
         //there needs to be a range limit at the end of the memory display
-        if (indexOfMemoryCell != null && LENGTH_OF_RANGE_DISPLAY > size && indexOfMemoryCell == 0) {
-            memoryDisplay.append(rangeLimitsOfRangeDisplay);
+        if (lengthOfRangeDisplay > size && indexOfMemoryCell == 0) {
+            rangeDisplayFormatter.append(rangeLimitsOfRangeDisplay);
         }
-        return memoryDisplay.toString();
     }
 
-    private void generateSymbolsForMemoryCells(List<ArtificialIntelligence> activeAis, int indexOfNextAi,
-                                               int indexInMemory, StringBuilder memoryDisplay) {
-        //check for the memory cell in the correct order of priority which symbol to append
-        if (isNextAiCommandOfNextAi(indexInMemory, activeAis, indexOfNextAi)) {
-            memoryDisplay.append(nextAiCommandOfNextAi);
-        } else if (isNextAiCommandOfOtherAis(indexInMemory, activeAis, indexOfNextAi)) {
-            memoryDisplay.append(nextAiCommandsOfOtherAis);
-        } else {
-            if (memory[indexInMemory].getCurrentDisplaySymbol() != null) {
-                memoryDisplay.append(memory[indexInMemory].getCurrentDisplaySymbol());
-            } else {
-                memoryDisplay.append(unchangedAiCommand);
-            }
+    /**
+     * Returns the symbol of the memory cell at the given index in the memory display.
+     *
+     * @param index the index of the memory cell
+     * @param markers the markers of the instruction pointers of the active AIs
+     * @return the symbol
+     */
+    String getSymbolOfMemoryCell(int index, InstructionPointerMarkers markers) {
+        //check for the memory cell in the correct order of priority which symbol to return
+        if (markers.isNextAiCommandOfNextAi(index)) {
+            return nextAiCommandOfNextAi;
+        } else if (markers.isNextAiCommandOfOtherAis(index)) {
+            return nextAiCommandsOfOtherAis;
         }
+        return displaySymbols[storage.getDisplaySymbolId(index)];
     }
 
-    private boolean limitsNeedToBeInserted(Integer indexOfMemoryCell, int index, int sizeOfRangeDisplay) {
-        return index == indexOfMemoryCell % this.size || index == (indexOfMemoryCell + sizeOfRangeDisplay) % this.size;
+    /**
+     * Returns the id of the symbol of the memory cell at the given index in the memory display. The ids of the display
+     * symbols are followed by the ids of the symbols of the next AI command of the next AI and of the other AIs.
+     *
+     * @param index the index of the memory cell
+     * @param markers the markers of the instruction pointers of the active AIs
+     * @return the id of the symbol
+     */
+    int getSymbolIdOfMemoryCell(int index, InstructionPointerMarkers markers) {
+        if (markers.isNextAiCommandOfNextAi(index)) {
+            return displaySymbols.length;
+        } else if (markers.isNextAiCommandOfOtherAis(index)) {
+            return displaySymbols.length + 1;
+        }
+        return storage.getDisplaySymbolId(index);
     }
 
-    private boolean isNextAiCommandOfNextAi(int index, List<ArtificialIntelligence> activeAis, int indexOfNextAi) {
-        return indexOfNextAi != -1 && activeAis.get(indexOfNextAi).getInstructionPointer() % size == index;
-    }
-    private boolean isNextAiCommandOfOtherAis(int index, List<ArtificialIntelligence> activeAis, int indexOfNextAi) {
-        if (indexOfNextAi == -1) {
-            return false;
-        }
-        for (ArtificialIntelligence currentAi : activeAis) {
-            if (activeAis.indexOf(currentAi) != indexOfNextAi && currentAi.getInstructionPointer() % size == index) {
-                return true;
-            }
+    /**
+     * Writes the symbols of the given memory cells as shown in the memory display directly to the given channel,
+     * followed by a line separator. The symbols are written in chunks of a fixed size, so no string of the display is
+     * created. In the run-length encoded form, every run of equal symbols is written as its length and the symbol.
+     *
+     * @param activeAis the list of active AIs with their symbols
+     * @param indexOfNextAi the index of the next AI in the list of active AIs
+     * @param offset the index of the first memory cell, in the range of the memory
+     * @param length the maximum number of memory cells, positive; the dump ends at the last memory cell
+     * @param isRunLengthEncoded whether the runs of equal symbols are written in the run-length encoded form
+     * @param channel the channel the symbols are written to
+     * @throws IOException if the channel cannot be written
+     */
+    public void dumpMemory(List<ArtificialIntelligence> activeAis, int indexOfNextAi, int offset, int length,
+                           boolean isRunLengthEncoded, WritableByteChannel channel) throws IOException {
+        if (dumpWriter == null) {
+            String[] symbols = Arrays.copyOf(displaySymbols, displaySymbols.length + 2);
+            symbols[displaySymbols.length] = nextAiCommandOfNextAi;
+            symbols[displaySymbols.length + 1] = nextAiCommandsOfOtherAis;
+            dumpWriter = new MemoryDumpWriter(this, symbols, Charset.defaultCharset());
         }
-        return false;
+        InstructionPointerMarkers markers = new InstructionPointerMarkers(activeAis, indexOfNextAi, size);
+        int end = (int) Math.min(size, (long) offset + length);
+        dumpWriter.write(markers, offset, end, isRunLengthEncoded, channel);
+    }
+
+    private boolean limitsNeedToBeInserted(int indexOfMemoryCell, int index, int sizeOfRangeDisplay) {
+        return index == normaliseIndex(indexOfMemoryCell)
+                || index == normaliseIndex((long) indexOfMemoryCell + sizeOfRangeDisplay);
     }
+
     /**
-     * Returns the range display for the current state of the game.
+     * Returns the range display of the default length for the current state of the game.
      *
      * @param activeAis the list of active AIs with their symbols
      * @param indexOfCurrentAi the index of the next AI in the list of active AIs
@@ -256,86 +660,71 @@ public class Memory {
      * @return the range display for the current state of the game
      */
     public String getRangeDisplay(List<ArtificialIntelligence> activeAis, int indexOfCurrentAi, int indexOfMemoryCell) {
-        StringBuilder rangeDisplay = new StringBuilder();
-        rangeDisplay.append(getMemoryDisplay(activeAis, indexOfCurrentAi, indexOfMemoryCell));
-        rangeDisplay.append(System.lineSeparator());
-        //get the format string for one memory cell by using the maximum length of the entries
-        int maxMemoryCellIndexLength = calculateMaxMemoryIndexLength(indexOfMemoryCell);
-        int maxCommandNameLength = calculateMaxCommandNameLength(indexOfMemoryCell);
-        int maxFirstArgumentLength = calculateMaxFirstArgumentLength(indexOfMemoryCell);
-        int maxSecondArgumentLength = calculateMaxSecondArgumentLength(indexOfMemoryCell);
-        //get the right format string for the range display according to the maximum lengths
-        String formatString = getFormatString(maxMemoryCellIndexLength, maxCommandNameLength, maxFirstArgumentLength,
-                maxSecondArgumentLength);
-        for (int i = indexOfMemoryCell;
-             i < Math.min(indexOfMemoryCell + size, indexOfMemoryCell + LENGTH_OF_RANGE_DISPLAY); //if the range is greater than
-             //the size of the memory, the range display should be stopped after showing every memory cell once
-             i++) {
-            if (i != indexOfMemoryCell) {
-                rangeDisplay.append(System.lineSeparator());
-            }
-            if (isNextAiCommandOfNextAi(i % size, activeAis, indexOfCurrentAi)) { //if the current command is the next AI command
-                rangeDisplay.append(formatString.formatted(nextAiCommandOfNextAi, i % size, memory[i % size].getCommandName(),
-                        memory[i % size].getFirstArgument(), memory[i % size].getSecondArgument()));
-            } else if (isNextAiCommandOfOtherAis(i % size, activeAis, indexOfCurrentAi)) {
-                //if the current command is the next AI command of another AI
-                rangeDisplay.append(formatString.formatted(nextAiCommandsOfOtherAis, i % size, memory[i % size].getCommandName(),
-                        memory[i % size].getFirstArgument(), memory[i % size].getSecondArgument()));
-            } else { //if the current command is no next AI command
-                rangeDisplay.append(formatString.formatted(memory[i % size].getCurrentDisplaySymbol(),
-                        i % size, memory[i % size].getCommandName(), memory[i % size].getFirstArgument(),
-                        memory[i % size].getSecondArgument()));
-            }
-        }
-        return rangeDisplay.toString();
-    }
-
-    private static String getFormatString(int maxMemoryCellIndexLength, int maxCommandNameLength, int maxFirstArgumentLength,
-                                          int maxSecondArgumentLength) {
-        return FORMAT_SPECIFIER_STRING
-                + FORMAT_SPECIFIER_SYMBOL
-                + maxMemoryCellIndexLength
-                + FORMAT_SPECIFIER_TYPE_DECIMAL
-                + MEMORY_CELL_INDEX_SEPARATOR
-                + FORMAT_SPECIFIER_SYMBOL
-                + maxCommandNameLength
-                + FORMAT_SPECIFIER_TYPE_STRING
-                + ARGUMENT_SEPARATOR
-                + FORMAT_SPECIFIER_SYMBOL
-                + maxFirstArgumentLength
-                + FORMAT_SPECIFIER_TYPE_DECIMAL
-                + ARGUMENT_SEPARATOR
-                + FORMAT_SPECIFIER_SYMBOL
-                + maxSecondArgumentLength
-                + FORMAT_SPECIFIER_TYPE_DECIMAL;
-    }
-
-    private int calculateMaxMemoryIndexLength(int indexOfMemoryCell) {
-        int maxMemoryCellIndexLength = 0;
-        for (int i = indexOfMemoryCell; i < indexOfMemoryCell + LENGTH_OF_RANGE_DISPLAY; i++) {
-            maxMemoryCellIndexLength = Math.max(maxMemoryCellIndexLength, String.valueOf(i % size).length());
-        }
-        return maxMemoryCellIndexLength;
+        return getRangeDisplay(activeAis, indexOfCurrentAi, indexOfMemoryCell, LENGTH_OF_RANGE_DISPLAY);
     }
-    private int calculateMaxCommandNameLength(int indexOfMemoryCell) {
+
+    /**
+     * Returns the range display of the given length for the current state of the game. The range display shows every
+     * memory cell at most once, so it has at most as many lines as the memory has memory cells. The widths of the
+     * columns are measured in a single pass over the range before the lines are written into a reusable buffer.
+     *
+     * @param activeAis the list of active AIs with their symbols
+     * @param indexOfCurrentAi the index of the next AI in the list of active AIs
+     * @param indexOfMemoryCell the index of the memory cell from which the range display starts
+     * @param lengthOfRangeDisplay the number of memory cells of the range display, positive
+     * @return the range display for the current state of the game
+     */
+    public String getRangeDisplay(List<ArtificialIntelligence> activeAis, int indexOfCurrentAi, int indexOfMemoryCell,
+                                  int lengthOfRangeDisplay) {
+        InstructionPointerMarkers markers = new InstructionPointerMarkers(activeAis, indexOfCurrentAi, size);
+        //if the range is greater than the size of the memory, the range display should be stopped after showing
+        //every memory cell once
+        long endOfRange = (long) indexOfMemoryCell + Math.min(size, lengthOfRangeDisplay);
+        //get the maximum length of the entries of each column
+        int maxMemoryCellIndexLength = 0;
         int maxCommandNameLength = 0;
-        for (int i = indexOfMemoryCell; i < indexOfMemoryCell + LENGTH_OF_RANGE_DISPLAY; i++) {
-            maxCommandNameLength = Math.max(maxCommandNameLength, memory[i % size].getCommandName().length());
-        }
-        return maxCommandNameLength;
-    }
-    private int calculateMaxFirstArgumentLength(int indexOfMemoryCell) {
         int maxFirstArgumentLength = 0;
-        for (int i = indexOfMemoryCell; i < indexOfMemoryCell + LENGTH_OF_RANGE_DISPLAY; i++) {
-            maxFirstArgumentLength = Math.max(maxFirstArgumentLength, String.valueOf(memory[i % size].getFirstArgument()).length());
+        int maxSecondArgumentLength = 0;
+        for (long i = indexOfMemoryCell; i < endOfRange; i++) {
+            int index = normaliseIndex(i);
+            maxMemoryCellIndexLength = Math.max(maxMemoryCellIndexLength, RangeDisplayFormatter.getNumberOfCharacters(index));
+            maxCommandNameLength = Math.max(maxCommandNameLength, getCommandNameLength(storage.getOpcode(index)));
+            maxFirstArgumentLength = Math.max(maxFirstArgumentLength,
+                    RangeDisplayFormatter.getNumberOfCharacters(storage.getFirstArgument(index)));
+            maxSecondArgumentLength = Math.max(maxSecondArgumentLength,
+                    RangeDisplayFormatter.getNumberOfCharacters(storage.getSecondArgument(index)));
         }
-        return maxFirstArgumentLength;
+        rangeDisplayFormatter.clear();
+        appendMemoryDisplayWithRangeLimits(markers, indexOfMemoryCell, lengthOfRangeDisplay);
+        for (long i = indexOfMemoryCell; i < endOfRange; i++) {
+            int index = normaliseIndex(i);
+            rangeDisplayFormatter.append(System.lineSeparator());
+            //the symbol of the next AI command of the next AI or another AI or the display symbol of the memory cell
+            rangeDisplayFormatter.append(getSymbolOfMemoryCell(index, markers));
+            rangeDisplayFormatter.append(SYMBOL_SEPARATOR);
+            rangeDisplayFormatter.appendPadded(index, maxMemoryCellIndexLength);
+            rangeDisplayFormatter.append(MEMORY_CELL_INDEX_SEPARATOR);
+            appendCommandName(storage.getOpcode(index), maxCommandNameLength);
+            rangeDisplayFormatter.append(ARGUMENT_SEPARATOR);
+            rangeDisplayFormatter.appendPadded(storage.getFirstArgument(index), maxFirstArgumentLength);
+            rangeDisplayFormatter.append(ARGUMENT_SEPARATOR);
+            rangeDisplayFormatter.appendPadded(storage.getSecondArgument(index), maxSecondArgumentLength);
+        }
+        return rangeDisplayFormatter.toString();
     }
-    private int calculateMaxSecondArgumentLength(int indexOfMemoryCell) {
-        int maxSecondArgumentLength = 0;
-        for (int i = indexOfMemoryCell; i < indexOfMemoryCell + LENGTH_OF_RANGE_DISPLAY; i++) {
-            maxSecondArgumentLength = Math.max(maxSecondArgumentLength, String.valueOf(memory[i % size].getSecondArgument()).length());
+
+    private static int getCommandNameLength(byte code) {
+        Opcode opcode = Opcode.fromCode(code);
+        return opcode != null ? opcode.getCommandName().length() : RangeDisplayFormatter.getNumberOfCharacters(code);
+    }
+
+    private void appendCommandName(byte code, int width) {
+        //the name of an invalid opcode is its code, which is written without creating a string
+        Opcode opcode = Opcode.fromCode(code);
+        if (opcode != null) {
+            rangeDisplayFormatter.appendPadded(opcode.getCommandName(), width);
+        } else {
+            rangeDisplayFormatter.appendPadded(code, width);
         }
-        return maxSecondArgumentLength;
     }
 }
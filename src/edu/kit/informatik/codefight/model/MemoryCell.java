@@ -1,11 +1,10 @@
 package edu.kit.informatik.codefight.model;
 
-import edu.kit.informatik.codefight.model.round.aicommands.JmpCommand;
-import edu.kit.informatik.codefight.model.round.aicommands.JmzCommand;
-import edu.kit.informatik.codefight.model.round.aicommands.StopCommand;
+import edu.kit.informatik.codefight.model.round.aicommands.Opcode;
 
 /**
  * This class represents a memory cell of the memory with a command name and two arguments.
+ * It is used for the AI commands of an AI and for returning the content of a memory cell of the memory.
  *
  * @author uexnb
  * @version 1.0
@@ -13,41 +12,22 @@ import edu.kit.informatik.codefight.model.round.aicommands.StopCommand;
 public class MemoryCell implements Copyable<MemoryCell> {
     private static final String MEMORY_CELL_FORMAT = "%s|%d|%d";
     private final String commandName;
-    private int firstArgument;
-    private int secondArgument;
-    private String currentDisplaySymbol;
+    private final Opcode opcode;
+    private final int firstArgument;
+    private final int secondArgument;
 
     /**
-     * Creates a new memory cell.
+     * Creates a new memory cell. The opcode of the command is decoded once from the name of the command.
      *
      * @param commandName the name of the command
      * @param firstArgument the first argument of the command
      * @param secondArgument the second argument of the command
-     * @param lastAiToChange the last AI to change this memory cell
      */
-    public MemoryCell(String commandName, int firstArgument, int secondArgument, ArtificialIntelligence lastAiToChange) {
+    public MemoryCell(String commandName, int firstArgument, int secondArgument) {
         this.commandName = commandName;
+        this.opcode = Opcode.fromCommandName(commandName);
         this.firstArgument = firstArgument;
         this.secondArgument = secondArgument;
-        if (lastAiToChange != null) {
-            setCurrentDisplaySymbol(lastAiToChange);
-        } else {
-            currentDisplaySymbol = null;
-        }
-    }
-    /**
-     * Creates a new memory cell.
-     *
-     * @param commandName the name of the command
-     * @param firstArgument the first argument of the command
-     * @param secondArgument the second argument of the command
-     * @param currentDisplaySymbol the current display symbol of the memory cell
-     */
-    public MemoryCell(String commandName, int firstArgument, int secondArgument, String currentDisplaySymbol) {
-        this.commandName = commandName;
-        this.firstArgument = firstArgument;
-        this.secondArgument = secondArgument;
-        this.currentDisplaySymbol = currentDisplaySymbol;
     }
 
     /**
@@ -59,6 +39,15 @@ public class MemoryCell implements Copyable<MemoryCell> {
         return commandName;
     }
 
+    /**
+     * Returns the opcode of the command.
+     *
+     * @return the opcode of the command or null if the name does not correspond to an AI command
+     */
+    public Opcode getOpcode() {
+        return opcode;
+    }
+
     /**
      * Returns the first argument of the command.
      *
@@ -77,65 +66,9 @@ public class MemoryCell implements Copyable<MemoryCell> {
         return secondArgument;
     }
 
-
-    /**
-     * Sets the first argument of the command.
-     *
-     * @param firstArgument the first argument of the command
-     */
-    public void setFirstArgument(int firstArgument) {
-        this.firstArgument = firstArgument;
-    }
-
-    /**
-     * Sets the second argument of the command.
-     *
-     * @param secondArgument the second argument of the command
-     */
-    public void setSecondArgument(int secondArgument) {
-        this.secondArgument = secondArgument;
-    }
-    /**
-     * Returns the current display symbol of the memory cell.
-     *
-     * @return the current display symbol of the memory cell
-     */
-    public String getCurrentDisplaySymbol() {
-        return currentDisplaySymbol;
-    }
-    /**
-     * Sets the current display symbol of the memory cell.
-     *
-     * @param lastAiToChange the last AI to change this memory cell
-     */
-    public void setCurrentDisplaySymbol(ArtificialIntelligence lastAiToChange) {
-        if (lastAiToChange == null) {
-            return;
-        }
-        if (commandName.equals(StopCommand.COMMAND_NAME)) {
-            currentDisplaySymbol = lastAiToChange.getAiBomb();
-        } else if (commandName.equals(JmpCommand.COMMAND_NAME) && firstArgument == 0) {
-            currentDisplaySymbol = lastAiToChange.getAiBomb();
-        } else if (commandName.equals(JmzCommand.COMMAND_NAME) && firstArgument == 0 && secondArgument == 0) {
-            currentDisplaySymbol = lastAiToChange.getAiBomb();
-        } else {
-            currentDisplaySymbol = lastAiToChange.getStandardAiCommand();
-        }
-    }
-    /**
-     * Sets the initial display symbol of the memory cell.
-     * Before the first AI has changed the memory cell, the display symbol is
-     * always the standard AI command symbol of the AI this memory cell belongs to.
-     *
-     * @param standardAiCommand the standard AI command symbol
-     */
-    public void initDisplaySymbol(String standardAiCommand) {
-        currentDisplaySymbol = standardAiCommand;
-    }
-
     @Override
     public MemoryCell copy() {
-        return new MemoryCell(commandName, firstArgument, secondArgument, currentDisplaySymbol);
+        return new MemoryCell(commandName, firstArgument, secondArgument);
     }
 
     @Override
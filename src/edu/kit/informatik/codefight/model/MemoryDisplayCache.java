@@ -0,0 +1,135 @@
+package edu.kit.informatik.codefight.model;
+
+/**
+ * This class caches the memory display of a {@link Memory memory}, so showing the memory again only renders what
+ * changed since it was shown the last time. The display is split into blocks of memory cells whose symbols are cached
+ * as strings. The memory marks the block of every memory cell whose display symbol may have changed, and the blocks
+ * of the memory cells the instruction pointers of the AIs moved from or to are marked when the memory is shown. Only
+ * the marked blocks are rendered again, the display itself is only joined again if a block changed. As the symbols
+ * may differ in length, the blocks are strings of their own instead of positions in a single buffer.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+final class MemoryDisplayCache {
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private final Memory memory;
+    private final int size;
+    private final String[] blocks;
+    //the marked blocks, each block is contained once
+    private final boolean[] isBlockMarked;
+    private final int[] markedBlocks;
+    private int numberOfMarkedBlocks;
+    //whether every block has to be rendered again, for example because the storage of the memory was replaced
+    private boolean isInvalid = true;
+    //the markers of the instruction pointers the cached blocks were rendered with, null before the first rendering
+    private InstructionPointerMarkers markers;
+    //the joined blocks or null if a block changed since they were joined
+    private String display;
+
+    /**
+     * Constructs a new empty cache of the display of the given memory.
+     *
+     * @param memory the memory
+     * @param size the size of the memory
+     */
+    MemoryDisplayCache(Memory memory, int size) {
+        this.memory = memory;
+        this.size = size;
+        int numberOfBlocks = (int) (((long) size + BLOCK_SIZE - 1) >>> BLOCK_SHIFT);
+        this.blocks = new String[numberOfBlocks];
+        this.isBlockMarked = new boolean[numberOfBlocks];
+        this.markedBlocks = new int[numberOfBlocks];
+    }
+
+    /**
+     * Marks the memory cell at the given index, because its display symbol may have changed.
+     *
+     * @param index the normalised index of the memory cell
+     */
+    void markMemoryCell(int index) {
+        int block = index >>> BLOCK_SHIFT;
+        if (!isBlockMarked[block]) {
+            isBlockMarked[block] = true;
+            markedBlocks[numberOfMarkedBlocks] = block;
+            numberOfMarkedBlocks++;
+        }
+    }
+
+    /**
+     * Marks every memory cell, because the content of the whole memory may have changed.
+     */
+    void invalidate() {
+        isInvalid = true;
+    }
+
+    /**
+     * Returns the memory display for the given markers of the instruction pointers.
+     *
+     * @param newMarkers the markers of the instruction pointers of the active AIs
+     * @return the memory display
+     */
+    String getDisplay(InstructionPointerMarkers newMarkers) {
+        if (isInvalid || markers == null) {
+            for (int block = 0; block < blocks.length; block++) {
+                renderBlock(block, newMarkers);
+            }
+            clearMarkedBlocks();
+            isInvalid = false;
+        } else {
+            markMovedMarkers(newMarkers);
+            for (int i = 0; i < numberOfMarkedBlocks; i++) {
+                renderBlock(markedBlocks[i], newMarkers);
+            }
+            clearMarkedBlocks();
+        }
+        this.markers = newMarkers;
+        if (display == null) {
+            StringBuilder joinedBlocks = new StringBuilder();
+            for (String block : blocks) {
+                joinedBlocks.append(block);
+            }
+            display = joinedBlocks.toString();
+        }
+        return display;
+    }
+
+    private void markMovedMarkers(InstructionPointerMarkers newMarkers) {
+        int indexOfNextAi = markers.getIndexOfNextAi();
+        int newIndexOfNextAi = newMarkers.getIndexOfNextAi();
+        for (int i = 0; i < Math.max(markers.getNumberOfAis(), newMarkers.getNumberOfAis()); i++) {
+            int oldPosition = i < markers.getNumberOfAis() ? markers.getPosition(i) : -1;
+            int newPosition = i < newMarkers.getNumberOfAis() ? newMarkers.getPosition(i) : -1;
+            //the symbol of the instruction pointer also changes if the AI became or stopped being the next AI
+            if (oldPosition != newPosition || (i == indexOfNextAi) != (i == newIndexOfNextAi)) {
+                markPosition(oldPosition);
+                markPosition(newPosition);
+            }
+        }
+    }
+
+    private void markPosition(int position) {
+        if (position >= 0) {
+            markMemoryCell(position);
+        }
+    }
+
+    private void renderBlock(int block, InstructionPointerMarkers markers) {
+        int start = block << BLOCK_SHIFT;
+        int end = (int) Math.min(size, (long) start + BLOCK_SIZE);
+        StringBuilder symbols = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            symbols.append(memory.getSymbolOfMemoryCell(i, markers));
+        }
+        blocks[block] = symbols.toString();
+        display = null;
+    }
+
+    private void clearMarkedBlocks() {
+        for (int i = 0; i < numberOfMarkedBlocks; i++) {
+            isBlockMarked[markedBlocks[i]] = false;
+        }
+        numberOfMarkedBlocks = 0;
+    }
+}
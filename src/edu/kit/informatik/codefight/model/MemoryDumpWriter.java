@@ -0,0 +1,140 @@
+package edu.kit.informatik.codefight.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * This class writes the symbols of a range of memory cells of a {@link Memory memory} directly to a channel, so a dump
+ * of a large memory neither creates a string of the whole display nor waits for it before the first bytes are written.
+ * The symbols are encoded once, and the bytes of the memory cells are collected in a chunk of a fixed size that is
+ * written whenever it is full.
+ * <p>
+ * In the run-length encoded form, every run of memory cells with the same symbol is written as the length of the run
+ * and the symbol, separated by {@value #COUNT_SEPARATOR}. The runs are separated by spaces. As the length only consists
+ * of digits, the first {@value #COUNT_SEPARATOR} of a run separates it from the symbol.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+final class MemoryDumpWriter {
+    private static final int CHUNK_SIZE = 1 << 13;
+    private static final char COUNT_SEPARATOR = '*';
+    private static final char RUN_SEPARATOR = ' ';
+    private static final int RADIX = 10;
+    //the number of digits of the largest long
+    private static final int MAX_NUMBER_OF_DIGITS = 19;
+    private final Memory memory;
+    //the encoded symbols indexed by the ids returned by the memory
+    private final byte[][] encodedSymbols;
+    private final byte[] encodedLineSeparator;
+    private final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+    private final byte[] digits = new byte[MAX_NUMBER_OF_DIGITS];
+
+    /**
+     * Constructs a new writer for the given memory.
+     *
+     * @param memory the memory
+     * @param symbols the symbols of the memory cells indexed by the ids returned by
+     *                {@link Memory#getSymbolIdOfMemoryCell(int, InstructionPointerMarkers)}
+     * @param charset the charset the symbols are encoded with
+     */
+    MemoryDumpWriter(Memory memory, String[] symbols, Charset charset) {
+        this.memory = memory;
+        this.encodedSymbols = new byte[symbols.length][];
+        for (int i = 0; i < symbols.length; i++) {
+            encodedSymbols[i] = symbols[i].getBytes(charset);
+        }
+        this.encodedLineSeparator = System.lineSeparator().getBytes(charset);
+    }
+
+    /**
+     * Writes the symbols of the memory cells from the given start up to the given end followed by a line separator.
+     *
+     * @param markers the markers of the instruction pointers of the active AIs
+     * @param start the index of the first memory cell
+     * @param end the index after the last memory cell
+     * @param isRunLengthEncoded whether the runs of equal symbols are written in the run-length encoded form
+     * @param channel the channel the symbols are written to
+     * @throws IOException if the channel cannot be written
+     */
+    void write(InstructionPointerMarkers markers, int start, int end, boolean isRunLengthEncoded,
+               WritableByteChannel channel) throws IOException {
+        chunk.clear();
+        if (isRunLengthEncoded) {
+            writeRuns(markers, start, end, channel);
+        } else {
+            for (int i = start; i < end; i++) {
+                put(encodedSymbols[memory.getSymbolIdOfMemoryCell(i, markers)], channel);
+            }
+        }
+        put(encodedLineSeparator, channel);
+        drain(channel);
+    }
+
+    private void writeRuns(InstructionPointerMarkers markers, int start, int end, WritableByteChannel channel)
+            throws IOException {
+        int i = start;
+        while (i < end) {
+            int symbolId = memory.getSymbolIdOfMemoryCell(i, markers);
+            int endOfRun = i + 1;
+            while (endOfRun < end && memory.getSymbolIdOfMemoryCell(endOfRun, markers) == symbolId) {
+                endOfRun++;
+            }
+            if (i != start) {
+                put((byte) RUN_SEPARATOR, channel);
+            }
+            putCount(endOfRun - i, channel);
+            put((byte) COUNT_SEPARATOR, channel);
+            put(encodedSymbols[symbolId], channel);
+            i = endOfRun;
+        }
+    }
+
+    private void putCount(long count, WritableByteChannel channel) throws IOException {
+        //the digits are collected from the last one on
+        int position = digits.length;
+        long remainingDigits = count;
+        do {
+            position--;
+            digits[position] = (byte) ('0' + remainingDigits % RADIX);
+            remainingDigits /= RADIX;
+        } while (remainingDigits != 0);
+        if (chunk.remaining() < digits.length - position) {
+            drain(channel);
+        }
+        chunk.put(digits, position, digits.length - position);
+    }
+
+    private void put(byte value, WritableByteChannel channel) throws IOException {
+        if (!chunk.hasRemaining()) {
+            drain(channel);
+        }
+        chunk.put(value);
+    }
+
+    private void put(byte[] bytes, WritableByteChannel channel) throws IOException {
+        if (chunk.remaining() < bytes.length) {
+            drain(channel);
+            //a symbol that does not fit into an empty chunk is written on its own
+            if (chunk.remaining() < bytes.length) {
+                writeFully(ByteBuffer.wrap(bytes), channel);
+                return;
+            }
+        }
+        chunk.put(bytes);
+    }
+
+    private void drain(WritableByteChannel channel) throws IOException {
+        chunk.flip();
+        writeFully(chunk, channel);
+        chunk.clear();
+    }
+
+    private static void writeFully(ByteBuffer bytes, WritableByteChannel channel) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
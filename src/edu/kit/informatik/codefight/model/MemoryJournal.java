@@ -0,0 +1,21 @@
+package edu.kit.informatik.codefight.model;
+
+/**
+ * This interface represents a journal that records the content of a memory cell of the {@link Memory memory}
+ * before it is changed, so the change can be undone later.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public interface MemoryJournal {
+    /**
+     * Is called before the content of the memory cell at the given index is changed.
+     *
+     * @param index the normalised index of the memory cell
+     * @param opcode the code of the opcode before the change
+     * @param firstArgument the first argument before the change
+     * @param secondArgument the second argument before the change
+     * @param displaySymbolId the id of the display symbol before the change
+     */
+    void recordMemoryCell(int index, byte opcode, int firstArgument, int secondArgument, short displaySymbolId);
+}
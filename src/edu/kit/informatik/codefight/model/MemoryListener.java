@@ -0,0 +1,17 @@
+package edu.kit.informatik.codefight.model;
+
+/**
+ * This interface represents a listener that is notified whenever the content of a memory cell of the
+ * {@link Memory memory} is changed. Changes of the display symbol only are not reported.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public interface MemoryListener {
+    /**
+     * Is called after the content of the memory cell at the given index was changed.
+     *
+     * @param index the normalised index of the changed memory cell
+     */
+    void memoryCellChanged(int index);
+}
@@ -0,0 +1,127 @@
+package edu.kit.informatik.codefight.model;
+
+/**
+ * This interface represents the storage of the memory cells of the {@link Memory memory}.
+ * A memory cell consists of the code of the opcode of the AI command, the two arguments and the id of
+ * the display symbol. All indices are already normalised to the range of [0, size).
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public interface MemoryStorage {
+    /**
+     * Returns the number of memory cells of the storage.
+     *
+     * @return the number of memory cells
+     */
+    int getSize();
+
+    /**
+     * Returns the code of the opcode of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell
+     * @return the code of the opcode
+     */
+    byte getOpcode(int index);
+
+    /**
+     * Returns the first argument of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell
+     * @return the first argument
+     */
+    int getFirstArgument(int index);
+
+    /**
+     * Returns the second argument of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell
+     * @return the second argument
+     */
+    int getSecondArgument(int index);
+
+    /**
+     * Returns the id of the display symbol of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell
+     * @return the id of the display symbol
+     */
+    short getDisplaySymbolId(int index);
+
+    /**
+     * Sets the whole content of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell
+     * @param opcode the code of the opcode
+     * @param firstArgument the first argument
+     * @param secondArgument the second argument
+     * @param displaySymbolId the id of the display symbol
+     */
+    void setMemoryCell(int index, byte opcode, int firstArgument, int secondArgument, short displaySymbolId);
+
+    /**
+     * Sets the first argument of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell
+     * @param firstArgument the new first argument
+     */
+    void setFirstArgument(int index, int firstArgument);
+
+    /**
+     * Sets the second argument of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell
+     * @param secondArgument the new second argument
+     */
+    void setSecondArgument(int index, int secondArgument);
+
+    /**
+     * Sets the id of the display symbol of the memory cell at the given index.
+     *
+     * @param index the index of the memory cell
+     * @param displaySymbolId the new id of the display symbol
+     */
+    void setDisplaySymbolId(int index, short displaySymbolId);
+
+    /**
+     * Copies the whole content of the memory cell at the source index to the memory cell at the target index.
+     *
+     * @param sourceIndex the index of the source memory cell
+     * @param targetIndex the index of the target memory cell
+     */
+    default void copyMemoryCell(int sourceIndex, int targetIndex) {
+        setMemoryCell(targetIndex, getOpcode(sourceIndex), getFirstArgument(sourceIndex), getSecondArgument(sourceIndex),
+                getDisplaySymbolId(sourceIndex));
+    }
+
+    /**
+     * Sets every memory cell of the storage to the same content.
+     *
+     * @param opcode the code of the opcode
+     * @param firstArgument the first argument
+     * @param secondArgument the second argument
+     * @param displaySymbolId the id of the display symbol
+     */
+    void fill(byte opcode, int firstArgument, int secondArgument, short displaySymbolId);
+
+    /**
+     * Creates a fork of the storage, which has the same content as this storage, but changes of either storage do not
+     * change the other one. By default, all memory cells are copied into a new {@link PagedMemoryStorage}.
+     *
+     * @return the fork of the storage
+     */
+    default MemoryStorage fork() {
+        MemoryStorage fork = new PagedMemoryStorage(getSize());
+        for (int i = 0; i < getSize(); i++) {
+            fork.setMemoryCell(i, getOpcode(i), getFirstArgument(i), getSecondArgument(i), getDisplaySymbolId(i));
+        }
+        return fork;
+    }
+
+    /**
+     * Releases the resources of the storage when the game ends.
+     * By default, nothing needs to be released as the memory cells are freed by the garbage collector.
+     */
+    default void release() {
+    }
+}
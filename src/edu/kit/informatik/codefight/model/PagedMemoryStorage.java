@@ -0,0 +1,200 @@
+package edu.kit.informatik.codefight.model;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the memory cells in pages of parallel primitive arrays which are only allocated when a memory cell
+ * of the page is written for the first time. A page that was never written consists of memory cells with the default
+ * content, so a large memory which is initialised with STOP commands only needs space for the pages touched by the AIs.
+ * A fork shares the pages with the storage it was forked from. A storage copies the table of its pages before it
+ * writes for the first time after a fork and a shared page before it writes the page for the first time (copy on
+ * write), so forking does not depend on the size of the memory and only the written pages are copied.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class PagedMemoryStorage implements MemoryStorage {
+    /**
+     * The number of bytes needed for one memory cell (opcode, two arguments and display symbol id).
+     */
+    public static final int BYTES_PER_CELL = Byte.BYTES + 2 * Integer.BYTES + Short.BYTES;
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private final int size;
+    //a page is null as long as all of its memory cells have the default content
+    private byte[][] opcodes;
+    private int[][] firstArguments;
+    private int[][] secondArguments;
+    private short[][] displaySymbolIds;
+    //whether the tables of the pages are shared with a fork, so they have to be copied before a page is written
+    private boolean isPageTableShared;
+    //whether a page was allocated or copied by this storage since the tables were copied, so it is not shared
+    private boolean[] isPageOwned;
+    private byte defaultOpcode;
+    private int defaultFirstArgument;
+    private int defaultSecondArgument;
+    private short defaultDisplaySymbolId;
+
+    /**
+     * Constructs a new paged memory storage. All memory cells have the content 0 until they are written.
+     *
+     * @param size the number of memory cells
+     */
+    public PagedMemoryStorage(int size) {
+        this.size = size;
+        int numberOfPages = (int) (((long) size + PAGE_SIZE - 1) >> PAGE_SHIFT);
+        opcodes = new byte[numberOfPages][];
+        firstArguments = new int[numberOfPages][];
+        secondArguments = new int[numberOfPages][];
+        displaySymbolIds = new short[numberOfPages][];
+        isPageOwned = new boolean[numberOfPages];
+    }
+
+    private PagedMemoryStorage(PagedMemoryStorage storage) {
+        size = storage.size;
+        opcodes = storage.opcodes;
+        firstArguments = storage.firstArguments;
+        secondArguments = storage.secondArguments;
+        displaySymbolIds = storage.displaySymbolIds;
+        isPageTableShared = true;
+        defaultOpcode = storage.defaultOpcode;
+        defaultFirstArgument = storage.defaultFirstArgument;
+        defaultSecondArgument = storage.defaultSecondArgument;
+        defaultDisplaySymbolId = storage.defaultDisplaySymbolId;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public byte getOpcode(int index) {
+        byte[] page = opcodes[index >>> PAGE_SHIFT];
+        return page != null ? page[index & PAGE_MASK] : defaultOpcode;
+    }
+
+    @Override
+    public int getFirstArgument(int index) {
+        int[] page = firstArguments[index >>> PAGE_SHIFT];
+        return page != null ? page[index & PAGE_MASK] : defaultFirstArgument;
+    }
+
+    @Override
+    public int getSecondArgument(int index) {
+        int[] page = secondArguments[index >>> PAGE_SHIFT];
+        return page != null ? page[index & PAGE_MASK] : defaultSecondArgument;
+    }
+
+    @Override
+    public short getDisplaySymbolId(int index) {
+        short[] page = displaySymbolIds[index >>> PAGE_SHIFT];
+        return page != null ? page[index & PAGE_MASK] : defaultDisplaySymbolId;
+    }
+
+    @Override
+    public void setMemoryCell(int index, byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        int page = getWritablePage(index);
+        int offset = index & PAGE_MASK;
+        opcodes[page][offset] = opcode;
+        firstArguments[page][offset] = firstArgument;
+        secondArguments[page][offset] = secondArgument;
+        displaySymbolIds[page][offset] = displaySymbolId;
+    }
+
+    @Override
+    public void setFirstArgument(int index, int firstArgument) {
+        //the page is determined first, as it may replace the table of the pages
+        int page = getWritablePage(index);
+        firstArguments[page][index & PAGE_MASK] = firstArgument;
+    }
+
+    @Override
+    public void setSecondArgument(int index, int secondArgument) {
+        int page = getWritablePage(index);
+        secondArguments[page][index & PAGE_MASK] = secondArgument;
+    }
+
+    @Override
+    public void setDisplaySymbolId(int index, short displaySymbolId) {
+        int page = getWritablePage(index);
+        displaySymbolIds[page][index & PAGE_MASK] = displaySymbolId;
+    }
+
+    @Override
+    public void fill(byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        //dropping all pages is enough as pages that are not allocated consist of the default content
+        if (isPageTableShared) {
+            opcodes = new byte[opcodes.length][];
+            firstArguments = new int[opcodes.length][];
+            secondArguments = new int[opcodes.length][];
+            displaySymbolIds = new short[opcodes.length][];
+            isPageOwned = new boolean[opcodes.length];
+            isPageTableShared = false;
+        } else {
+            Arrays.fill(opcodes, null);
+            Arrays.fill(firstArguments, null);
+            Arrays.fill(secondArguments, null);
+            Arrays.fill(displaySymbolIds, null);
+            Arrays.fill(isPageOwned, false);
+        }
+        defaultOpcode = opcode;
+        defaultFirstArgument = firstArgument;
+        defaultSecondArgument = secondArgument;
+        defaultDisplaySymbolId = displaySymbolId;
+    }
+
+    /**
+     * Creates a fork that shares the pages with this storage until one of them writes a page.
+     *
+     * @return the fork of the storage
+     */
+    @Override
+    public MemoryStorage fork() {
+        isPageTableShared = true;
+        return new PagedMemoryStorage(this);
+    }
+
+    private int getWritablePage(int index) {
+        int page = index >>> PAGE_SHIFT;
+        if (isPageTableShared) {
+            copyPageTables();
+        }
+        if (!isPageOwned[page]) {
+            ownPage(page);
+        }
+        return page;
+    }
+
+    private void copyPageTables() {
+        //the pages themselves are still shared until they are written
+        opcodes = opcodes.clone();
+        firstArguments = firstArguments.clone();
+        secondArguments = secondArguments.clone();
+        displaySymbolIds = displaySymbolIds.clone();
+        isPageOwned = new boolean[opcodes.length];
+        isPageTableShared = false;
+    }
+
+    private void ownPage(int page) {
+        if (opcodes[page] != null) {
+            opcodes[page] = opcodes[page].clone();
+            firstArguments[page] = firstArguments[page].clone();
+            secondArguments[page] = secondArguments[page].clone();
+            displaySymbolIds[page] = displaySymbolIds[page].clone();
+        } else {
+            //the last page is only as large as the remaining memory cells
+            int pageSize = Math.min(PAGE_SIZE, size - (page << PAGE_SHIFT));
+            opcodes[page] = new byte[pageSize];
+            firstArguments[page] = new int[pageSize];
+            secondArguments[page] = new int[pageSize];
+            displaySymbolIds[page] = new short[pageSize];
+            Arrays.fill(opcodes[page], defaultOpcode);
+            Arrays.fill(firstArguments[page], defaultFirstArgument);
+            Arrays.fill(secondArguments[page], defaultSecondArgument);
+            Arrays.fill(displaySymbolIds[page], defaultDisplaySymbolId);
+        }
+        isPageOwned[page] = true;
+    }
+}
@@ -0,0 +1,498 @@
+package edu.kit.informatik.codefight.model;
+
+import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static edu.kit.informatik.codefight.command.usercommands.AddAiCommand.AI_COMMAND_LENGTH;
+
+/**
+ * This class represents a file in which a running game is persisted, so the game can be resumed when the program
+ * is started again with the same file. The memory cells and the state of the active AIs are mapped into memory,
+ * so every change goes straight to the file without any extra copy. The file consists of a header, one fixed record
+ * per possible AI (instruction pointer, number of executed commands, display symbol ids and alive flag), an intent
+ * record, the memory cells and the programs of the active and the registered AIs. Each program consists of the name
+ * of the AI and its AI commands, so the game can be resumed and played again without adding the AIs again. All numbers are stored in the byte order of the
+ * {@link ByteBufferMemoryStorage#BYTE_ORDER memory cells}, so the file can be resumed on any platform.
+ * <p>
+ * Before an AI command is executed, its step is begun in the intent record: the record of the AI and the index of
+ * the next AI are copied, and the content of every memory cell is written to the intent record before the memory cell
+ * is changed. The step is only complete once the state of the AI is saved. If the program is killed in the middle of a
+ * step, the step is rolled back when the file is opened again, so the AI command is neither lost nor applied twice.
+ * The changes are written to the storage device either explicitly by {@link #sync()} or automatically after
+ * a configurable number of executed commands, which is stored in the header of the file.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class PersistentArena {
+    private static final String FILE_ACCESS_FAILURE = "The persistent game file cannot be accessed.";
+    private static final String FILE_INVALID = "The persistent game file is no valid game file.";
+    private static final String FILE_NOT_MATCHING = "The game of the persistent game file does not match the memory size"
+            + " and the number of symbols.";
+    private static final String STORAGE_SIZE_NOT_MATCHING_FORMAT = "A memory of size %d cannot use the storage of a "
+            + "persistent game file of size %d.";
+    //the magic number also marks the version of the layout, the programs of the AIs are stored since version 2
+    private static final int MAGIC_NUMBER = 0x43464732;
+    private static final int MAGIC_NUMBER_OFFSET = 0;
+    private static final int MEMORY_SIZE_OFFSET = 4;
+    private static final int MAX_AIS_OFFSET = 8;
+    private static final int NUMBER_OF_ACTIVE_AIS_OFFSET = 12;
+    private static final int NEXT_AI_INDEX_OFFSET = 16;
+    private static final int SYNC_INTERVAL_OFFSET = 20;
+    private static final int NUMBER_OF_REGISTERED_AIS_OFFSET = 24;
+    private static final int HEADER_SIZE = 32;
+    private static final int INSTRUCTION_POINTER_OFFSET = 0;
+    private static final int NUMBER_OF_EXECUTED_COMMANDS_OFFSET = 4;
+    private static final int STANDARD_AI_COMMAND_ID_OFFSET = 8;
+    private static final int AI_BOMB_ID_OFFSET = 10;
+    private static final int IS_ALIVE_OFFSET = 12;
+    private static final int AI_RECORD_SIZE = 16;
+    private static final int INTENT_IN_PROGRESS_OFFSET = 0;
+    private static final int INTENT_AI_INDEX_OFFSET = 4;
+    private static final int INTENT_NEXT_AI_INDEX_OFFSET = 8;
+    private static final int INTENT_NUMBER_OF_CELLS_OFFSET = 12;
+    private static final int INTENT_AI_RECORD_OFFSET = 16;
+    private static final int INTENT_CELLS_OFFSET = INTENT_AI_RECORD_OFFSET + AI_RECORD_SIZE;
+    private static final int CELL_INDEX_OFFSET = 0;
+    private static final int CELL_FIRST_ARGUMENT_OFFSET = 4;
+    private static final int CELL_SECOND_ARGUMENT_OFFSET = 8;
+    private static final int CELL_DISPLAY_SYMBOL_ID_OFFSET = 12;
+    private static final int CELL_OPCODE_OFFSET = 14;
+    private static final int CELL_RECORD_SIZE = 16;
+    //an AI command changes at most two memory cells, and every memory cell is only recorded once per step
+    private static final int MAX_CELLS_PER_STEP = 4;
+    private static final int INTENT_RECORD_SIZE = INTENT_CELLS_OFFSET + MAX_CELLS_PER_STEP * CELL_RECORD_SIZE;
+    private final FileChannel fileChannel;
+    //the header and the records of the AIs
+    private final MappedByteBuffer state;
+    private final MappedMemoryStorage storage;
+    private final long positionOfPrograms;
+    private final int intentOffset;
+    private final int memorySize;
+    private final int maxAis;
+    //whether a step was begun in the intent record and is not complete yet
+    private boolean isStepInProgress;
+    private int syncInterval;
+    private int commandsSinceSync;
+
+    /**
+     * Opens the persistent game file at the given path or creates it if it does not exist.
+     *
+     * @param path the path of the file
+     * @param memorySize the size of the memory
+     * @param maxAis the maximum number of AIs
+     * @throws GameInitialisationException if the file cannot be accessed, is no game file or contains a running game
+     *                                     that does not match the memory size and the maximum number of AIs
+     */
+    public PersistentArena(Path path, int memorySize, int maxAis) throws GameInitialisationException {
+        this.memorySize = memorySize;
+        this.maxAis = maxAis;
+        this.intentOffset = getAiRecordOffset(maxAis);
+        long sizeOfState = (long) intentOffset + INTENT_RECORD_SIZE;
+        positionOfPrograms = sizeOfState + (long) memorySize * ByteBufferMemoryStorage.BYTES_PER_CELL;
+        try {
+            fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            //the header is checked before the file is mapped, so a file which is no game file is never changed
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteBufferMemoryStorage.BYTE_ORDER);
+            boolean isNewFile = fileChannel.size() == 0;
+            if (!isNewFile && (fileChannel.read(header, 0) != HEADER_SIZE
+                    || header.getInt(MAGIC_NUMBER_OFFSET) != MAGIC_NUMBER)) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+            if (!isNewFile && header.getInt(NUMBER_OF_ACTIVE_AIS_OFFSET) > 0
+                    && (header.getInt(MEMORY_SIZE_OFFSET) != memorySize || header.getInt(MAX_AIS_OFFSET) != maxAis)) {
+                throw new GameInitialisationException(FILE_NOT_MATCHING);
+            }
+            state = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, sizeOfState);
+            state.order(ByteBufferMemoryStorage.BYTE_ORDER);
+            storage = new MappedMemoryStorage(fileChannel, sizeOfState, memorySize);
+        } catch (IOException e) {
+            throw new GameInitialisationException(FILE_ACCESS_FAILURE);
+        }
+        if (isNewGameFile()) {
+            state.putInt(MAGIC_NUMBER_OFFSET, MAGIC_NUMBER);
+            state.putInt(NUMBER_OF_ACTIVE_AIS_OFFSET, 0);
+            state.putInt(SYNC_INTERVAL_OFFSET, 0);
+        }
+        syncInterval = state.getInt(SYNC_INTERVAL_OFFSET);
+        if (syncInterval < 0) {
+            throw new GameInitialisationException(FILE_INVALID);
+        }
+        state.putInt(MEMORY_SIZE_OFFSET, memorySize);
+        state.putInt(MAX_AIS_OFFSET, maxAis);
+        if (hasRunningGame() && state.getInt(intentOffset + INTENT_IN_PROGRESS_OFFSET) != 0) {
+            rollBackStep();
+        }
+    }
+
+    /**
+     * Restores the memory cells, the record of the AI and the index of the next AI from before the step that was
+     * interrupted, the memory cells in the reverse order of their changes.
+     */
+    private void rollBackStep() throws GameInitialisationException {
+        int indexOfAi = state.getInt(intentOffset + INTENT_AI_INDEX_OFFSET);
+        int numberOfCells = state.getInt(intentOffset + INTENT_NUMBER_OF_CELLS_OFFSET);
+        if (indexOfAi < 0 || indexOfAi >= maxAis || numberOfCells < 0 || numberOfCells > MAX_CELLS_PER_STEP) {
+            throw new GameInitialisationException(FILE_INVALID);
+        }
+        for (int i = numberOfCells - 1; i >= 0; i--) {
+            int offset = getCellRecordOffset(i);
+            int index = state.getInt(offset + CELL_INDEX_OFFSET);
+            if (index < 0 || index >= memorySize) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+            storage.setMemoryCell(index, state.get(offset + CELL_OPCODE_OFFSET),
+                    state.getInt(offset + CELL_FIRST_ARGUMENT_OFFSET), state.getInt(offset + CELL_SECOND_ARGUMENT_OFFSET),
+                    state.getShort(offset + CELL_DISPLAY_SYMBOL_ID_OFFSET));
+        }
+        copyAiRecord(intentOffset + INTENT_AI_RECORD_OFFSET, getAiRecordOffset(indexOfAi));
+        state.putInt(NEXT_AI_INDEX_OFFSET, state.getInt(intentOffset + INTENT_NEXT_AI_INDEX_OFFSET));
+        //the rolled back state is written to the storage device before the step is no longer in progress
+        storage.force();
+        state.force();
+        state.putInt(intentOffset + INTENT_IN_PROGRESS_OFFSET, 0);
+        sync();
+    }
+
+    private void copyAiRecord(int sourceOffset, int targetOffset) {
+        for (int i = 0; i < AI_RECORD_SIZE; i += Long.BYTES) {
+            state.putLong(targetOffset + i, state.getLong(sourceOffset + i));
+        }
+    }
+
+    private boolean isNewGameFile() {
+        return state.getInt(MAGIC_NUMBER_OFFSET) != MAGIC_NUMBER;
+    }
+
+    /**
+     * Returns the storage of the memory cells which are mapped from the file.
+     * The storage is the same for every game, so the size has to be the size of the memory of this file.
+     *
+     * @param size the size of the memory
+     * @return the storage of the memory cells
+     * @throws IllegalArgumentException if the size is not the size of the memory of this file
+     */
+    public MemoryStorage getStorage(int size) {
+        if (size != memorySize) {
+            throw new IllegalArgumentException(STORAGE_SIZE_NOT_MATCHING_FORMAT.formatted(size, memorySize));
+        }
+        return storage;
+    }
+
+    /**
+     * Returns whether the file contains a running game that can be resumed.
+     *
+     * @return true if the file contains a running game, false otherwise
+     */
+    public boolean hasRunningGame() {
+        return state.getInt(NUMBER_OF_ACTIVE_AIS_OFFSET) > 0;
+    }
+
+    /**
+     * Writes a new game to the file. The memory cells are already in the file, so only the state of the active AIs
+     * and the programs of the active and the registered AIs are written. The game is only marked as running after
+     * everything else is written.
+     *
+     * @param activeAis the active AIs of the game
+     * @param registeredAis the registered AIs
+     * @param nextAiIndex the index of the next AI
+     * @throws GameInitialisationException if the file cannot be accessed
+     */
+    public void saveGame(List<ArtificialIntelligence> activeAis, List<ArtificialIntelligence> registeredAis,
+                         int nextAiIndex) throws GameInitialisationException {
+        state.putInt(NUMBER_OF_ACTIVE_AIS_OFFSET, 0);
+        state.putInt(NUMBER_OF_REGISTERED_AIS_OFFSET, registeredAis.size());
+        for (int i = 0; i < activeAis.size(); i++) {
+            ArtificialIntelligence ai = activeAis.get(i);
+            state.putShort(getAiRecordOffset(i) + STANDARD_AI_COMMAND_ID_OFFSET, ai.getStandardAiCommandId());
+            state.putShort(getAiRecordOffset(i) + AI_BOMB_ID_OFFSET, ai.getAiBombId());
+            saveAiState(i, ai, nextAiIndex);
+        }
+        try {
+            fileChannel.truncate(positionOfPrograms);
+            long position = positionOfPrograms;
+            for (ArtificialIntelligence ai : activeAis) {
+                position = writeProgram(ai, position);
+            }
+            for (ArtificialIntelligence ai : registeredAis) {
+                position = writeProgram(ai, position);
+            }
+            fileChannel.force(false);
+        } catch (IOException e) {
+            throw new GameInitialisationException(FILE_ACCESS_FAILURE);
+        }
+        state.putInt(NUMBER_OF_ACTIVE_AIS_OFFSET, activeAis.size());
+        sync();
+    }
+
+    /**
+     * Writes the name and the AI commands of the AI at the given position of the file.
+     *
+     * @return the position after the program
+     */
+    private long writeProgram(ArtificialIntelligence ai, long position) throws IOException {
+        byte[] name = ai.getName().getBytes(StandardCharsets.UTF_8);
+        List<byte[]> commandNames = new ArrayList<>(ai.getAiCommands().size());
+        int size = 2 * Integer.BYTES + name.length;
+        for (MemoryCell aiCommand : ai.getAiCommands()) {
+            byte[] commandName = aiCommand.getCommandName().getBytes(StandardCharsets.UTF_8);
+            commandNames.add(commandName);
+            size += 3 * Integer.BYTES + commandName.length;
+        }
+        ByteBuffer program = ByteBuffer.allocate(size).order(ByteBufferMemoryStorage.BYTE_ORDER);
+        program.putInt(name.length).put(name).putInt(commandNames.size());
+        for (int i = 0; i < commandNames.size(); i++) {
+            MemoryCell aiCommand = ai.getAiCommands().get(i);
+            program.putInt(commandNames.get(i).length).put(commandNames.get(i))
+                    .putInt(aiCommand.getFirstArgument()).putInt(aiCommand.getSecondArgument());
+        }
+        program.flip();
+        long nextPosition = position;
+        while (program.hasRemaining()) {
+            nextPosition += fileChannel.write(program, nextPosition);
+        }
+        return nextPosition;
+    }
+
+    /**
+     * Reads the active AIs of the running game of the file with their AI commands.
+     *
+     * @return the active AIs with their state
+     * @throws GameInitialisationException if the file cannot be accessed or the programs of the AIs are invalid
+     */
+    public List<ArtificialIntelligence> loadAis() throws GameInitialisationException {
+        int numberOfActiveAis = state.getInt(NUMBER_OF_ACTIVE_AIS_OFFSET);
+        ByteBuffer programs = readPrograms();
+        List<ArtificialIntelligence> activeAis = new ArrayList<>(numberOfActiveAis);
+        for (int i = 0; i < numberOfActiveAis; i++) {
+            ArtificialIntelligence ai = readProgram(programs);
+            int offset = getAiRecordOffset(i);
+            ai.setStandardAiCommandId(state.getShort(offset + STANDARD_AI_COMMAND_ID_OFFSET));
+            ai.setAiBombId(state.getShort(offset + AI_BOMB_ID_OFFSET));
+            ai.setInstructionPointer(state.getInt(offset + INSTRUCTION_POINTER_OFFSET));
+            ai.increaseNumberOfExecutedCommands(state.getInt(offset + NUMBER_OF_EXECUTED_COMMANDS_OFFSET));
+            ai.setIsAlive(state.get(offset + IS_ALIVE_OFFSET) != 0);
+            activeAis.add(ai);
+        }
+        return activeAis;
+    }
+
+    /**
+     * Reads the AIs that were registered when the running game of the file was started.
+     *
+     * @return the registered AIs with their AI commands
+     * @throws GameInitialisationException if the file cannot be accessed or the programs of the AIs are invalid
+     */
+    public List<ArtificialIntelligence> loadRegisteredAis() throws GameInitialisationException {
+        int numberOfActiveAis = state.getInt(NUMBER_OF_ACTIVE_AIS_OFFSET);
+        int numberOfRegisteredAis = state.getInt(NUMBER_OF_REGISTERED_AIS_OFFSET);
+        if (numberOfRegisteredAis < 0) {
+            throw new GameInitialisationException(FILE_INVALID);
+        }
+        ByteBuffer programs = readPrograms();
+        //the programs of the registered AIs follow the programs of the active AIs
+        for (int i = 0; i < numberOfActiveAis; i++) {
+            readProgram(programs);
+        }
+        List<ArtificialIntelligence> registeredAis = new ArrayList<>(numberOfRegisteredAis);
+        for (int i = 0; i < numberOfRegisteredAis; i++) {
+            registeredAis.add(readProgram(programs));
+        }
+        return registeredAis;
+    }
+
+    private ByteBuffer readPrograms() throws GameInitialisationException {
+        try {
+            long size = fileChannel.size() - positionOfPrograms;
+            if (size < 0 || size > Integer.MAX_VALUE) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+            return readFully(positionOfPrograms, (int) size).flip();
+        } catch (IOException e) {
+            throw new GameInitialisationException(FILE_ACCESS_FAILURE);
+        }
+    }
+
+    private static ArtificialIntelligence readProgram(ByteBuffer programs) throws GameInitialisationException {
+        try {
+            ArtificialIntelligence ai = new ArtificialIntelligence(readString(programs));
+            int numberOfAiCommands = programs.getInt();
+            if (numberOfAiCommands < 0 || numberOfAiCommands > programs.remaining()) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+            String[] aiCommands = new String[numberOfAiCommands * AI_COMMAND_LENGTH];
+            for (int i = 0; i < aiCommands.length; i += AI_COMMAND_LENGTH) {
+                aiCommands[i] = readString(programs);
+                aiCommands[i + 1] = String.valueOf(programs.getInt());
+                aiCommands[i + 2] = String.valueOf(programs.getInt());
+            }
+            ai.setAiCommands(aiCommands);
+            return ai;
+        } catch (BufferUnderflowException e) {
+            throw new GameInitialisationException(FILE_INVALID);
+        }
+    }
+
+    private static String readString(ByteBuffer programs) {
+        int length = programs.getInt();
+        if (length < 0 || length > programs.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        programs.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteBufferMemoryStorage.BYTE_ORDER);
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException(FILE_INVALID);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns the index of the next AI of the running game of the file.
+     *
+     * @return the index of the next AI
+     */
+    public int getNextAiIndex() {
+        return state.getInt(NEXT_AI_INDEX_OFFSET);
+    }
+
+    /**
+     * Begins the step of the AI that executes the next command. The record of the AI and the index of the next AI are
+     * copied to the intent record before the step is marked as in progress, and the memory cells that are changed
+     * during the step are recorded by the {@link #createIntentJournal(MemoryJournal) intent journal}.
+     * The step is complete once the state of the AI is {@link #saveAiState(int, ArtificialIntelligence, int) saved}.
+     *
+     * @param indexOfAi the index of the AI in the list of active AIs
+     */
+    public void beginStep(int indexOfAi) {
+        state.putInt(intentOffset + INTENT_NUMBER_OF_CELLS_OFFSET, 0);
+        state.putInt(intentOffset + INTENT_AI_INDEX_OFFSET, indexOfAi);
+        state.putInt(intentOffset + INTENT_NEXT_AI_INDEX_OFFSET, state.getInt(NEXT_AI_INDEX_OFFSET));
+        copyAiRecord(getAiRecordOffset(indexOfAi), intentOffset + INTENT_AI_RECORD_OFFSET);
+        state.putInt(intentOffset + INTENT_IN_PROGRESS_OFFSET, 1);
+        isStepInProgress = true;
+    }
+
+    /**
+     * Returns a journal that writes the content of every memory cell that is changed during a step to the intent
+     * record and then passes it on to the given journal.
+     *
+     * @param nextJournal the journal the memory cells are passed on to or null if there is none
+     * @return the journal of the memory
+     */
+    public MemoryJournal createIntentJournal(MemoryJournal nextJournal) {
+        return (index, opcode, firstArgument, secondArgument, displaySymbolId) -> {
+            recordMemoryCell(index, opcode, firstArgument, secondArgument, displaySymbolId);
+            if (nextJournal != null) {
+                nextJournal.recordMemoryCell(index, opcode, firstArgument, secondArgument, displaySymbolId);
+            }
+        };
+    }
+
+    private void recordMemoryCell(int index, byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        if (!isStepInProgress) {
+            return;
+        }
+        int numberOfCells = state.getInt(intentOffset + INTENT_NUMBER_OF_CELLS_OFFSET);
+        //only the content before the first change of the memory cell is restored
+        for (int i = 0; i < numberOfCells; i++) {
+            if (state.getInt(getCellRecordOffset(i) + CELL_INDEX_OFFSET) == index) {
+                return;
+            }
+        }
+        int offset = getCellRecordOffset(numberOfCells);
+        state.putInt(offset + CELL_INDEX_OFFSET, index);
+        state.put(offset + CELL_OPCODE_OFFSET, opcode);
+        state.putInt(offset + CELL_FIRST_ARGUMENT_OFFSET, firstArgument);
+        state.putInt(offset + CELL_SECOND_ARGUMENT_OFFSET, secondArgument);
+        state.putShort(offset + CELL_DISPLAY_SYMBOL_ID_OFFSET, displaySymbolId);
+        //the memory cell is only part of the step once its content is written completely
+        state.putInt(intentOffset + INTENT_NUMBER_OF_CELLS_OFFSET, numberOfCells + 1);
+    }
+
+    private int getCellRecordOffset(int indexOfCell) {
+        return intentOffset + INTENT_CELLS_OFFSET + indexOfCell * CELL_RECORD_SIZE;
+    }
+
+    /**
+     * Writes the state of the AI that executed a command and the index of the next AI to the file, which completes
+     * the step that was begun. If the sync interval is reached, all changes are written to the storage device.
+     *
+     * @param indexOfAi the index of the AI in the list of active AIs
+     * @param ai the AI
+     * @param nextAiIndex the index of the next AI
+     */
+    public void saveAiState(int indexOfAi, ArtificialIntelligence ai, int nextAiIndex) {
+        int offset = getAiRecordOffset(indexOfAi);
+        state.putInt(offset + INSTRUCTION_POINTER_OFFSET, ai.getInstructionPointer());
+        state.putInt(offset + NUMBER_OF_EXECUTED_COMMANDS_OFFSET, ai.getNumberOfExecutedCommands());
+        state.put(offset + IS_ALIVE_OFFSET, (byte) (ai.getIsAlive() ? 1 : 0));
+        state.putInt(NEXT_AI_INDEX_OFFSET, nextAiIndex);
+        state.putInt(intentOffset + INTENT_IN_PROGRESS_OFFSET, 0);
+        isStepInProgress = false;
+        commandsSinceSync++;
+        if (syncInterval > 0 && commandsSinceSync >= syncInterval) {
+            sync();
+        }
+    }
+
+    /**
+     * Marks the game of the file as ended and writes all changes to the storage device.
+     */
+    public void endGame() {
+        state.putInt(NUMBER_OF_ACTIVE_AIS_OFFSET, 0);
+        sync();
+    }
+
+    /**
+     * Writes all changes of the memory cells and the state of the AIs to the storage device.
+     */
+    public void sync() {
+        storage.force();
+        state.force();
+        commandsSinceSync = 0;
+    }
+
+    /**
+     * Returns the number of executed commands after which the changes are written to the storage device
+     * automatically. If the interval is 0, the changes are only written by {@link #sync()}.
+     *
+     * @return the sync interval
+     */
+    public int getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * Sets the number of executed commands after which the changes are written to the storage device
+     * automatically. If the interval is 0, the changes are only written by {@link #sync()}.
+     * The interval is stored in the file, so it is kept when the program is started again with the same file.
+     *
+     * @param syncInterval the new sync interval
+     */
+    public void setSyncInterval(int syncInterval) {
+        this.syncInterval = syncInterval;
+        state.putInt(SYNC_INTERVAL_OFFSET, syncInterval);
+    }
+
+    private static int getAiRecordOffset(int indexOfAi) {
+        return HEADER_SIZE + indexOfAi * AI_RECORD_SIZE;
+    }
+}
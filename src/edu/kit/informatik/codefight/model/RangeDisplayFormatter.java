@@ -0,0 +1,110 @@
+package edu.kit.informatik.codefight.model;
+
+import java.util.Arrays;
+
+/**
+ * This class writes the range display of a memory into a reusable buffer of characters. Numbers are written digit by
+ * digit and padded to the width of their column directly, so neither a format string nor a string per number or line
+ * is created. The widths of the columns are measured arithmetically beforehand. Only the finished display is copied
+ * into a string.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+final class RangeDisplayFormatter {
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final int RADIX = 10;
+    private static final char PADDING = ' ';
+    private static final char MINUS = '-';
+    private char[] buffer = new char[INITIAL_CAPACITY];
+    private int length;
+
+    /**
+     * Returns the number of characters of the decimal representation of the given number including its sign.
+     *
+     * @param number the number
+     * @return the number of characters
+     */
+    static int getNumberOfCharacters(long number) {
+        int numberOfCharacters = number < 0 ? 2 : 1;
+        //the absolute value of the smallest long does not exist, so the number is divided while it is negative
+        long remainingDigits = number < 0 ? number : -number;
+        while (remainingDigits <= -RADIX) {
+            remainingDigits /= RADIX;
+            numberOfCharacters++;
+        }
+        return numberOfCharacters;
+    }
+
+    /**
+     * Removes the written characters, the buffer is kept for the next display.
+     */
+    void clear() {
+        length = 0;
+    }
+
+    /**
+     * Appends the given string.
+     *
+     * @param string the string
+     */
+    void append(String string) {
+        ensureCapacity(string.length());
+        string.getChars(0, string.length(), buffer, length);
+        length += string.length();
+    }
+
+    /**
+     * Appends the given string, padded with spaces on the left to the given width.
+     *
+     * @param string the string
+     * @param width the width of the column
+     */
+    void appendPadded(String string, int width) {
+        appendPadding(width - string.length());
+        append(string);
+    }
+
+    /**
+     * Appends the decimal representation of the given number, padded with spaces on the left to the given width.
+     *
+     * @param number the number
+     * @param width the width of the column
+     */
+    void appendPadded(long number, int width) {
+        int numberOfCharacters = getNumberOfCharacters(number);
+        appendPadding(width - numberOfCharacters);
+        ensureCapacity(numberOfCharacters);
+        //the digits are written from the last one on, negated to include the smallest long
+        long remainingDigits = number < 0 ? number : -number;
+        int position = length + numberOfCharacters;
+        do {
+            position--;
+            buffer[position] = (char) ('0' - remainingDigits % RADIX);
+            remainingDigits /= RADIX;
+        } while (remainingDigits != 0);
+        if (number < 0) {
+            buffer[position - 1] = MINUS;
+        }
+        length += numberOfCharacters;
+    }
+
+    private void appendPadding(int numberOfSpaces) {
+        if (numberOfSpaces > 0) {
+            ensureCapacity(numberOfSpaces);
+            Arrays.fill(buffer, length, length + numberOfSpaces, PADDING);
+            length += numberOfSpaces;
+        }
+    }
+
+    private void ensureCapacity(int numberOfCharacters) {
+        if (length + numberOfCharacters > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(2 * buffer.length, length + numberOfCharacters));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length);
+    }
+}
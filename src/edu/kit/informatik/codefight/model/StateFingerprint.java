@@ -0,0 +1,61 @@
+package edu.kit.informatik.codefight.model;
+
+/**
+ * This class represents a fingerprint of the state of a game. The fingerprint is the XOR of the hashes of all parts
+ * of the state, so a part is added or removed by toggling its hash and the fingerprint can be updated whenever a single
+ * part changes without looking at the rest of the state. Every part is identified by two keys.
+ * The fingerprint consists of two independently hashed lanes of 64 bits each, so two different states only have
+ * the same fingerprint with a negligible probability.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class StateFingerprint {
+    private static final long SEED_OF_FIRST_LANE = 0x9E3779B97F4A7C15L;
+    private static final long SEED_OF_SECOND_LANE = 0xC2B2AE3D27D4EB4FL;
+    private static final int FIRST_SHIFT_OF_MIX = 30;
+    private static final int SECOND_SHIFT_OF_MIX = 27;
+    private static final int THIRD_SHIFT_OF_MIX = 31;
+    private static final long FIRST_MULTIPLIER_OF_MIX = 0xBF58476D1CE4E5B9L;
+    private static final long SECOND_MULTIPLIER_OF_MIX = 0x94D049BB133111EBL;
+    private long firstLane;
+    private long secondLane;
+
+    /**
+     * Adds the part with the given keys to the fingerprint if it is not part of it or removes it otherwise.
+     *
+     * @param firstKey the first key of the part
+     * @param secondKey the second key of the part
+     */
+    public void toggle(long firstKey, long secondKey) {
+        firstLane ^= mix(mix(firstKey ^ SEED_OF_FIRST_LANE) ^ secondKey);
+        secondLane ^= mix(mix(firstKey ^ SEED_OF_SECOND_LANE) + secondKey);
+    }
+
+    /**
+     * Sets this fingerprint to the given fingerprint.
+     *
+     * @param fingerprint the fingerprint to copy
+     */
+    public void set(StateFingerprint fingerprint) {
+        this.firstLane = fingerprint.firstLane;
+        this.secondLane = fingerprint.secondLane;
+    }
+
+    /**
+     * Returns whether this fingerprint is the same as the given fingerprint.
+     *
+     * @param fingerprint the fingerprint to compare with
+     * @return true if both fingerprints are the same, false otherwise
+     */
+    public boolean matches(StateFingerprint fingerprint) {
+        return firstLane == fingerprint.firstLane && secondLane == fingerprint.secondLane;
+    }
+
+    //the finalizer of SplitMix64, every bit of the result depends on every bit of the value
+    private static long mix(long value) {
+        long mixedValue = (value ^ (value >>> FIRST_SHIFT_OF_MIX)) * FIRST_MULTIPLIER_OF_MIX;
+        mixedValue = (mixedValue ^ (mixedValue >>> SECOND_SHIFT_OF_MIX)) * SECOND_MULTIPLIER_OF_MIX;
+        return mixedValue ^ (mixedValue >>> THIRD_SHIFT_OF_MIX);
+    }
+}
@@ -0,0 +1,212 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.Memory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * This class evolves programs that survive against a benchmark pool of registered AIs. The fitness of a program is
+ * the share of points it gets in the matches against every AI of the pool on both seats for a fixed sample of seeds
+ * of the random init mode, a win counts two points and a draw one point. Every generation keeps its best programs,
+ * the other programs are replaced by mutated children of parents that are selected in small tournaments.
+ * The programs of a generation are evaluated in parallel on a fork-join pool, every thread plays the matches of a
+ * program one after another in a game of its own, in which the program is registered only while it is evaluated.
+ * The randomness is drawn from the seed of the memory of the game, so an evolution can be repeated.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class Evolution {
+    //a name with a space cannot be registered with the add-ai command, so it never hides a registered AI
+    private static final String CANDIDATE_NAME = "evolved candidate";
+    private static final String PROGRESS_FORMAT = "Generation %d: best %.1f%%, mean %.1f%%, best program %s";
+    private static final int SEEDS_PER_OPPONENT = 4;
+    private static final int NUMBER_OF_SEATS = 2;
+    private static final int POINTS_FOR_WIN = 2;
+    private static final int POINTS_FOR_DRAW = 1;
+    private static final int ELITE_SIZE = 2;
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final int MAX_INITIAL_LENGTH = 8;
+    private static final int MAX_LENGTH = 16;
+    private static final int HALL_OF_FAME_SIZE = 10;
+    private static final double PERCENT = 100.0;
+    private final CodeFight game;
+    private final int populationSize;
+    private final int maxSteps;
+    private final int argumentBound;
+    private final int maxLength;
+    private final Random random;
+    //the matches of the candidate against the pool, the same for every program
+    private final List<Match> matches;
+    private final int[] seatsOfCandidate;
+    //the fitness of the evaluated programs, the fitness of a program never changes during an evolution
+    private final Map<Program, Double> fitnesses;
+
+    /**
+     * Constructs a new evolution against the given registered AIs of the given game.
+     *
+     * @param game the game whose registered AIs are the benchmark pool
+     * @param benchmarkNames the names of the registered AIs of the benchmark pool
+     * @param populationSize the number of programs of every generation
+     * @param maxSteps the maximum number of steps of every match
+     */
+    public Evolution(CodeFight game, String[] benchmarkNames, int populationSize, int maxSteps) {
+        this.game = game;
+        this.populationSize = populationSize;
+        this.maxSteps = maxSteps;
+        int memorySize = game.getMemory().getSize();
+        this.argumentBound = memorySize / 2;
+        //a longer program overlaps with the other AI of its matches
+        this.maxLength = Math.max(1, Math.min(MAX_LENGTH, memorySize / NUMBER_OF_SEATS));
+        this.random = new Random(Objects.requireNonNullElse(game.getMemory().getSeed(), 0));
+        this.fitnesses = new HashMap<>();
+        this.matches = new ArrayList<>();
+        this.seatsOfCandidate = new int[benchmarkNames.length * SEEDS_PER_OPPONENT * NUMBER_OF_SEATS];
+        String randomInitMode = Memory.getInitModes()[0];
+        for (String benchmarkName : benchmarkNames) {
+            for (int i = 0; i < SEEDS_PER_OPPONENT; i++) {
+                int seed = Memory.MIN_SEED + random.nextInt(Memory.MAX_SEED - Memory.MIN_SEED + 1);
+                seatsOfCandidate[matches.size()] = 0;
+                matches.add(new Match(new String[] {CANDIDATE_NAME, benchmarkName}, randomInitMode, seed));
+                seatsOfCandidate[matches.size()] = 1;
+                matches.add(new Match(new String[] {benchmarkName, CANDIDATE_NAME}, randomInitMode, seed));
+            }
+        }
+    }
+
+    /**
+     * Evolves the given number of generations on the given pool.
+     *
+     * @param pool the pool the programs are evaluated on
+     * @param numberOfGenerations the number of generations
+     * @param progressConsumer receives a summary of every generation
+     * @return the best programs of all generations
+     */
+    public HallOfFame evolve(ForkJoinPool pool, int numberOfGenerations, Consumer<String> progressConsumer) {
+        HallOfFame hallOfFame = new HallOfFame(HALL_OF_FAME_SIZE);
+        List<Program> population = new ArrayList<>();
+        for (int i = 0; i < populationSize; i++) {
+            population.add(Program.createRandom(random, 1 + random.nextInt(Math.min(MAX_INITIAL_LENGTH, maxLength)),
+                    argumentBound));
+        }
+        MatchBatch matchBatch = new MatchBatch(game, maxSteps);
+        try {
+            for (int generation = 1; generation <= numberOfGenerations; generation++) {
+                double[] fitnessOfPopulation = evaluate(population, matchBatch, pool);
+                int[] ranking = rank(fitnessOfPopulation);
+                double sum = 0;
+                for (int i = 0; i < population.size(); i++) {
+                    hallOfFame.add(population.get(i), fitnessOfPopulation[i]);
+                    sum += fitnessOfPopulation[i];
+                }
+                //the decimal separator does not depend on the locale of the system
+                progressConsumer.accept(String.format(Locale.ROOT, PROGRESS_FORMAT, generation,
+                        fitnessOfPopulation[ranking[0]] * PERCENT, sum / population.size() * PERCENT,
+                        population.get(ranking[0]).toAiCommands()));
+                population = breed(population, fitnessOfPopulation, ranking);
+                //only the fitness of programs that survived into the next generation is kept
+                fitnesses.keySet().retainAll(new HashSet<>(population));
+            }
+        } finally {
+            matchBatch.release();
+        }
+        return hallOfFame;
+    }
+
+    private double[] evaluate(List<Program> population, MatchBatch matchBatch, ForkJoinPool pool) {
+        //only programs that were not evaluated before are evaluated, every distinct program once
+        Set<Program> distinctNewPrograms = new LinkedHashSet<>();
+        for (Program program : population) {
+            if (!fitnesses.containsKey(program)) {
+                distinctNewPrograms.add(program);
+            }
+        }
+        List<Program> newPrograms = new ArrayList<>(distinctNewPrograms);
+        double[] fitnessOfNewPrograms = new double[newPrograms.size()];
+        matchBatch.run(newPrograms.size(), i -> fitnessOfNewPrograms[i] = evaluate(newPrograms.get(i), matchBatch),
+                pool);
+        for (int i = 0; i < newPrograms.size(); i++) {
+            fitnesses.put(newPrograms.get(i), fitnessOfNewPrograms[i]);
+        }
+        double[] fitnessOfPopulation = new double[population.size()];
+        for (int i = 0; i < population.size(); i++) {
+            fitnessOfPopulation[i] = fitnesses.get(population.get(i));
+        }
+        return fitnessOfPopulation;
+    }
+
+    private double evaluate(Program program, MatchBatch matchBatch) {
+        CodeFight gameOfThread = matchBatch.getGameOfThread();
+        gameOfThread.registerAi(program.toAi(CANDIDATE_NAME));
+        int points = 0;
+        try {
+            for (int i = 0; i < matches.size(); i++) {
+                MatchResult result = matchBatch.play(matches.get(i));
+                //a match that cannot be played is lost
+                if (result.isValid()) {
+                    int comparison = result.compareSurvival(seatsOfCandidate[i], 1 - seatsOfCandidate[i]);
+                    if (comparison > 0) {
+                        points += POINTS_FOR_WIN;
+                    } else if (comparison == 0) {
+                        points += POINTS_FOR_DRAW;
+                    }
+                }
+            }
+        } finally {
+            gameOfThread.removeAi(CANDIDATE_NAME);
+        }
+        return (double) points / (POINTS_FOR_WIN * matches.size());
+    }
+
+    private static int[] rank(double[] fitnessOfPopulation) {
+        //insertion sort by descending fitness keeps programs with the same fitness in the order of the population
+        int[] ranking = new int[fitnessOfPopulation.length];
+        for (int i = 0; i < ranking.length; i++) {
+            int position = i;
+            while (position > 0 && fitnessOfPopulation[ranking[position - 1]] < fitnessOfPopulation[i]) {
+                ranking[position] = ranking[position - 1];
+                position--;
+            }
+            ranking[position] = i;
+        }
+        return ranking;
+    }
+
+    private List<Program> breed(List<Program> population, double[] fitnessOfPopulation, int[] ranking) {
+        List<Program> nextPopulation = new ArrayList<>();
+        for (int i = 0; i < Math.min(ELITE_SIZE, populationSize); i++) {
+            nextPopulation.add(population.get(ranking[i]));
+        }
+        while (nextPopulation.size() < populationSize) {
+            Program child = select(population, fitnessOfPopulation);
+            if (random.nextBoolean()) {
+                child = child.crossover(select(population, fitnessOfPopulation), random, maxLength);
+            }
+            nextPopulation.add(child.mutate(random, argumentBound, maxLength));
+        }
+        return nextPopulation;
+    }
+
+    private Program select(List<Program> population, double[] fitnessOfPopulation) {
+        int best = random.nextInt(population.size());
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            int contestant = random.nextInt(population.size());
+            if (fitnessOfPopulation[contestant] > fitnessOfPopulation[best]) {
+                best = contestant;
+            }
+        }
+        return population.get(best);
+    }
+}
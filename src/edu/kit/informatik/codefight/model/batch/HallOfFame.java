@@ -0,0 +1,85 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This class represents the best distinct programs found by an evolution, ordered by their fitness. Programs with
+ * the same fitness are ordered by the time they were found first.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class HallOfFame {
+    private static final String ENTRY_FORMAT = "%d. %.1f%% %s";
+    private static final double PERCENT = 100.0;
+    private final int capacity;
+    private final List<Program> programs;
+    private final List<Double> fitnesses;
+
+    /**
+     * Constructs a new empty hall of fame.
+     *
+     * @param capacity the maximum number of programs
+     */
+    public HallOfFame(int capacity) {
+        this.capacity = capacity;
+        this.programs = new ArrayList<>();
+        this.fitnesses = new ArrayList<>();
+    }
+
+    /**
+     * Adds the given program if it is not in the hall of fame yet and if it is better than the worst program of a full
+     * hall of fame, which is removed then.
+     *
+     * @param program the program
+     * @param fitness the fitness of the program between 0 and 1
+     */
+    public void add(Program program, double fitness) {
+        if (programs.contains(program)) {
+            return;
+        }
+        int position = programs.size();
+        while (position > 0 && fitnesses.get(position - 1) < fitness) {
+            position--;
+        }
+        if (position == capacity) {
+            return;
+        }
+        programs.add(position, program);
+        fitnesses.add(position, fitness);
+        if (programs.size() > capacity) {
+            programs.remove(capacity);
+            fitnesses.remove(capacity);
+        }
+    }
+
+    /**
+     * Returns the programs ordered by their fitness, the best program first.
+     *
+     * @return the programs
+     */
+    public List<Program> getPrograms() {
+        return List.copyOf(programs);
+    }
+
+    /**
+     * Returns the hall of fame as text, one line for every program with its fitness and its AI commands in the format
+     * of the add-ai command.
+     *
+     * @return the hall of fame as text
+     */
+    public String format() {
+        StringBuilder hallOfFame = new StringBuilder();
+        for (int i = 0; i < programs.size(); i++) {
+            if (i != 0) {
+                hallOfFame.append(System.lineSeparator());
+            }
+            //the decimal separator does not depend on the locale of the system
+            hallOfFame.append(String.format(Locale.ROOT, ENTRY_FORMAT, i + 1, fitnesses.get(i) * PERCENT,
+                    programs.get(i).toAiCommands()));
+        }
+        return hallOfFame.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import edu.kit.informatik.codefight.exceptions.GameExecutionException;
+import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.CodeFight;
+
+import java.util.List;
+
+/**
+ * This class represents a match of registered AIs without any user interaction. A match is played in a game of its
+ * own until at most one AI is alive or the maximum number of steps is reached. The result of a match only depends on
+ * the AIs, the init mode, the seeds and the maximum number of steps, so matches can be played in parallel.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class Match {
+    private final String[] aiNames;
+    private final String initMode;
+    private final int seed;
+    private final Long placementSeed;
+
+    /**
+     * Constructs a new match in which the AIs are placed at fixed distances.
+     *
+     * @param aiNames the names of the registered AIs in the order of their seats
+     * @param initMode the init mode of the memory
+     * @param seed the seed of the memory, only used by the random init mode
+     */
+    public Match(String[] aiNames, String initMode, int seed) {
+        this(aiNames, initMode, seed, null);
+    }
+
+    /**
+     * Constructs a new match.
+     *
+     * @param aiNames the names of the registered AIs in the order of their seats
+     * @param initMode the init mode of the memory
+     * @param seed the seed of the memory, only used by the random init mode
+     * @param placementSeed the seed of the random placement of the AIs or null if the AIs are placed at fixed distances
+     */
+    public Match(String[] aiNames, String initMode, int seed, Long placementSeed) {
+        this.aiNames = aiNames.clone();
+        this.initMode = initMode;
+        this.seed = seed;
+        this.placementSeed = placementSeed;
+    }
+
+    /**
+     * Returns the names of the AIs in the order of their seats.
+     *
+     * @return the names of the AIs
+     */
+    public String[] getAiNames() {
+        return aiNames.clone();
+    }
+
+    /**
+     * Returns the init mode of the memory.
+     *
+     * @return the init mode
+     */
+    public String getInitMode() {
+        return initMode;
+    }
+
+    /**
+     * Returns the seed of the memory, which is only used by the random init mode.
+     *
+     * @return the seed
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the seed of the random placement of the AIs.
+     *
+     * @return the seed or null if the AIs are placed at fixed distances
+     */
+    public Long getPlacementSeed() {
+        return placementSeed;
+    }
+
+    /**
+     * Plays the match in the given game. The game has to be in the setup phase and all AIs of the match have to be
+     * registered. After the match, the game is in the setup phase again.
+     *
+     * @param game the game to play the match in
+     * @param maxSteps the maximum number of steps
+     * @return the result of the match
+     */
+    public MatchResult play(CodeFight game, int maxSteps) {
+        game.getMemory().setInitMode(initMode);
+        game.getMemory().setSeed(seed);
+        game.setPlacementSeed(placementSeed);
+        //the game stops at the step at which it is decided, so the last living AI cannot stop afterwards
+        game.setStoppedWhenDecided(true);
+        game.setActiveAis(aiNames);
+        try {
+            game.startGame();
+        } catch (GameInitialisationException e) {
+            return MatchResult.invalid();
+        }
+        List<ArtificialIntelligence> ais = game.getActiveAis();
+        try {
+            game.executeNextCommands(maxSteps);
+        } catch (GameExecutionException e) {
+            game.reset();
+            return MatchResult.invalid();
+        }
+        //the game ends before the maximum number of steps if it is decided earlier
+        int numberOfSteps = 0;
+        int[] stopCommands = new int[ais.size()];
+        for (int seat = 0; seat < stopCommands.length; seat++) {
+            ArtificialIntelligence ai = ais.get(seat);
+            numberOfSteps += ai.getNumberOfExecutedCommands();
+            stopCommands[seat] = ai.getIsAlive() ? MatchResult.NOT_STOPPED : ai.getNumberOfExecutedCommands();
+        }
+        game.reset();
+        return new MatchResult(stopCommands, numberOfSteps);
+    }
+}
@@ -0,0 +1,152 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import edu.kit.informatik.codefight.model.CodeFight;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * This class plays batches of matches on a fork-join pool. Every thread of the pool plays its matches one after
+ * another in an independent game of its own, which keeps the storage of its memory cells from match to match and
+ * from batch to batch until the games are released.
+ * The results are stored in the order of the matches, so they do not depend on the thread that played a match.
+ * If the game has a {@link MatchResultCache}, matches that were played before are looked up instead of played again.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+final class MatchBatch {
+    private final CodeFight game;
+    private final int maxSteps;
+    private final MatchResultCache resultCache;
+    private final ThreadLocal<CodeFight> gamesOfThreads;
+    //all games of the threads, so their storages can be released when all batches are played
+    private final Queue<CodeFight> games;
+
+    /**
+     * Constructs a new player of batches of matches.
+     *
+     * @param game the game whose registered AIs take part
+     * @param maxSteps the maximum number of steps of every match
+     */
+    MatchBatch(CodeFight game, int maxSteps) {
+        this.game = game;
+        this.maxSteps = maxSteps;
+        this.resultCache = game.getResultCache();
+        this.games = new ConcurrentLinkedQueue<>();
+        this.gamesOfThreads = ThreadLocal.withInitial(this::createGameOfThread);
+    }
+
+    /**
+     * Plays the given matches on the given pool.
+     *
+     * @param matches the matches
+     * @param pool the pool the matches are played on
+     * @return the results of the matches in the order of the matches
+     */
+    MatchResult[] play(List<Match> matches, ForkJoinPool pool) {
+        MatchResult[] results = new MatchResult[matches.size()];
+        run(matches.size(), i -> results[i] = play(matches.get(i)), pool);
+        return results;
+    }
+
+    /**
+     * Plays the given match in the {@link #getGameOfThread() game of the current thread} or looks up its result in
+     * the result cache of the game.
+     *
+     * @param match the match
+     * @return the result of the match
+     */
+    MatchResult play(Match match) {
+        CodeFight gameOfThread = getGameOfThread();
+        if (resultCache == null) {
+            return match.play(gameOfThread, maxSteps);
+        }
+        //the key is taken from the game of the thread, because AIs can be registered only there
+        MatchKey key = MatchKey.of(match, gameOfThread, maxSteps);
+        if (key == null) {
+            return match.play(gameOfThread, maxSteps);
+        }
+        MatchResult result = resultCache.get(key);
+        if (result == null) {
+            result = match.play(gameOfThread, maxSteps);
+            resultCache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the given work for every index from 0 to the given number of indices on the given pool. The work can
+     * play matches in the {@link #getGameOfThread() game of its thread}.
+     *
+     * @param numberOfIndices the number of indices
+     * @param work the work for a single index
+     * @param pool the pool the work is run on
+     */
+    void run(int numberOfIndices, IntConsumer work, ForkJoinPool pool) {
+        pool.invoke(new WorkTask(work, 0, numberOfIndices));
+    }
+
+    /**
+     * Returns the game of the current thread, which is in the setup phase between two matches.
+     *
+     * @return the game of the current thread
+     */
+    CodeFight getGameOfThread() {
+        return gamesOfThreads.get();
+    }
+
+    /**
+     * Releases the storages of the games of all threads. No more matches are played afterwards.
+     */
+    void release() {
+        for (CodeFight gameOfThread : games) {
+            gameOfThread.getMemory().setStorageKept(false);
+            gameOfThread.getMemory().releaseStorage();
+        }
+        games.clear();
+    }
+
+    private CodeFight createGameOfThread() {
+        CodeFight gameOfThread = game.createIndependentGame();
+        gameOfThread.getMemory().setStorageKept(true);
+        games.add(gameOfThread);
+        return gameOfThread;
+    }
+
+    /**
+     * This class represents the task of running the work for a range of indices. The range is split in halves until
+     * it contains a single index, so idle threads of the pool can steal the remaining work.
+     */
+    private static final class WorkTask extends RecursiveAction {
+        /**
+         * Unique serialVersionUID.
+         */
+        private static final long serialVersionUID = 7316042859L;
+        private final transient IntConsumer work;
+        private final int from;
+        private final int to;
+
+        WorkTask(IntConsumer work, int from, int to) {
+            this.work = work;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    work.accept(from);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new WorkTask(work, from, middle), new WorkTask(work, middle, to));
+        }
+    }
+}
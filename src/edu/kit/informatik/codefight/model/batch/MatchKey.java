@@ -0,0 +1,117 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.MemoryCell;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * This class represents the key of the result of a match in a {@link MatchResultCache}. A match is fully determined
+ * by the AI commands of the AIs in the order of their seats, the memory size, the init mode, the seed, the placement
+ * and the maximum number of steps, so the key is the SHA-256 hash of a canonical encoding of these inputs.
+ * The names of the AIs are not part of the key, because they do not change the result.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+final class MatchKey {
+    /**
+     * The number of bytes of a key.
+     */
+    static final int SIZE = 32;
+    //changes of the encoding or of the game rules change the version, so old results are never found again
+    private static final int VERSION = 1;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private final byte[] hash;
+
+    /**
+     * Constructs a key from its bytes.
+     *
+     * @param hash the bytes of the key
+     */
+    MatchKey(byte[] hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * Creates the key of the given match in the given game.
+     *
+     * @param match the match
+     * @param game the game whose registered AIs take part in the match
+     * @param maxSteps the maximum number of steps of the match
+     * @return the key or null if an AI of the match is not registered
+     */
+    static MatchKey of(Match match, CodeFight game, int maxSteps) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream encoding = new DataOutputStream(bytes)) {
+            encoding.writeInt(VERSION);
+            encoding.writeInt(game.getMemory().getSize());
+            encoding.writeUTF(match.getInitMode());
+            //the seed only changes the memory in the random init mode
+            encoding.writeInt(match.getInitMode().equals(Memory.getInitModes()[0]) ? match.getSeed() : 0);
+            encoding.writeBoolean(match.getPlacementSeed() != null);
+            encoding.writeLong(match.getPlacementSeed() != null ? match.getPlacementSeed() : 0);
+            encoding.writeInt(maxSteps);
+            String[] aiNames = match.getAiNames();
+            encoding.writeInt(aiNames.length);
+            for (String aiName : aiNames) {
+                ArtificialIntelligence ai = findRegisteredAi(game, aiName);
+                if (ai == null) {
+                    return null;
+                }
+                encoding.writeInt(ai.getAiCommands().size());
+                for (MemoryCell aiCommand : ai.getAiCommands()) {
+                    encoding.writeByte(aiCommand.getOpcode().getCode());
+                    encoding.writeInt(aiCommand.getFirstArgument());
+                    encoding.writeInt(aiCommand.getSecondArgument());
+                }
+            }
+        } catch (IOException e) {
+            //a byte array output stream never fails
+            throw new UncheckedIOException(e);
+        }
+        try {
+            return new MatchKey(MessageDigest.getInstance(HASH_ALGORITHM).digest(bytes.toByteArray()));
+        } catch (NoSuchAlgorithmException e) {
+            //every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ArtificialIntelligence findRegisteredAi(CodeFight game, String aiName) {
+        for (ArtificialIntelligence ai : game.getRegisteredAis()) {
+            if (ai.getName().equals(aiName)) {
+                return ai;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the bytes of the key.
+     *
+     * @return a copy of the bytes
+     */
+    byte[] getHash() {
+        return hash.clone();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof MatchKey other && Arrays.equals(hash, other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        //the bytes of a hash are evenly distributed, so the first bytes are as good as a hash code
+        return (hash[0] & 0xFF) << 24 | (hash[1] & 0xFF) << 16 | (hash[2] & 0xFF) << 8 | hash[3] & 0xFF;
+    }
+}
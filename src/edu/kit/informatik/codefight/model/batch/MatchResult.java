@@ -0,0 +1,117 @@
+package edu.kit.informatik.codefight.model.batch;
+
+/**
+ * This class represents the result of a match. For every seat of the match, it is known whether the AI on this seat
+ * stopped and after how many of its own commands. An AI outlived another AI if it did not stop while the other AI
+ * stopped or if it stopped later.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class MatchResult {
+    /**
+     * The number of executed commands of an AI that did not stop.
+     */
+    public static final int NOT_STOPPED = -1;
+    private static final MatchResult INVALID = new MatchResult(null, 0);
+    //the number of executed commands of each seat when the AI stopped or NOT_STOPPED, null if the match is invalid
+    private final int[] stopCommands;
+    private final int numberOfSteps;
+
+    /**
+     * Constructs a new result of a valid match.
+     *
+     * @param stopCommands the number of executed commands of the AI on each seat when it stopped
+     *                     or {@link #NOT_STOPPED} if it did not stop
+     * @param numberOfSteps the number of executed steps of the match
+     */
+    public MatchResult(int[] stopCommands, int numberOfSteps) {
+        this.stopCommands = stopCommands;
+        this.numberOfSteps = numberOfSteps;
+    }
+
+    /**
+     * Returns the result of a match that could not be played, for example because the AI commands overlap.
+     *
+     * @return the result of an invalid match
+     */
+    public static MatchResult invalid() {
+        return INVALID;
+    }
+
+    /**
+     * Returns whether the match could be played.
+     *
+     * @return true if the match is valid, false otherwise
+     */
+    public boolean isValid() {
+        return stopCommands != null;
+    }
+
+    /**
+     * Returns the number of executed steps of the match.
+     *
+     * @return the number of steps
+     */
+    public int getNumberOfSteps() {
+        return numberOfSteps;
+    }
+
+    /**
+     * Returns the number of seats of the match.
+     *
+     * @return the number of seats
+     */
+    public int getNumberOfSeats() {
+        return stopCommands.length;
+    }
+
+    /**
+     * Returns the number of executed commands of the AI on the given seat when it stopped.
+     *
+     * @param seat the seat
+     * @return the number of executed commands or {@link #NOT_STOPPED} if the AI did not stop
+     */
+    public int getStopCommand(int seat) {
+        return stopCommands[seat];
+    }
+
+    /**
+     * Returns the seat of the only AI that did not stop.
+     *
+     * @return the seat of the winner or -1 if more than one AI did not stop
+     */
+    public int getWinner() {
+        int winner = -1;
+        for (int seat = 0; seat < stopCommands.length; seat++) {
+            if (stopCommands[seat] == NOT_STOPPED) {
+                if (winner != -1) {
+                    return -1;
+                }
+                winner = seat;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Compares how long the AIs on the given seats survived.
+     *
+     * @param seat the seat of the first AI
+     * @param otherSeat the seat of the second AI
+     * @return a positive number if the first AI outlived the second AI, a negative number if the second AI outlived
+     *         the first AI and 0 if both did not stop
+     */
+    public int compareSurvival(int seat, int otherSeat) {
+        int stopCommand = stopCommands[seat];
+        int otherStopCommand = stopCommands[otherSeat];
+        if (stopCommand == NOT_STOPPED || otherStopCommand == NOT_STOPPED) {
+            return Boolean.compare(stopCommand == NOT_STOPPED, otherStopCommand == NOT_STOPPED);
+        }
+        if (stopCommand != otherStopCommand) {
+            return Integer.compare(stopCommand, otherStopCommand);
+        }
+        //with the same number of executed commands, the AI on the later seat executed its command later in the round
+        return Integer.compare(seat, otherSeat);
+    }
+}
@@ -0,0 +1,198 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class caches the results of matches by their {@link MatchKey}, so a match that was played before is not played
+ * again, even by a later run of the program. The results are kept in two tiers: the most recently used results are kept
+ * in memory, all results are appended to a file. The file consists of a header and one record per result, the offsets
+ * of the records are indexed when the file is opened, so a result that is not in memory is read with a single access.
+ * A record that was not written completely, for example because the program was killed, is cut off when the file is
+ * opened. If the file cannot be accessed anymore while the program is running, only the memory tier is used.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class MatchResultCache {
+    private static final String FILE_ACCESS_FAILURE = "The result cache file cannot be accessed.";
+    private static final String FILE_INVALID = "The result cache file is no valid result cache file.";
+    private static final int MAGIC_NUMBER = 0x43465243;
+    private static final int HEADER_SIZE = 4;
+    //the key, the number of steps and the number of seats, followed by the number of executed commands of every seat
+    private static final int RECORD_HEADER_SIZE = MatchKey.SIZE + Integer.BYTES + Integer.BYTES;
+    //the number of seats of a match that could not be played
+    private static final int INVALID_SEATS = -1;
+    private static final int MEMORY_CAPACITY = 1 << 16;
+    private final Map<MatchKey, MatchResult> recentResults;
+    private final Map<MatchKey, Long> positionsOfRecords;
+    private FileChannel fileChannel;
+    private long sizeOfFile;
+
+    /**
+     * Opens the result cache file at the given path or creates it if it does not exist.
+     *
+     * @param path the path of the file
+     * @throws GameInitialisationException if the file cannot be accessed or is no result cache file
+     */
+    public MatchResultCache(Path path) throws GameInitialisationException {
+        //the access order makes the eldest entry the least recently used one
+        this.recentResults = new LinkedHashMap<>(MEMORY_CAPACITY, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MatchKey, MatchResult> eldest) {
+                return size() > MEMORY_CAPACITY;
+            }
+        };
+        this.positionsOfRecords = new HashMap<>();
+        try {
+            fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            if (fileChannel.size() == 0) {
+                fileChannel.write(ByteBuffer.allocate(HEADER_SIZE).putInt(0, MAGIC_NUMBER), 0);
+                sizeOfFile = HEADER_SIZE;
+            } else {
+                indexRecords();
+            }
+        } catch (IOException e) {
+            throw new GameInitialisationException(FILE_ACCESS_FAILURE);
+        }
+    }
+
+    private void indexRecords() throws IOException, GameInitialisationException {
+        //the stream is not closed, because closing it would close the channel
+        DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(fileChannel.position(0))));
+        try {
+            if (input.readInt() != MAGIC_NUMBER) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+        } catch (EOFException e) {
+            throw new GameInitialisationException(FILE_INVALID);
+        }
+        long position = HEADER_SIZE;
+        byte[] hash = new byte[MatchKey.SIZE];
+        try {
+            while (true) {
+                input.readFully(hash);
+                input.readInt();
+                int numberOfSeats = input.readInt();
+                for (int seat = 0; seat < numberOfSeats; seat++) {
+                    input.readInt();
+                }
+                positionsOfRecords.put(new MatchKey(hash.clone()), position);
+                position += getSizeOfRecord(numberOfSeats);
+            }
+        } catch (EOFException e) {
+            //the end of the file or of the last complete record is reached
+            fileChannel.truncate(position);
+            sizeOfFile = position;
+        }
+    }
+
+    private static int getSizeOfRecord(int numberOfSeats) {
+        return RECORD_HEADER_SIZE + Math.max(0, numberOfSeats) * Integer.BYTES;
+    }
+
+    /**
+     * Returns the result of the match with the given key.
+     *
+     * @param key the key of the match
+     * @return the result or null if the match was not played before
+     */
+    synchronized MatchResult get(MatchKey key) {
+        MatchResult result = recentResults.get(key);
+        if (result != null || fileChannel == null) {
+            return result;
+        }
+        Long position = positionsOfRecords.get(key);
+        if (position == null) {
+            return null;
+        }
+        try {
+            result = readRecord(position);
+        } catch (IOException e) {
+            closeFile();
+            return null;
+        }
+        recentResults.put(key, result);
+        return result;
+    }
+
+    /**
+     * Adds the result of the match with the given key to both tiers of the cache.
+     *
+     * @param key the key of the match
+     * @param result the result of the match
+     */
+    synchronized void put(MatchKey key, MatchResult result) {
+        recentResults.put(key, result);
+        if (fileChannel == null || positionsOfRecords.containsKey(key)) {
+            return;
+        }
+        int numberOfSeats = result.isValid() ? result.getNumberOfSeats() : INVALID_SEATS;
+        ByteBuffer record = ByteBuffer.allocate(getSizeOfRecord(numberOfSeats));
+        record.put(key.getHash()).putInt(result.getNumberOfSteps()).putInt(numberOfSeats);
+        for (int seat = 0; seat < numberOfSeats; seat++) {
+            record.putInt(result.getStopCommand(seat));
+        }
+        record.flip();
+        try {
+            long position = sizeOfFile;
+            while (record.hasRemaining()) {
+                position += fileChannel.write(record, position);
+            }
+            positionsOfRecords.put(key, sizeOfFile);
+            sizeOfFile = position;
+        } catch (IOException e) {
+            closeFile();
+        }
+    }
+
+    private MatchResult readRecord(long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(header, position);
+        int numberOfSteps = header.getInt(MatchKey.SIZE);
+        int numberOfSeats = header.getInt(MatchKey.SIZE + Integer.BYTES);
+        if (numberOfSeats == INVALID_SEATS) {
+            return MatchResult.invalid();
+        }
+        ByteBuffer stopCommands = ByteBuffer.allocate(numberOfSeats * Integer.BYTES);
+        readFully(stopCommands, position + RECORD_HEADER_SIZE);
+        int[] stopCommandsOfSeats = new int[numberOfSeats];
+        for (int seat = 0; seat < numberOfSeats; seat++) {
+            stopCommandsOfSeats[seat] = stopCommands.getInt(seat * Integer.BYTES);
+        }
+        return new MatchResult(stopCommandsOfSeats, numberOfSteps);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private void closeFile() {
+        //the results of the file that are not in memory are lost, but the cache keeps working
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            //the file is not used anymore anyway
+        }
+        fileChannel = null;
+        positionsOfRecords.clear();
+    }
+}
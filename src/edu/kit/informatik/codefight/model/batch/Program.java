@@ -0,0 +1,204 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.round.aicommands.Opcode;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class represents the AI commands of an AI as the genome of an evolution. A program is never changed,
+ * mutations and crossovers create new programs. The arguments of the commands are kept within a bound, because
+ * larger arguments have the same effect as their remainders modulo the size of the memory.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class Program {
+    private static final String AI_COMMANDS_SEPARATOR = ",";
+    private static final int NUMBER_OF_MUTATIONS = 5;
+    //most mutations of an argument are small steps, the others choose any argument within the bound
+    private static final int MAX_ARGUMENT_STEP = 4;
+    private static final Opcode[] OPCODES = Opcode.values();
+    private final Opcode[] opcodes;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+
+    private Program(Opcode[] opcodes, int[] firstArguments, int[] secondArguments) {
+        this.opcodes = opcodes;
+        this.firstArguments = firstArguments;
+        this.secondArguments = secondArguments;
+    }
+
+    /**
+     * Creates a program of random commands.
+     *
+     * @param random the source of randomness
+     * @param length the number of commands
+     * @param argumentBound the largest absolute value of an argument
+     * @return the random program
+     */
+    public static Program createRandom(Random random, int length, int argumentBound) {
+        Program program = new Program(new Opcode[length], new int[length], new int[length]);
+        for (int i = 0; i < length; i++) {
+            program.setRandomCommand(i, random, argumentBound);
+        }
+        return program;
+    }
+
+    /**
+     * Returns the number of commands of the program.
+     *
+     * @return the number of commands
+     */
+    public int getLength() {
+        return opcodes.length;
+    }
+
+    /**
+     * Creates a copy of this program with a random change: a changed opcode, a changed argument, an inserted command
+     * or a removed command.
+     *
+     * @param random the source of randomness
+     * @param argumentBound the largest absolute value of an argument
+     * @param maxLength the maximum number of commands
+     * @return the mutated program
+     */
+    public Program mutate(Random random, int argumentBound, int maxLength) {
+        int position = random.nextInt(getLength());
+        switch (random.nextInt(NUMBER_OF_MUTATIONS)) {
+            case 0 -> {
+                Program mutant = copy();
+                mutant.opcodes[position] = OPCODES[random.nextInt(OPCODES.length)];
+                return mutant;
+            }
+            case 1 -> {
+                Program mutant = copy();
+                mutant.firstArguments[position] = mutateArgument(firstArguments[position], random, argumentBound);
+                return mutant;
+            }
+            case 2 -> {
+                Program mutant = copy();
+                mutant.secondArguments[position] = mutateArgument(secondArguments[position], random, argumentBound);
+                return mutant;
+            }
+            case 3 -> {
+                if (getLength() >= maxLength) {
+                    return mutate(random, argumentBound, maxLength);
+                }
+                //the commands from the position on move one cell back to make room for the new command
+                int insertPosition = random.nextInt(getLength() + 1);
+                Program mutant = new Program(new Opcode[getLength() + 1], new int[getLength() + 1], new int[getLength() + 1]);
+                mutant.copyCommands(this, 0, 0, insertPosition);
+                mutant.setRandomCommand(insertPosition, random, argumentBound);
+                mutant.copyCommands(this, insertPosition, insertPosition + 1, getLength() - insertPosition);
+                return mutant;
+            }
+            default -> {
+                if (getLength() == 1) {
+                    return mutate(random, argumentBound, maxLength);
+                }
+                Program mutant = new Program(new Opcode[getLength() - 1], new int[getLength() - 1], new int[getLength() - 1]);
+                mutant.copyCommands(this, 0, 0, position);
+                mutant.copyCommands(this, position + 1, position, getLength() - position - 1);
+                return mutant;
+            }
+        }
+    }
+
+    /**
+     * Creates a program of the commands of this program in front of a random cut followed by the commands of the
+     * other program behind a random cut. The cuts are chosen independently, so the length of the program can change.
+     *
+     * @param other the other program
+     * @param random the source of randomness
+     * @param maxLength the maximum number of commands
+     * @return the new program with at least one command
+     */
+    public Program crossover(Program other, Random random, int maxLength) {
+        int cut = 1 + random.nextInt(getLength());
+        int otherCut = random.nextInt(other.getLength() + 1);
+        int length = Math.min(maxLength, cut + other.getLength() - otherCut);
+        int lengthOfFront = Math.min(cut, length);
+        Program child = new Program(new Opcode[length], new int[length], new int[length]);
+        child.copyCommands(this, 0, 0, lengthOfFront);
+        child.copyCommands(other, otherCut, lengthOfFront, length - lengthOfFront);
+        return child;
+    }
+
+    /**
+     * Creates an AI with the commands of this program.
+     *
+     * @param name the name of the AI
+     * @return the new AI
+     */
+    public ArtificialIntelligence toAi(String name) {
+        ArtificialIntelligence ai = new ArtificialIntelligence(name);
+        ai.setAiCommands(toAiCommands().split(AI_COMMANDS_SEPARATOR));
+        return ai;
+    }
+
+    /**
+     * Returns the commands of this program in the format of the AI commands of the add-ai command.
+     *
+     * @return the AI commands, for example "MOV_R,0,1"
+     */
+    public String toAiCommands() {
+        StringBuilder aiCommands = new StringBuilder();
+        for (int i = 0; i < getLength(); i++) {
+            if (i != 0) {
+                aiCommands.append(AI_COMMANDS_SEPARATOR);
+            }
+            aiCommands.append(opcodes[i].getCommandName()).append(AI_COMMANDS_SEPARATOR).append(firstArguments[i])
+                    .append(AI_COMMANDS_SEPARATOR).append(secondArguments[i]);
+        }
+        return aiCommands.toString();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Program other)) {
+            return false;
+        }
+        return Arrays.equals(opcodes, other.opcodes) && Arrays.equals(firstArguments, other.firstArguments)
+                && Arrays.equals(secondArguments, other.secondArguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(opcodes) + Arrays.hashCode(firstArguments)) + Arrays.hashCode(secondArguments);
+    }
+
+    @Override
+    public String toString() {
+        return toAiCommands();
+    }
+
+    private Program copy() {
+        return new Program(opcodes.clone(), firstArguments.clone(), secondArguments.clone());
+    }
+
+    private void copyCommands(Program source, int sourcePosition, int position, int length) {
+        System.arraycopy(source.opcodes, sourcePosition, opcodes, position, length);
+        System.arraycopy(source.firstArguments, sourcePosition, firstArguments, position, length);
+        System.arraycopy(source.secondArguments, sourcePosition, secondArguments, position, length);
+    }
+
+    private void setRandomCommand(int position, Random random, int argumentBound) {
+        opcodes[position] = OPCODES[random.nextInt(OPCODES.length)];
+        firstArguments[position] = random.nextInt(2 * argumentBound + 1) - argumentBound;
+        secondArguments[position] = random.nextInt(2 * argumentBound + 1) - argumentBound;
+    }
+
+    private static int mutateArgument(int argument, Random random, int argumentBound) {
+        if (random.nextBoolean()) {
+            return random.nextInt(2 * argumentBound + 1) - argumentBound;
+        }
+        int step = 1 + random.nextInt(MAX_ARGUMENT_STEP);
+        int mutatedArgument = random.nextBoolean() ? argument + step : argument - step;
+        return Math.max(-argumentBound, Math.min(argumentBound, mutatedArgument));
+    }
+}
@@ -0,0 +1,67 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.Memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class represents a sweep of a matchup over a range of seeds of the random init mode. The same AIs play one
+ * match on the same seats for every seed of the range. The matches are played in a {@link MatchBatch} on a fork-join
+ * pool, so the result of the sweep is the same as if the matches were played one after another.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class SeedSweep {
+    private final CodeFight game;
+    private final String[] aiNames;
+    private final int firstSeed;
+    private final int lastSeed;
+    private final int maxSteps;
+
+    /**
+     * Constructs a new sweep of the given registered AIs of the given game over the given range of seeds.
+     *
+     * @param game the game whose registered AIs take part
+     * @param aiNames the names of the registered AIs in the order of their seats
+     * @param firstSeed the first seed of the range
+     * @param lastSeed the last seed of the range
+     * @param maxSteps the maximum number of steps of every match
+     */
+    public SeedSweep(CodeFight game, String[] aiNames, int firstSeed, int lastSeed, int maxSteps) {
+        this.game = game;
+        this.aiNames = aiNames.clone();
+        this.firstSeed = firstSeed;
+        this.lastSeed = lastSeed;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Plays the match of every seed of the range on the given pool.
+     *
+     * @param pool the pool the matches are played on
+     * @return the result of the sweep
+     */
+    public SweepResult play(ForkJoinPool pool) {
+        String randomInitMode = Memory.getInitModes()[0];
+        List<Match> matches = new ArrayList<>();
+        for (int seed = firstSeed; seed <= lastSeed; seed++) {
+            matches.add(new Match(aiNames, randomInitMode, seed));
+        }
+        MatchBatch matchBatch = new MatchBatch(game, maxSteps);
+        MatchResult[] results;
+        try {
+            results = matchBatch.play(matches, pool);
+        } finally {
+            matchBatch.release();
+        }
+        SweepResult sweepResult = new SweepResult(CodeFight.determineActiveAisNames(aiNames.clone()), firstSeed, lastSeed);
+        for (MatchResult result : results) {
+            sweepResult.add(result);
+        }
+        return sweepResult;
+    }
+}
@@ -0,0 +1,153 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * This class represents the aggregated result of a sweep over a range of seeds. For every seat, it counts the matches
+ * the AI on this seat won and it collects the number of steps the AI executed until stopping, the same number that is
+ * shown when an AI stops in a game. A match ends in a draw if more than one AI did not stop.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class SweepResult {
+    private static final String SUMMARY_FORMAT = "Played %d matches with the seeds %d to %d, %d could not be played, "
+            + "%d ended in a draw.";
+    private static final String WINS_FORMAT = "%s: won %d matches (%.1f%%)";
+    private static final String NEVER_STOPPED_FORMAT = ", never stopped";
+    private static final String STOP_STEPS_FORMAT = ", stopped in %d matches after %.1f steps on average "
+            + "(median %d, 90th percentile %d, maximum %d)";
+    private static final int MEDIAN = 50;
+    private static final int NINETIETH_PERCENTILE = 90;
+    private static final int MAXIMUM = 100;
+    private static final double PERCENT = 100.0;
+    private final String[] seatNames;
+    private final int firstSeed;
+    private final int lastSeed;
+    private final int[] wins;
+    //the steps until stopping of each seat in the order of the matches, only the first counts are used
+    private final int[][] stopSteps;
+    private final int[] numbersOfStops;
+    private int numberOfMatches;
+    private int numberOfInvalidMatches;
+    private int numberOfDraws;
+
+    /**
+     * Constructs a new empty result of a sweep.
+     *
+     * @param seatNames the names of the AIs on the seats
+     * @param firstSeed the first seed of the range
+     * @param lastSeed the last seed of the range
+     */
+    public SweepResult(String[] seatNames, int firstSeed, int lastSeed) {
+        this.seatNames = seatNames.clone();
+        this.firstSeed = firstSeed;
+        this.lastSeed = lastSeed;
+        this.wins = new int[seatNames.length];
+        this.stopSteps = new int[seatNames.length][Math.max(0, lastSeed - firstSeed + 1)];
+        this.numbersOfStops = new int[seatNames.length];
+    }
+
+    /**
+     * Adds the result of the match of the next seed.
+     *
+     * @param result the result of the match
+     */
+    public void add(MatchResult result) {
+        numberOfMatches++;
+        if (!result.isValid()) {
+            numberOfInvalidMatches++;
+            return;
+        }
+        int winner = result.getWinner();
+        if (winner == -1) {
+            numberOfDraws++;
+        } else {
+            wins[winner]++;
+        }
+        for (int seat = 0; seat < seatNames.length; seat++) {
+            if (result.getStopCommand(seat) != MatchResult.NOT_STOPPED) {
+                //the stop command itself is not counted as a step
+                stopSteps[seat][numbersOfStops[seat]++] = result.getStopCommand(seat) - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the share of the valid matches the AI on the given seat won.
+     *
+     * @param seat the seat
+     * @return the win rate between 0 and 1, 0 if no match was valid
+     */
+    public double getWinRate(int seat) {
+        int numberOfValidMatches = numberOfMatches - numberOfInvalidMatches;
+        return numberOfValidMatches == 0 ? 0 : (double) wins[seat] / numberOfValidMatches;
+    }
+
+    /**
+     * Returns the number of matches in which more than one AI did not stop.
+     *
+     * @return the number of draws
+     */
+    public int getNumberOfDraws() {
+        return numberOfDraws;
+    }
+
+    /**
+     * Returns the average number of steps the AI on the given seat executed until stopping in the matches it stopped.
+     *
+     * @param seat the seat
+     * @return the average number of steps or {@link Double#NaN} if the AI never stopped
+     */
+    public double getMeanStopStep(int seat) {
+        long sum = 0;
+        for (int i = 0; i < numbersOfStops[seat]; i++) {
+            sum += stopSteps[seat][i];
+        }
+        return numbersOfStops[seat] == 0 ? Double.NaN : (double) sum / numbersOfStops[seat];
+    }
+
+    /**
+     * Returns the smallest number of steps until stopping of the AI on the given seat, so that at least the given
+     * percentage of its stops happened after at most this number of steps.
+     *
+     * @param seat the seat
+     * @param percentile the percentage between 1 and 100
+     * @return the number of steps or -1 if the AI never stopped
+     */
+    public int getStopStepPercentile(int seat, int percentile) {
+        if (numbersOfStops[seat] == 0) {
+            return -1;
+        }
+        int[] sortedStopSteps = Arrays.copyOf(stopSteps[seat], numbersOfStops[seat]);
+        Arrays.sort(sortedStopSteps);
+        //nearest rank, the rank is rounded up
+        int rank = (int) ((percentile * (long) sortedStopSteps.length + MAXIMUM - 1) / MAXIMUM);
+        return sortedStopSteps[Math.max(1, rank) - 1];
+    }
+
+    /**
+     * Returns the result as text, a summary followed by one line for every seat.
+     *
+     * @return the result as text
+     */
+    public String format() {
+        StringBuilder result = new StringBuilder(SUMMARY_FORMAT.formatted(numberOfMatches, firstSeed, lastSeed,
+                numberOfInvalidMatches, numberOfDraws));
+        for (int seat = 0; seat < seatNames.length; seat++) {
+            result.append(System.lineSeparator());
+            //the decimal separator does not depend on the locale of the system
+            result.append(String.format(Locale.ROOT, WINS_FORMAT, seatNames[seat], wins[seat],
+                    getWinRate(seat) * PERCENT));
+            if (numbersOfStops[seat] == 0) {
+                result.append(NEVER_STOPPED_FORMAT);
+            } else {
+                result.append(String.format(Locale.ROOT, STOP_STEPS_FORMAT, numbersOfStops[seat], getMeanStopStep(seat),
+                        getStopStepPercentile(seat, MEDIAN), getStopStepPercentile(seat, NINETIETH_PERCENTILE),
+                        getStopStepPercentile(seat, MAXIMUM)));
+            }
+        }
+        return result.toString();
+    }
+}
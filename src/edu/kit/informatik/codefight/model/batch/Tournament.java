@@ -0,0 +1,95 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.CodeFight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class represents a round-robin tournament of the registered AIs of a game. Every group of distinct registered
+ * AIs of the given size plays one match, the AIs take their seats in the order in which they were registered.
+ * The matches are played in a {@link MatchBatch} on a fork-join pool, so the result of the tournament is the same as
+ * if the matches were played one after another.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class Tournament {
+    private final CodeFight game;
+    private final List<String> aiNames;
+    private final List<Match> matches;
+    private final int maxSteps;
+
+    /**
+     * Constructs a new tournament of the registered AIs of the given game with the init mode and the seed of its
+     * memory.
+     *
+     * @param game the game whose registered AIs take part
+     * @param groupSize the number of AIs of every match
+     * @param maxSteps the maximum number of steps of every match
+     */
+    public Tournament(CodeFight game, int groupSize, int maxSteps) {
+        this.game = game;
+        this.maxSteps = maxSteps;
+        this.aiNames = new ArrayList<>();
+        for (ArtificialIntelligence ai : game.getRegisteredAis()) {
+            aiNames.add(ai.getName());
+        }
+        this.matches = new ArrayList<>();
+        Integer seed = game.getMemory().getSeed();
+        addMatches(new String[groupSize], 0, 0, game.getMemory().getInitMode(), seed != null ? seed : 0);
+    }
+
+    /**
+     * Returns the number of matches of a tournament of the given number of AIs with the given group size.
+     *
+     * @param numberOfAis the number of AIs
+     * @param groupSize the number of AIs of every match
+     * @return the number of matches or {@link Long#MAX_VALUE} if the number is too large to be counted
+     */
+    public static long countMatches(int numberOfAis, int groupSize) {
+        long numberOfMatches = 1;
+        for (int i = 0; i < groupSize; i++) {
+            if (numberOfMatches > Long.MAX_VALUE / Math.max(1, numberOfAis - i)) {
+                return Long.MAX_VALUE;
+            }
+            //the product of i + 1 consecutive numbers is always divisible by (i + 1)!
+            numberOfMatches = numberOfMatches * (numberOfAis - i) / (i + 1);
+        }
+        return numberOfMatches;
+    }
+
+    private void addMatches(String[] group, int size, int firstAi, String initMode, int seed) {
+        if (size == group.length) {
+            matches.add(new Match(group, initMode, seed));
+            return;
+        }
+        for (int i = firstAi; i <= aiNames.size() - (group.length - size); i++) {
+            group[size] = aiNames.get(i);
+            addMatches(group, size + 1, i + 1, initMode, seed);
+        }
+    }
+
+    /**
+     * Plays all matches of the tournament on the given pool.
+     *
+     * @param pool the pool the matches are played on
+     * @return the result of the tournament
+     */
+    public TournamentResult play(ForkJoinPool pool) {
+        MatchBatch matchBatch = new MatchBatch(game, maxSteps);
+        MatchResult[] results;
+        try {
+            results = matchBatch.play(matches, pool);
+        } finally {
+            matchBatch.release();
+        }
+        TournamentResult tournamentResult = new TournamentResult(aiNames);
+        for (int i = 0; i < results.length; i++) {
+            tournamentResult.add(matches.get(i), results[i]);
+        }
+        return tournamentResult;
+    }
+}
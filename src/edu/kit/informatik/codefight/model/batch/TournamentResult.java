@@ -0,0 +1,142 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents the result of a tournament as a matrix of wins, losses and draws. Every match counts for
+ * every pair of AIs that took part: the AI that outlived the other AI wins and if both AIs did not stop, the pair
+ * draws.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class TournamentResult {
+    private static final String MATCHES_FORMAT = "Played %d matches, %d could not be played.";
+    private static final String SCORE_FORMAT = "%d/%d/%d";
+    private static final String NO_SCORE = "-";
+    private static final String CELL_SEPARATOR = " | ";
+    private static final String LEFT_ALIGNED_FORMAT = "%%-%ds";
+    private final List<String> aiNames;
+    private final int[][] wins;
+    private final int[][] draws;
+    private int numberOfMatches;
+    private int numberOfInvalidMatches;
+
+    /**
+     * Constructs a new empty result of a tournament of the AIs with the given names.
+     *
+     * @param aiNames the names of the AIs in the order of the rows and columns of the matrix
+     */
+    public TournamentResult(List<String> aiNames) {
+        this.aiNames = new ArrayList<>(aiNames);
+        this.wins = new int[aiNames.size()][aiNames.size()];
+        this.draws = new int[aiNames.size()][aiNames.size()];
+    }
+
+    /**
+     * Adds the result of a match to the matrix.
+     *
+     * @param match the match
+     * @param result the result of the match
+     */
+    public void add(Match match, MatchResult result) {
+        numberOfMatches++;
+        if (!result.isValid()) {
+            numberOfInvalidMatches++;
+            return;
+        }
+        String[] names = match.getAiNames();
+        for (int seat = 0; seat < names.length; seat++) {
+            int ai = aiNames.indexOf(names[seat]);
+            for (int otherSeat = seat + 1; otherSeat < names.length; otherSeat++) {
+                int otherAi = aiNames.indexOf(names[otherSeat]);
+                int comparison = result.compareSurvival(seat, otherSeat);
+                if (comparison > 0) {
+                    wins[ai][otherAi]++;
+                } else if (comparison < 0) {
+                    wins[otherAi][ai]++;
+                } else {
+                    draws[ai][otherAi]++;
+                    draws[otherAi][ai]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of matches the first AI won against the second AI.
+     *
+     * @param ai the index of the first AI
+     * @param otherAi the index of the second AI
+     * @return the number of wins
+     */
+    public int getWins(int ai, int otherAi) {
+        return wins[ai][otherAi];
+    }
+
+    /**
+     * Returns the number of matches the first AI lost against the second AI.
+     *
+     * @param ai the index of the first AI
+     * @param otherAi the index of the second AI
+     * @return the number of losses
+     */
+    public int getLosses(int ai, int otherAi) {
+        return wins[otherAi][ai];
+    }
+
+    /**
+     * Returns the number of matches in which both AIs did not stop.
+     *
+     * @param ai the index of the first AI
+     * @param otherAi the index of the second AI
+     * @return the number of draws
+     */
+    public int getDraws(int ai, int otherAi) {
+        return draws[ai][otherAi];
+    }
+
+    /**
+     * Returns the matrix as text. Every row shows the wins, losses and draws of an AI against the AI of each column.
+     *
+     * @return the matrix as text
+     */
+    public String format() {
+        List<String[]> rows = new ArrayList<>();
+        String[] header = new String[aiNames.size() + 1];
+        header[0] = "";
+        for (int i = 0; i < aiNames.size(); i++) {
+            header[i + 1] = aiNames.get(i);
+        }
+        rows.add(header);
+        for (int ai = 0; ai < aiNames.size(); ai++) {
+            String[] row = new String[aiNames.size() + 1];
+            row[0] = aiNames.get(ai);
+            for (int otherAi = 0; otherAi < aiNames.size(); otherAi++) {
+                row[otherAi + 1] = ai == otherAi ? NO_SCORE : SCORE_FORMAT.formatted(getWins(ai, otherAi),
+                        getLosses(ai, otherAi), getDraws(ai, otherAi));
+            }
+            rows.add(row);
+        }
+        //every column is as wide as its widest cell
+        int[] widths = new int[header.length];
+        for (String[] row : rows) {
+            for (int column = 0; column < row.length; column++) {
+                widths[column] = Math.max(widths[column], row[column].length());
+            }
+        }
+        StringBuilder matrix = new StringBuilder(MATCHES_FORMAT.formatted(numberOfMatches, numberOfInvalidMatches));
+        for (String[] row : rows) {
+            matrix.append(System.lineSeparator());
+            for (int column = 0; column < row.length; column++) {
+                if (column > 0) {
+                    matrix.append(CELL_SEPARATOR);
+                }
+                String cell = LEFT_ALIGNED_FORMAT.formatted(Math.max(1, widths[column])).formatted(row[column]);
+                matrix.append(column == row.length - 1 ? cell.stripTrailing() : cell);
+            }
+        }
+        return matrix.toString();
+    }
+}
@@ -0,0 +1,140 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import java.util.Locale;
+
+/**
+ * This class represents a running estimate of the probabilities that the AI on a seat wins a match and that a match
+ * ends in a draw. Every probability is estimated by its share of the valid matches and comes with the half-width of
+ * its 95% Wilson score interval, which stays meaningful for probabilities close to 0 or 1 and for few matches.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class WinRateEstimate {
+    //the quantile of the standard normal distribution for a confidence of 95%
+    private static final double Z = 1.959963984540054;
+    private static final double PERCENT = 100.0;
+    private static final String SUMMARY_FORMAT = "After %d matches (%d could not be played):";
+    private static final String ESTIMATE_FORMAT = " %s %.1f%% +/- %.1f%%";
+    private static final String DRAWS_NAME = "draws";
+    private static final String SEPARATOR = ",";
+    private final String[] seatNames;
+    private final int[] wins;
+    private int numberOfMatches;
+    private int numberOfInvalidMatches;
+    private int numberOfDraws;
+
+    /**
+     * Constructs a new estimate without any matches.
+     *
+     * @param seatNames the names of the AIs on the seats
+     */
+    public WinRateEstimate(String[] seatNames) {
+        this.seatNames = seatNames.clone();
+        this.wins = new int[seatNames.length];
+    }
+
+    /**
+     * Adds the result of a match to the estimate.
+     *
+     * @param result the result of the match
+     */
+    public void add(MatchResult result) {
+        numberOfMatches++;
+        if (!result.isValid()) {
+            numberOfInvalidMatches++;
+            return;
+        }
+        int winner = result.getWinner();
+        if (winner == -1) {
+            numberOfDraws++;
+        } else {
+            wins[winner]++;
+        }
+    }
+
+    /**
+     * Returns the number of matches, including the matches that could not be played.
+     *
+     * @return the number of matches
+     */
+    public int getNumberOfMatches() {
+        return numberOfMatches;
+    }
+
+    /**
+     * Returns the number of matches that could be played.
+     *
+     * @return the number of valid matches
+     */
+    public int getNumberOfValidMatches() {
+        return numberOfMatches - numberOfInvalidMatches;
+    }
+
+    /**
+     * Returns the estimated probability that the AI on the given seat wins.
+     *
+     * @param seat the seat
+     * @return the estimated probability or 0 if no match was valid
+     */
+    public double getWinRate(int seat) {
+        return getRate(wins[seat]);
+    }
+
+    /**
+     * Returns the estimated probability that a match ends in a draw.
+     *
+     * @return the estimated probability or 0 if no match was valid
+     */
+    public double getDrawRate() {
+        return getRate(numberOfDraws);
+    }
+
+    /**
+     * Returns the largest half-width of the confidence intervals of all estimated probabilities.
+     *
+     * @return the largest half-width or {@link Double#POSITIVE_INFINITY} if no match was valid
+     */
+    public double getMaxHalfWidth() {
+        double maxHalfWidth = getHalfWidth(numberOfDraws);
+        for (int win : wins) {
+            maxHalfWidth = Math.max(maxHalfWidth, getHalfWidth(win));
+        }
+        return maxHalfWidth;
+    }
+
+    /**
+     * Returns the estimate as a line of text.
+     *
+     * @return the estimate as text
+     */
+    public String format() {
+        StringBuilder estimate = new StringBuilder(SUMMARY_FORMAT.formatted(numberOfMatches, numberOfInvalidMatches));
+        for (int seat = 0; seat < seatNames.length; seat++) {
+            appendEstimate(estimate, seatNames[seat], wins[seat]);
+            estimate.append(SEPARATOR);
+        }
+        appendEstimate(estimate, DRAWS_NAME, numberOfDraws);
+        return estimate.toString();
+    }
+
+    private void appendEstimate(StringBuilder estimate, String name, int count) {
+        //the decimal separator does not depend on the locale of the system
+        estimate.append(String.format(Locale.ROOT, ESTIMATE_FORMAT, name, getRate(count) * PERCENT,
+                Math.min(1, getHalfWidth(count)) * PERCENT));
+    }
+
+    private double getRate(int count) {
+        int numberOfValidMatches = getNumberOfValidMatches();
+        return numberOfValidMatches == 0 ? 0 : (double) count / numberOfValidMatches;
+    }
+
+    private double getHalfWidth(int count) {
+        double n = getNumberOfValidMatches();
+        if (n == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double rate = count / n;
+        return Z / (1 + Z * Z / n) * Math.sqrt(rate * (1 - rate) / n + Z * Z / (4 * n * n));
+    }
+}
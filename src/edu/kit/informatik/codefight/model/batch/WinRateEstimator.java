@@ -0,0 +1,87 @@
+package edu.kit.informatik.codefight.model.batch;
+
+import edu.kit.informatik.codefight.model.CodeFight;
+import edu.kit.informatik.codefight.model.Memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * This class estimates the win probabilities of a matchup by sampling. Every sample is a match with a random seed of
+ * the random init mode and, if requested, a random placement of the AIs. The matches are played in rounds on a
+ * fork-join pool and the estimate is updated after every round, until the confidence intervals of all estimated
+ * probabilities are narrow enough or the maximum number of matches is reached.
+ * The samples are drawn from the seed of the memory of the game, so an estimation can be repeated.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class WinRateEstimator {
+    //every thread of the pool plays several matches per round, so the rounds do not wait for single threads too often
+    private static final int MATCHES_PER_THREAD = 16;
+    private static final int MIN_MATCHES_PER_ROUND = 64;
+    private final CodeFight game;
+    private final String[] aiNames;
+    private final int maxSteps;
+    private final boolean isPlacementRandom;
+
+    /**
+     * Constructs a new estimator for the given registered AIs of the given game.
+     *
+     * @param game the game whose registered AIs take part
+     * @param aiNames the names of the registered AIs in the order of their seats
+     * @param maxSteps the maximum number of steps of every match
+     * @param isPlacementRandom true if the AIs are placed randomly, false if they are placed at fixed distances
+     */
+    public WinRateEstimator(CodeFight game, String[] aiNames, int maxSteps, boolean isPlacementRandom) {
+        this.game = game;
+        this.aiNames = aiNames.clone();
+        this.maxSteps = maxSteps;
+        this.isPlacementRandom = isPlacementRandom;
+    }
+
+    /**
+     * Plays matches on the given pool until the largest half-width of the confidence intervals is at most the given
+     * precision or the maximum number of matches is reached.
+     *
+     * @param pool the pool the matches are played on
+     * @param precision the requested half-width of the confidence intervals between 0 and 1
+     * @param maxNumberOfMatches the maximum number of matches
+     * @param progressConsumer receives the estimate after every round but the last one
+     * @return the final estimate
+     */
+    public WinRateEstimate estimate(ForkJoinPool pool, double precision, int maxNumberOfMatches,
+                                    Consumer<String> progressConsumer) {
+        String randomInitMode = Memory.getInitModes()[0];
+        Random random = new Random(Objects.requireNonNullElse(game.getMemory().getSeed(), 0));
+        int matchesPerRound = Math.max(MIN_MATCHES_PER_ROUND, pool.getParallelism() * MATCHES_PER_THREAD);
+        WinRateEstimate estimate = new WinRateEstimate(CodeFight.determineActiveAisNames(aiNames.clone()));
+        MatchBatch matchBatch = new MatchBatch(game, maxSteps);
+        try {
+            while (true) {
+                List<Match> matches = new ArrayList<>();
+                int numberOfMatches = Math.min(matchesPerRound, maxNumberOfMatches - estimate.getNumberOfMatches());
+                for (int i = 0; i < numberOfMatches; i++) {
+                    int seed = Memory.MIN_SEED + random.nextInt(Memory.MAX_SEED - Memory.MIN_SEED + 1);
+                    Long placementSeed = isPlacementRandom ? random.nextLong() : null;
+                    matches.add(new Match(aiNames, randomInitMode, seed, placementSeed));
+                }
+                for (MatchResult result : matchBatch.play(matches, pool)) {
+                    estimate.add(result);
+                }
+                //without a valid match after the first round, the matchup cannot be played at all
+                if (estimate.getMaxHalfWidth() <= precision || estimate.getNumberOfValidMatches() == 0
+                        || estimate.getNumberOfMatches() >= maxNumberOfMatches) {
+                    return estimate;
+                }
+                progressConsumer.accept(estimate.format());
+            }
+        } finally {
+            matchBatch.release();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package edu.kit.informatik.codefight.model.replay;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * This class describes the format of a replay log that is shared by the {@link ReplayRecorder} and the
+ * {@link Replayer}. The log starts with a header containing the state of the game when the recording started:
+ * the magic number, the memory size, the active AIs with their names, instruction pointers, numbers of executed
+ * commands and alive flags, the index of the next AI and the memory cells, where runs of equal memory cells are
+ * stored once. It is followed by one record per executed step and a checksum record after a fixed number of steps.
+ * <p>
+ * A step record starts with a tag containing the index of the AI plus one, the number of changed memory cells if it
+ * is small and whether the instruction pointer of the AI moved to the next address. It is followed by the opcode of
+ * the executed command, the instruction pointer of the AI afterwards as difference to the address of the command unless
+ * it moved to the next address, the number of changed memory cells unless it is part of the tag and the changed memory
+ * cells. A changed memory cell starts with a byte of flags telling which parts of it changed and its index as
+ * difference to the address of the command, followed by the changed parts: the opcode, the display symbol id and the
+ * arguments as differences to their content before the step. So the most common steps take a few bytes only.
+ * A checksum record starts with 0 and contains the checksum of all memory cells, which is the sum of the
+ * {@link #hashMemoryCell(int, byte, short, int, int) hashes} of the memory cells. So the checksum is updated by adding
+ * the difference of the hashes of a changed memory cell, without looking at the other memory cells.
+ * All numbers but the magic number, the opcodes, the flags and the checksums are variable length integers with 7 bits
+ * per byte, differences are zigzag encoded, so small differences take a single byte.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+final class ReplayFormat {
+    /**
+     * The magic number at the start of every replay log.
+     */
+    static final int MAGIC_NUMBER = 0x43465250;
+    /**
+     * The tag of a checksum record, the tag of a step record contains the index of the AI plus one.
+     */
+    static final int CHECKSUM_TAG = 0;
+    /**
+     * The flag of the tag of a step record that is set if the instruction pointer moved to the next address.
+     */
+    static final int NEXT_ADDRESS_FLAG = 1;
+    /**
+     * The position of the number of changed memory cells in the tag of a step record.
+     */
+    static final int NUMBER_OF_CELLS_SHIFT = 1;
+    /**
+     * The largest number of changed memory cells in the tag of a step record, which means that the number follows.
+     */
+    static final int MAX_NUMBER_OF_CELLS_IN_TAG = 3;
+    /**
+     * The position of the index of the AI plus one in the tag of a step record.
+     */
+    static final int AI_INDEX_SHIFT = 3;
+    /**
+     * The flag of a changed memory cell that is set if its opcode changed.
+     */
+    static final int OPCODE_CHANGED = 1;
+    /**
+     * The flag of a changed memory cell that is set if its display symbol id changed.
+     */
+    static final int DISPLAY_SYMBOL_ID_CHANGED = 1 << 1;
+    /**
+     * The flag of a changed memory cell that is set if its first argument changed.
+     */
+    static final int FIRST_ARGUMENT_CHANGED = 1 << 2;
+    /**
+     * The flag of a changed memory cell that is set if its second argument changed.
+     */
+    static final int SECOND_ARGUMENT_CHANGED = 1 << 3;
+    /**
+     * The number of steps after which a checksum record is written.
+     */
+    static final int CHECKSUM_INTERVAL = 1 << 10;
+    /**
+     * The maximum number of bytes of a variable length integer.
+     */
+    static final int MAX_VAR_INT_SIZE = 5;
+    /**
+     * The maximum number of bytes of a changed memory cell or of a run of memory cells in the header.
+     */
+    static final int MAX_CELL_SIZE = 4 * MAX_VAR_INT_SIZE + 2;
+    /**
+     * The maximum number of bytes of a step record without its memory cells.
+     */
+    static final int MAX_STEP_SIZE = 3 * MAX_VAR_INT_SIZE + 1;
+    /**
+     * The number of bytes of a checksum record.
+     */
+    static final int CHECKSUM_SIZE = 1 + Long.BYTES;
+    private static final int BITS_PER_BYTE = 7;
+    private static final int LOW_BITS_MASK = 0x7F;
+    private static final int CONTINUATION_BIT = 0x80;
+    private static final long MULTIPLIER_OF_HASH = 0x9E3779B97F4A7C15L;
+    private static final int FIRST_SHIFT_OF_MIX = 30;
+    private static final int SECOND_SHIFT_OF_MIX = 27;
+    private static final int THIRD_SHIFT_OF_MIX = 31;
+    private static final long FIRST_MULTIPLIER_OF_MIX = 0xBF58476D1CE4E5B9L;
+    private static final long SECOND_MULTIPLIER_OF_MIX = 0x94D049BB133111EBL;
+    private static final String UTILITY_CLASS_FAILURE = "Utility classes cannot be instantiated";
+
+    private ReplayFormat() {
+        throw new UnsupportedOperationException(UTILITY_CLASS_FAILURE);
+    }
+
+    /**
+     * Writes the given value as variable length integer. Negative values take the maximum number of bytes.
+     *
+     * @param buffer the buffer with at least {@link #MAX_VAR_INT_SIZE} remaining bytes
+     * @param value the value
+     */
+    static void putVarInt(ByteBuffer buffer, int value) {
+        int remainingBits = value;
+        while ((remainingBits & ~LOW_BITS_MASK) != 0) {
+            buffer.put((byte) (remainingBits & LOW_BITS_MASK | CONTINUATION_BIT));
+            remainingBits >>>= BITS_PER_BYTE;
+        }
+        buffer.put((byte) remainingBits);
+    }
+
+    /**
+     * Writes the given difference as zigzag encoded variable length integer, so small negative differences are
+     * as short as small positive ones.
+     *
+     * @param buffer the buffer with at least {@link #MAX_VAR_INT_SIZE} remaining bytes
+     * @param difference the difference, which may have overflowed
+     */
+    static void putDifference(ByteBuffer buffer, int difference) {
+        putVarInt(buffer, difference << 1 ^ difference >> (Integer.SIZE - 1));
+    }
+
+    /**
+     * Reads a variable length integer.
+     *
+     * @param buffer the buffer
+     * @return the value
+     * @throws BufferUnderflowException if the buffer ends before the value
+     */
+    static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte nextByte;
+        do {
+            nextByte = buffer.get();
+            value |= (nextByte & LOW_BITS_MASK) << shift;
+            shift += BITS_PER_BYTE;
+        } while ((nextByte & CONTINUATION_BIT) != 0);
+        return value;
+    }
+
+    /**
+     * Reads a zigzag encoded difference.
+     *
+     * @param buffer the buffer
+     * @return the difference
+     * @throws BufferUnderflowException if the buffer ends before the difference
+     */
+    static int getDifference(ByteBuffer buffer) {
+        int value = getVarInt(buffer);
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Returns the hash of the given content of the memory cell at the given index. The checksum of the memory is the
+     * sum of the hashes of all memory cells.
+     *
+     * @param index the normalised index of the memory cell
+     * @param opcode the code of the opcode
+     * @param displaySymbolId the id of the display symbol
+     * @param firstArgument the first argument
+     * @param secondArgument the second argument
+     * @return the hash
+     */
+    static long hashMemoryCell(int index, byte opcode, short displaySymbolId, int firstArgument, int secondArgument) {
+        long indexAndSymbols = (long) index << Integer.SIZE | (opcode & 0xFFL) << Short.SIZE | displaySymbolId & 0xFFFFL;
+        long arguments = (long) firstArgument << Integer.SIZE | secondArgument & 0xFFFFFFFFL;
+        //the finalizer of SplitMix64, every bit of the hash depends on every bit of the content
+        long value = indexAndSymbols * MULTIPLIER_OF_HASH + arguments;
+        value = (value ^ (value >>> FIRST_SHIFT_OF_MIX)) * FIRST_MULTIPLIER_OF_MIX;
+        value = (value ^ (value >>> SECOND_SHIFT_OF_MIX)) * SECOND_MULTIPLIER_OF_MIX;
+        return value ^ (value >>> THIRD_SHIFT_OF_MIX);
+    }
+}
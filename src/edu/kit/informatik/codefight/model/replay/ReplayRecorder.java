@@ -0,0 +1,329 @@
+package edu.kit.informatik.codefight.model.replay;
+
+import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.MemoryJournal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static edu.kit.informatik.codefight.model.replay.ReplayFormat.putDifference;
+import static edu.kit.informatik.codefight.model.replay.ReplayFormat.putVarInt;
+
+/**
+ * This class records every executed step of a running game in a replay log, so the game can be replayed by a
+ * {@link Replayer} without executing the AI commands again. The format of the log is described by
+ * {@link ReplayFormat}. The memory cells written by a step are collected as the journal of the memory and the step
+ * is written as soon as the next step starts or the recorder is flushed, so the instruction pointer of the AI after
+ * the step and the new content of the memory cells are known. The records are collected in a buffer that is written
+ * to the file at once when it is full.
+ * If the file cannot be written anymore while the game is running, the recording stops and the log ends with the
+ * last step that was written completely. The recorder then {@link #hasFailed() has failed}, so the failure can be
+ * reported instead of losing the later steps silently.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class ReplayRecorder implements MemoryJournal {
+    /**
+     * The error message if the replay log cannot be written anymore.
+     * Public because it is used in {@link edu.kit.informatik.codefight.model.round.RoundHandler}.
+     */
+    public static final String RECORDING_FAILED_MESSAGE = "The replay log file cannot be written anymore, so the "
+            + "recording stopped.";
+    private static final String FILE_ACCESS_FAILURE = "The replay log file cannot be accessed.";
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int NO_STEP = -1;
+    private final Memory memory;
+    private final ArtificialIntelligence[] ais;
+    private final ByteBuffer buffer;
+    private FileChannel fileChannel;
+    //the step whose written memory cells are collected, NO_STEP if there is no such step
+    private int aiIndexOfStep;
+    private int addressOfStep;
+    private byte opcodeOfStep;
+    //the index and the content before the step of every memory cell written by the step
+    private int[] indicesOfCells;
+    private byte[] opcodesOfCells;
+    private int[] firstArgumentsOfCells;
+    private int[] secondArgumentsOfCells;
+    private short[] displaySymbolIdsOfCells;
+    //the flags of the changed parts of every memory cell written by the step
+    private int[] changesOfCells;
+    private int numberOfCells;
+    private int stepsSinceChecksum;
+    private long checksum;
+    //whether the recording stopped because the file cannot be written anymore
+    private boolean hasFailed;
+
+    /**
+     * Creates the replay log at the given path, replacing an existing file, and writes the current state of the game
+     * as header.
+     *
+     * @param path the path of the file
+     * @param memory the memory of the game
+     * @param ais the active AIs
+     * @param nextAiIndex the index of the next AI or -1 if no AI is alive
+     * @throws GameInitialisationException if the file cannot be accessed
+     */
+    public ReplayRecorder(Path path, Memory memory, ArtificialIntelligence[] ais, int nextAiIndex)
+            throws GameInitialisationException {
+        this.memory = memory;
+        this.ais = ais;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.aiIndexOfStep = NO_STEP;
+        this.indicesOfCells = new int[INITIAL_CAPACITY];
+        this.opcodesOfCells = new byte[INITIAL_CAPACITY];
+        this.firstArgumentsOfCells = new int[INITIAL_CAPACITY];
+        this.secondArgumentsOfCells = new int[INITIAL_CAPACITY];
+        this.displaySymbolIdsOfCells = new short[INITIAL_CAPACITY];
+        this.changesOfCells = new int[INITIAL_CAPACITY];
+        try {
+            fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            writeHeader(nextAiIndex);
+            drain();
+        } catch (IOException e) {
+            throw new GameInitialisationException(FILE_ACCESS_FAILURE);
+        }
+        if (fileChannel == null) {
+            throw new GameInitialisationException(FILE_ACCESS_FAILURE);
+        }
+    }
+
+    private void writeHeader(int nextAiIndex) {
+        buffer.putInt(ReplayFormat.MAGIC_NUMBER);
+        putVarInt(buffer, memory.getSize());
+        putVarInt(buffer, ais.length);
+        putVarInt(buffer, nextAiIndex + 1);
+        for (ArtificialIntelligence ai : ais) {
+            byte[] name = ai.getName().getBytes(StandardCharsets.UTF_8);
+            ensureRemaining(ReplayFormat.MAX_VAR_INT_SIZE);
+            putVarInt(buffer, name.length);
+            int offset = 0;
+            while (offset < name.length) {
+                ensureRemaining(1);
+                int length = Math.min(buffer.remaining(), name.length - offset);
+                buffer.put(name, offset, length);
+                offset += length;
+            }
+            ensureRemaining(2 * ReplayFormat.MAX_VAR_INT_SIZE + 1);
+            putVarInt(buffer, ai.getInstructionPointer() + 1);
+            putVarInt(buffer, ai.getNumberOfExecutedCommands());
+            buffer.put((byte) (ai.getIsAlive() ? 1 : 0));
+        }
+        //runs of equal memory cells, for example the memory cells of the init mode stop, are written once
+        int firstIndexOfRun = 0;
+        while (firstIndexOfRun < memory.getSize()) {
+            int endOfRun = firstIndexOfRun + 1;
+            while (endOfRun < memory.getSize() && isSameMemoryCell(firstIndexOfRun, endOfRun)) {
+                endOfRun++;
+            }
+            for (int i = firstIndexOfRun; i < endOfRun; i++) {
+                checksum += hashMemoryCell(i);
+            }
+            ensureRemaining(ReplayFormat.MAX_CELL_SIZE);
+            putVarInt(buffer, endOfRun - firstIndexOfRun);
+            buffer.put(memory.getOpcode(firstIndexOfRun));
+            putVarInt(buffer, memory.getDisplaySymbolId(firstIndexOfRun) & 0xFFFF);
+            putDifference(buffer, memory.getFirstArgument(firstIndexOfRun));
+            putDifference(buffer, memory.getSecondArgument(firstIndexOfRun));
+            firstIndexOfRun = endOfRun;
+        }
+    }
+
+    private boolean isSameMemoryCell(int firstIndex, int secondIndex) {
+        return memory.getOpcode(firstIndex) == memory.getOpcode(secondIndex)
+                && memory.getFirstArgument(firstIndex) == memory.getFirstArgument(secondIndex)
+                && memory.getSecondArgument(firstIndex) == memory.getSecondArgument(secondIndex)
+                && memory.getDisplaySymbolId(firstIndex) == memory.getDisplaySymbolId(secondIndex);
+    }
+
+    /**
+     * Starts to record the step of the AI with the given index before it is executed. The previous step is complete
+     * now, so it is written.
+     *
+     * @param aiIndex the index of the AI whose turn it is
+     */
+    public void recordStep(int aiIndex) {
+        writeStep();
+        aiIndexOfStep = aiIndex;
+        addressOfStep = ais[aiIndex].getInstructionPointer();
+        opcodeOfStep = memory.getOpcode(addressOfStep);
+    }
+
+    @Override
+    public void recordMemoryCell(int index, byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        //only the content before the first change of the step is needed to write the differences
+        for (int i = 0; i < numberOfCells; i++) {
+            if (indicesOfCells[i] == index) {
+                return;
+            }
+        }
+        if (numberOfCells == indicesOfCells.length) {
+            indicesOfCells = Arrays.copyOf(indicesOfCells, 2 * numberOfCells);
+            opcodesOfCells = Arrays.copyOf(opcodesOfCells, 2 * numberOfCells);
+            firstArgumentsOfCells = Arrays.copyOf(firstArgumentsOfCells, 2 * numberOfCells);
+            secondArgumentsOfCells = Arrays.copyOf(secondArgumentsOfCells, 2 * numberOfCells);
+            displaySymbolIdsOfCells = Arrays.copyOf(displaySymbolIdsOfCells, 2 * numberOfCells);
+            changesOfCells = Arrays.copyOf(changesOfCells, 2 * numberOfCells);
+        }
+        indicesOfCells[numberOfCells] = index;
+        opcodesOfCells[numberOfCells] = opcode;
+        firstArgumentsOfCells[numberOfCells] = firstArgument;
+        secondArgumentsOfCells[numberOfCells] = secondArgument;
+        displaySymbolIdsOfCells[numberOfCells] = displaySymbolId;
+        numberOfCells++;
+    }
+
+    private void writeStep() {
+        if (aiIndexOfStep == NO_STEP) {
+            return;
+        }
+        //memory cells that were written with their own content are left out
+        int numberOfChangedCells = 0;
+        for (int i = 0; i < numberOfCells; i++) {
+            changesOfCells[i] = getChanges(i);
+            if (changesOfCells[i] != 0) {
+                numberOfChangedCells++;
+            }
+        }
+        int instructionPointerDifference = ais[aiIndexOfStep].getInstructionPointer() - addressOfStep;
+        boolean isNextAddress = instructionPointerDifference == 1;
+        ensureRemaining(ReplayFormat.MAX_STEP_SIZE);
+        putVarInt(buffer, (aiIndexOfStep + 1) << ReplayFormat.AI_INDEX_SHIFT
+                | Math.min(numberOfChangedCells, ReplayFormat.MAX_NUMBER_OF_CELLS_IN_TAG)
+                << ReplayFormat.NUMBER_OF_CELLS_SHIFT | (isNextAddress ? ReplayFormat.NEXT_ADDRESS_FLAG : 0));
+        buffer.put(opcodeOfStep);
+        if (!isNextAddress) {
+            putDifference(buffer, instructionPointerDifference);
+        }
+        if (numberOfChangedCells >= ReplayFormat.MAX_NUMBER_OF_CELLS_IN_TAG) {
+            putVarInt(buffer, numberOfChangedCells);
+        }
+        for (int i = 0; i < numberOfCells; i++) {
+            if (changesOfCells[i] != 0) {
+                writeChangedCell(i);
+            }
+        }
+        aiIndexOfStep = NO_STEP;
+        numberOfCells = 0;
+        stepsSinceChecksum++;
+        if (stepsSinceChecksum == ReplayFormat.CHECKSUM_INTERVAL) {
+            ensureRemaining(ReplayFormat.CHECKSUM_SIZE);
+            putVarInt(buffer, ReplayFormat.CHECKSUM_TAG);
+            buffer.putLong(checksum);
+            stepsSinceChecksum = 0;
+        }
+    }
+
+    private int getChanges(int cell) {
+        int index = indicesOfCells[cell];
+        int changes = 0;
+        if (memory.getOpcode(index) != opcodesOfCells[cell]) {
+            changes |= ReplayFormat.OPCODE_CHANGED;
+        }
+        if (memory.getDisplaySymbolId(index) != displaySymbolIdsOfCells[cell]) {
+            changes |= ReplayFormat.DISPLAY_SYMBOL_ID_CHANGED;
+        }
+        if (memory.getFirstArgument(index) != firstArgumentsOfCells[cell]) {
+            changes |= ReplayFormat.FIRST_ARGUMENT_CHANGED;
+        }
+        if (memory.getSecondArgument(index) != secondArgumentsOfCells[cell]) {
+            changes |= ReplayFormat.SECOND_ARGUMENT_CHANGED;
+        }
+        return changes;
+    }
+
+    private void writeChangedCell(int cell) {
+        int index = indicesOfCells[cell];
+        int changes = changesOfCells[cell];
+        checksum += hashMemoryCell(index) - ReplayFormat.hashMemoryCell(index, opcodesOfCells[cell],
+                displaySymbolIdsOfCells[cell], firstArgumentsOfCells[cell], secondArgumentsOfCells[cell]);
+        ensureRemaining(ReplayFormat.MAX_CELL_SIZE);
+        buffer.put((byte) changes);
+        putDifference(buffer, index - addressOfStep);
+        if ((changes & ReplayFormat.OPCODE_CHANGED) != 0) {
+            buffer.put(memory.getOpcode(index));
+        }
+        if ((changes & ReplayFormat.DISPLAY_SYMBOL_ID_CHANGED) != 0) {
+            putVarInt(buffer, memory.getDisplaySymbolId(index) & 0xFFFF);
+        }
+        if ((changes & ReplayFormat.FIRST_ARGUMENT_CHANGED) != 0) {
+            putDifference(buffer, memory.getFirstArgument(index) - firstArgumentsOfCells[cell]);
+        }
+        if ((changes & ReplayFormat.SECOND_ARGUMENT_CHANGED) != 0) {
+            putDifference(buffer, memory.getSecondArgument(index) - secondArgumentsOfCells[cell]);
+        }
+    }
+
+    private long hashMemoryCell(int index) {
+        return ReplayFormat.hashMemoryCell(index, memory.getOpcode(index), memory.getDisplaySymbolId(index),
+                memory.getFirstArgument(index), memory.getSecondArgument(index));
+    }
+
+    private void ensureRemaining(int numberOfBytes) {
+        if (buffer.remaining() < numberOfBytes) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            while (fileChannel != null && buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+        } catch (IOException e) {
+            hasFailed = true;
+            closeFile();
+        }
+        //the records are dropped if the recording stopped
+        buffer.clear();
+    }
+
+    /**
+     * Writes the last step and all collected records to the file, so the log contains every executed step.
+     */
+    public void flush() {
+        writeStep();
+        drain();
+    }
+
+    /**
+     * Returns whether the recording stopped because the file cannot be written anymore. The steps after the failure
+     * are not in the log.
+     *
+     * @return true if the recording failed, false otherwise
+     */
+    public boolean hasFailed() {
+        return hasFailed;
+    }
+
+    /**
+     * Writes all collected records to the file and closes it. Later steps are not recorded anymore.
+     */
+    public void close() {
+        flush();
+        closeFile();
+    }
+
+    private void closeFile() {
+        if (fileChannel == null) {
+            return;
+        }
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            //the file is not used anymore anyway
+        }
+        fileChannel = null;
+    }
+}
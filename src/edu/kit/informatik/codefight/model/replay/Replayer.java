@@ -0,0 +1,379 @@
+package edu.kit.informatik.codefight.model.replay;
+
+import edu.kit.informatik.codefight.exceptions.GameExecutionException;
+import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.round.RoundRobinScheduler;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static edu.kit.informatik.codefight.model.replay.ReplayFormat.getDifference;
+import static edu.kit.informatik.codefight.model.replay.ReplayFormat.getVarInt;
+
+/**
+ * This class replays a replay log written by a {@link ReplayRecorder}. The state of the game at the start of the
+ * recording is restored from the header of the log, then the memory cells written by every step are set to their
+ * recorded content. No AI command is executed, so replaying a step takes far less time than executing it.
+ * Every step is verified against the replayed state: it has to be the turn of the AI of the step and the memory cell
+ * at its instruction pointer has to contain the recorded opcode. Every checksum record is compared with the
+ * checksum of the replayed memory. A step that was not written completely, for example because the program was
+ * killed, is treated as the end of the log.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class Replayer implements AutoCloseable {
+    private static final String FILE_ACCESS_FAILURE = "The replay log file cannot be accessed.";
+    private static final String FILE_INVALID = "The replay log file is no valid replay log.";
+    private static final String FILE_NOT_MATCHING = "The game of the replay log does not match the memory size and the"
+            + " number of symbols.";
+    private static final String STEP_NOT_MATCHING_FORMAT = "The replay log does not match the replayed game at step %d.";
+    private static final String CHECKSUM_NOT_MATCHING_FORMAT = "The checksum of the replay log does not match the"
+            + " replayed memory after step %d.";
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_CAPACITY = 8;
+    private final FileChannel fileChannel;
+    private final ByteBuffer buffer;
+    private final Memory memory;
+    private final int maxDisplaySymbolId;
+    private final List<ArtificialIntelligence> ais;
+    private final RoundRobinScheduler scheduler;
+    //the memory cells of the step that is read, they are only changed after the whole step was read
+    private int[] indicesOfCells;
+    private byte[] opcodesOfCells;
+    private int[] firstArgumentsOfCells;
+    private int[] secondArgumentsOfCells;
+    private short[] displaySymbolIdsOfCells;
+    private int numberOfCellsOfStep;
+    private long checksumDifferenceOfStep;
+    private int instructionPointerAfterStep;
+    private int numberOfReplayedSteps;
+    private int numberOfVerifiedChecksums;
+    private long checksum;
+
+    /**
+     * Opens the replay log at the given path and restores the state of the game at the start of the recording.
+     *
+     * @param path the path of the file
+     * @param memory the memory the game is replayed in, its content is replaced by the content of the log
+     * @param maxAis the maximum number of AIs that have symbols in the memory
+     * @throws GameInitialisationException if the file cannot be accessed, is no replay log or does not match the memory
+     *                                     size and the maximum number of AIs
+     */
+    public Replayer(Path path, Memory memory, int maxAis) throws GameInitialisationException {
+        this.memory = memory;
+        this.maxDisplaySymbolId = Memory.getAiBombId(maxAis - 1);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+        this.indicesOfCells = new int[INITIAL_CAPACITY];
+        this.opcodesOfCells = new byte[INITIAL_CAPACITY];
+        this.firstArgumentsOfCells = new int[INITIAL_CAPACITY];
+        this.secondArgumentsOfCells = new int[INITIAL_CAPACITY];
+        this.displaySymbolIdsOfCells = new short[INITIAL_CAPACITY];
+        try {
+            fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new GameInitialisationException(FILE_ACCESS_FAILURE);
+        }
+        try {
+            fill(Integer.BYTES + 3 * ReplayFormat.MAX_VAR_INT_SIZE);
+            if (buffer.getInt() != ReplayFormat.MAGIC_NUMBER) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+            int memorySize = getVarInt(buffer);
+            int numberOfAis = getVarInt(buffer);
+            if (memorySize != memory.getSize() || numberOfAis < 0 || numberOfAis > maxAis) {
+                throw new GameInitialisationException(FILE_NOT_MATCHING);
+            }
+            int nextAiIndex = getVarInt(buffer) - 1;
+            this.ais = readAis(numberOfAis);
+            boolean[] isAlive = new boolean[numberOfAis];
+            for (int i = 0; i < numberOfAis; i++) {
+                isAlive[i] = ais.get(i).getIsAlive();
+            }
+            if (nextAiIndex < RoundRobinScheduler.NO_AI_ALIVE || nextAiIndex >= numberOfAis
+                    || nextAiIndex != RoundRobinScheduler.NO_AI_ALIVE && !isAlive[nextAiIndex]) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+            this.scheduler = new RoundRobinScheduler(isAlive, nextAiIndex);
+            readMemoryCells();
+        } catch (IOException e) {
+            close();
+            throw new GameInitialisationException(FILE_ACCESS_FAILURE);
+        } catch (BufferUnderflowException e) {
+            close();
+            throw new GameInitialisationException(FILE_INVALID);
+        } catch (GameInitialisationException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private List<ArtificialIntelligence> readAis(int numberOfAis) throws IOException, GameInitialisationException {
+        List<ArtificialIntelligence> readAis = new ArrayList<>(numberOfAis);
+        for (int i = 0; i < numberOfAis; i++) {
+            fill(ReplayFormat.MAX_VAR_INT_SIZE);
+            int lengthOfName = getVarInt(buffer);
+            if (lengthOfName < 0 || lengthOfName > fileChannel.size()) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+            byte[] name = new byte[lengthOfName];
+            int offset = 0;
+            while (offset < name.length) {
+                fill(1);
+                if (!buffer.hasRemaining()) {
+                    throw new GameInitialisationException(FILE_INVALID);
+                }
+                int length = Math.min(buffer.remaining(), name.length - offset);
+                buffer.get(name, offset, length);
+                offset += length;
+            }
+            ArtificialIntelligence ai = new ArtificialIntelligence(new String(name, StandardCharsets.UTF_8));
+            ai.setStandardAiCommandId(Memory.getStandardAiCommandId(i));
+            ai.setAiBombId(Memory.getAiBombId(i));
+            fill(2 * ReplayFormat.MAX_VAR_INT_SIZE + 1);
+            int instructionPointer = getVarInt(buffer) - 1;
+            if (instructionPointer < -1 || instructionPointer >= memory.getSize()) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+            ai.setInstructionPointer(instructionPointer);
+            ai.increaseNumberOfExecutedCommands(getVarInt(buffer));
+            ai.setIsAlive(buffer.get() != 0);
+            readAis.add(ai);
+        }
+        return readAis;
+    }
+
+    private void readMemoryCells() throws IOException, GameInitialisationException {
+        memory.openStorage();
+        int index = 0;
+        while (index < memory.getSize()) {
+            fill(ReplayFormat.MAX_CELL_SIZE);
+            int lengthOfRun = getVarInt(buffer);
+            byte opcode = buffer.get();
+            int displaySymbolId = getVarInt(buffer);
+            int firstArgument = getDifference(buffer);
+            int secondArgument = getDifference(buffer);
+            if (lengthOfRun <= 0 || lengthOfRun > memory.getSize() - index || displaySymbolId < 0
+                    || displaySymbolId > maxDisplaySymbolId) {
+                throw new GameInitialisationException(FILE_INVALID);
+            }
+            for (int i = index; i < index + lengthOfRun; i++) {
+                memory.restoreMemoryCell(i, opcode, firstArgument, secondArgument, (short) displaySymbolId);
+                checksum += ReplayFormat.hashMemoryCell(i, opcode, (short) displaySymbolId, firstArgument,
+                        secondArgument);
+            }
+            index += lengthOfRun;
+        }
+    }
+
+    /**
+     * Replays the given number of steps or all remaining steps if the log ends before.
+     *
+     * @param numberOfSteps the number of steps
+     * @return the number of steps that were replayed
+     * @throws GameExecutionException if the file cannot be accessed or a step or checksum of the log does not match
+     *                                the replayed game
+     */
+    public int replay(int numberOfSteps) throws GameExecutionException {
+        int replayedSteps = 0;
+        try {
+            while (replayedSteps < numberOfSteps && replayRecord()) {
+                replayedSteps++;
+            }
+        } catch (IOException e) {
+            throw new GameExecutionException(FILE_ACCESS_FAILURE);
+        }
+        return replayedSteps;
+    }
+
+    //replays the next step, returns false if the log ends before the step was read completely
+    private boolean replayRecord() throws IOException, GameExecutionException {
+        int aiIndex;
+        try {
+            int tag = readRecordsUpToStep();
+            aiIndex = (tag >>> ReplayFormat.AI_INDEX_SHIFT) - 1;
+            readStep(aiIndex, tag);
+        } catch (BufferUnderflowException e) {
+            //the rest of the log is no complete record
+            return false;
+        }
+        checksum += checksumDifferenceOfStep;
+        for (int i = 0; i < numberOfCellsOfStep; i++) {
+            memory.restoreMemoryCell(indicesOfCells[i], opcodesOfCells[i], firstArgumentsOfCells[i],
+                    secondArgumentsOfCells[i], displaySymbolIdsOfCells[i]);
+        }
+        ArtificialIntelligence ai = ais.get(aiIndex);
+        ai.setInstructionPointer(instructionPointerAfterStep);
+        ai.increaseNumberOfExecutedCommands(1);
+        //like after a stop command, a stopped AI does not point to a memory cell anymore
+        if (instructionPointerAfterStep == -1) {
+            ai.setIsAlive(false);
+            scheduler.removeCurrentAndAdvance();
+        } else {
+            scheduler.advance();
+        }
+        numberOfReplayedSteps++;
+        return true;
+    }
+
+    //verifies the checksum records before the next step and returns the tag of the step
+    private int readRecordsUpToStep() throws IOException, GameExecutionException {
+        while (true) {
+            fill(Math.max(ReplayFormat.MAX_STEP_SIZE, ReplayFormat.CHECKSUM_SIZE));
+            int tag = getVarInt(buffer);
+            if (tag != ReplayFormat.CHECKSUM_TAG) {
+                return tag;
+            }
+            if (buffer.getLong() != checksum) {
+                throw new GameExecutionException(CHECKSUM_NOT_MATCHING_FORMAT.formatted(numberOfReplayedSteps));
+            }
+            numberOfVerifiedChecksums++;
+        }
+    }
+
+    //reads the step without changing the memory, so a step that was not written completely is not replayed at all
+    private void readStep(int aiIndex, int tag) throws IOException, GameExecutionException {
+        if (aiIndex != scheduler.getCurrentAiIndex()) {
+            throw stepNotMatching();
+        }
+        int address = ais.get(aiIndex).getInstructionPointer();
+        if (buffer.get() != memory.getOpcode(address)) {
+            throw stepNotMatching();
+        }
+        boolean isNextAddress = (tag & ReplayFormat.NEXT_ADDRESS_FLAG) != 0;
+        instructionPointerAfterStep = address + (isNextAddress ? 1 : getDifference(buffer));
+        numberOfCellsOfStep = tag >>> ReplayFormat.NUMBER_OF_CELLS_SHIFT & ReplayFormat.MAX_NUMBER_OF_CELLS_IN_TAG;
+        if (numberOfCellsOfStep == ReplayFormat.MAX_NUMBER_OF_CELLS_IN_TAG) {
+            numberOfCellsOfStep = getVarInt(buffer);
+        }
+        if (instructionPointerAfterStep < -1 || instructionPointerAfterStep >= memory.getSize()
+                || numberOfCellsOfStep < 0) {
+            throw stepNotMatching();
+        }
+        if (numberOfCellsOfStep > indicesOfCells.length) {
+            indicesOfCells = new int[numberOfCellsOfStep];
+            opcodesOfCells = new byte[numberOfCellsOfStep];
+            firstArgumentsOfCells = new int[numberOfCellsOfStep];
+            secondArgumentsOfCells = new int[numberOfCellsOfStep];
+            displaySymbolIdsOfCells = new short[numberOfCellsOfStep];
+        }
+        checksumDifferenceOfStep = 0;
+        for (int i = 0; i < numberOfCellsOfStep; i++) {
+            readChangedCell(i, address);
+        }
+    }
+
+    private void readChangedCell(int cell, int address) throws IOException, GameExecutionException {
+        fill(ReplayFormat.MAX_CELL_SIZE);
+        int changes = buffer.get();
+        int index = address + getDifference(buffer);
+        if (index < 0 || index >= memory.getSize()) {
+            throw stepNotMatching();
+        }
+        //the parts that did not change and the differences refer to the content before the step
+        byte opcode = memory.getOpcode(index);
+        short displaySymbolId = memory.getDisplaySymbolId(index);
+        int firstArgument = memory.getFirstArgument(index);
+        int secondArgument = memory.getSecondArgument(index);
+        checksumDifferenceOfStep -= ReplayFormat.hashMemoryCell(index, opcode, displaySymbolId, firstArgument,
+                secondArgument);
+        if ((changes & ReplayFormat.OPCODE_CHANGED) != 0) {
+            opcode = buffer.get();
+        }
+        if ((changes & ReplayFormat.DISPLAY_SYMBOL_ID_CHANGED) != 0) {
+            int changedDisplaySymbolId = getVarInt(buffer);
+            if (changedDisplaySymbolId < 0 || changedDisplaySymbolId > maxDisplaySymbolId) {
+                throw stepNotMatching();
+            }
+            displaySymbolId = (short) changedDisplaySymbolId;
+        }
+        if ((changes & ReplayFormat.FIRST_ARGUMENT_CHANGED) != 0) {
+            firstArgument += getDifference(buffer);
+        }
+        if ((changes & ReplayFormat.SECOND_ARGUMENT_CHANGED) != 0) {
+            secondArgument += getDifference(buffer);
+        }
+        checksumDifferenceOfStep += ReplayFormat.hashMemoryCell(index, opcode, displaySymbolId, firstArgument,
+                secondArgument);
+        indicesOfCells[cell] = index;
+        opcodesOfCells[cell] = opcode;
+        displaySymbolIdsOfCells[cell] = displaySymbolId;
+        firstArgumentsOfCells[cell] = firstArgument;
+        secondArgumentsOfCells[cell] = secondArgument;
+    }
+
+    private GameExecutionException stepNotMatching() {
+        return new GameExecutionException(STEP_NOT_MATCHING_FORMAT.formatted(numberOfReplayedSteps + 1));
+    }
+
+    //makes sure that the buffer contains the given number of bytes unless the file ends before
+    private void fill(int numberOfBytes) throws IOException {
+        if (buffer.remaining() >= numberOfBytes) {
+            return;
+        }
+        buffer.compact();
+        int readBytes = 0;
+        while (buffer.position() < numberOfBytes && readBytes >= 0) {
+            readBytes = fileChannel.read(buffer);
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Returns the active AIs of the replayed game in their current state.
+     *
+     * @return the unmodifiable list of active AIs
+     */
+    public List<ArtificialIntelligence> getAis() {
+        return Collections.unmodifiableList(ais);
+    }
+
+    /**
+     * Returns the index of the next AI of the replayed game.
+     *
+     * @return the index of the next AI or -1 if no AI is alive
+     */
+    public int getNextAiIndex() {
+        return scheduler.getCurrentAiIndex();
+    }
+
+    /**
+     * Returns the number of steps that were replayed so far.
+     *
+     * @return the number of replayed steps
+     */
+    public int getNumberOfReplayedSteps() {
+        return numberOfReplayedSteps;
+    }
+
+    /**
+     * Returns the number of checksums of the log that matched the replayed memory so far.
+     *
+     * @return the number of verified checksums
+     */
+    public int getNumberOfVerifiedChecksums() {
+        return numberOfVerifiedChecksums;
+    }
+
+    /**
+     * Closes the replay log.
+     */
+    @Override
+    public void close() {
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            //the file is not used anymore anyway
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package edu.kit.informatik.codefight.model.round;
+
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.StateFingerprint;
+
+/**
+ * This class detects that a game reached a state it was in before. The state of a game consists of the content of
+ * the memory cells, the instruction pointers of the AIs, whether they are alive and the index of the next AI,
+ * so the game repeats the same commands from then on forever. The numbers of executed commands are not part of the
+ * state, they only grow by the same amounts in every repetition.
+ * The states are compared by their fingerprint with the state of a checkpoint, which is moved to the current state
+ * whenever the distance to it reaches the next power of two (Brent's algorithm). So a cycle is found at the latest
+ * after twice the number of steps until it is entered plus twice its length, without storing more than one state.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class CycleDetector {
+    //the first keys of the parts of the state are distinct from the first keys of the memory cells,
+    //which never have the sign bit set
+    private static final long AI_KEY = Long.MIN_VALUE;
+    private static final long NEXT_AI_INDEX_KEY = Long.MIN_VALUE | 1L << Integer.SIZE;
+    private static final int MAX_DISTANCE_TO_CHECKPOINT = 1 << (Integer.SIZE - 2);
+    private final Memory memory;
+    private final ArtificialIntelligence[] ais;
+    private final StateFingerprint state;
+    private final StateFingerprint checkpoint;
+    private final int[] numbersOfExecutedCommandsAtCheckpoint;
+    private int stepOfCheckpoint;
+    private int distanceToNextCheckpoint;
+
+    /**
+     * Constructs a new cycle detector for the given memory and AIs. The fingerprint of the memory has to be maintained.
+     *
+     * @param memory the memory
+     * @param ais the active AIs
+     */
+    public CycleDetector(Memory memory, ArtificialIntelligence[] ais) {
+        this.memory = memory;
+        this.ais = ais;
+        this.state = new StateFingerprint();
+        this.checkpoint = new StateFingerprint();
+        this.numbersOfExecutedCommandsAtCheckpoint = new int[ais.length];
+    }
+
+    /**
+     * Starts the detection of a cycle from the current state, which is the first checkpoint.
+     *
+     * @param nextAiIndex the index of the next AI
+     */
+    public void start(int nextAiIndex) {
+        updateState(nextAiIndex);
+        moveCheckpoint(0);
+        distanceToNextCheckpoint = 1;
+    }
+
+    /**
+     * Compares the current state with the state of the checkpoint.
+     *
+     * @param step the number of steps executed since the detection started
+     * @param nextAiIndex the index of the next AI
+     * @return the number of steps after which the state repeats or 0 if no cycle was found yet
+     */
+    public int record(int step, int nextAiIndex) {
+        updateState(nextAiIndex);
+        if (state.matches(checkpoint)) {
+            return step - stepOfCheckpoint;
+        }
+        if (step - stepOfCheckpoint == distanceToNextCheckpoint) {
+            moveCheckpoint(step);
+            distanceToNextCheckpoint = Math.min(2 * distanceToNextCheckpoint, MAX_DISTANCE_TO_CHECKPOINT);
+        }
+        return 0;
+    }
+
+    /**
+     * Skips the given number of repetitions of the cycle that was found. The state after the repetitions is the
+     * current state, so only the numbers of executed commands of the AIs are increased as if every step was executed.
+     *
+     * @param numberOfRepetitions the number of repetitions of the cycle
+     */
+    public void fastForward(int numberOfRepetitions) {
+        for (int i = 0; i < ais.length; i++) {
+            long commandsPerRepetition = ais[i].getNumberOfExecutedCommands() - numbersOfExecutedCommandsAtCheckpoint[i];
+            //the number of executed commands overflows the same way as if the commands were executed one by one
+            ais[i].increaseNumberOfExecutedCommands((int) (commandsPerRepetition * numberOfRepetitions));
+        }
+    }
+
+    private void moveCheckpoint(int step) {
+        checkpoint.set(state);
+        stepOfCheckpoint = step;
+        for (int i = 0; i < ais.length; i++) {
+            numbersOfExecutedCommandsAtCheckpoint[i] = ais[i].getNumberOfExecutedCommands();
+        }
+    }
+
+    private void updateState(int nextAiIndex) {
+        state.set(memory.getFingerprint());
+        for (int i = 0; i < ais.length; i++) {
+            long instructionPointerAndAlive = (long) ais[i].getInstructionPointer() << 1 | (ais[i].getIsAlive() ? 1 : 0);
+            state.toggle(AI_KEY | i, instructionPointerAndAlive);
+        }
+        state.toggle(NEXT_AI_INDEX_KEY, nextAiIndex);
+    }
+}
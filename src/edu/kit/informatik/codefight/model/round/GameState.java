@@ -0,0 +1,59 @@
+package edu.kit.informatik.codefight.model.round;
+
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.PagedMemoryStorage;
+
+/**
+ * This class represents the state of a running game after a step: the memory, the state of every active AI and whose
+ * turn it is. The memory is a {@link Memory#fork(java.util.function.IntFunction) fork}, so it shares the memory cells
+ * with the memory of the game until they are written.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+final class GameState {
+    private final Memory memory;
+    private final boolean[] isAlive;
+    private final int[] instructionPointers;
+    private final int[] numbersOfExecutedCommands;
+    private final int currentAiIndex;
+
+    /**
+     * Takes the current state of the game.
+     *
+     * @param memory the memory of the game
+     * @param ais the active AIs
+     * @param scheduler the scheduler of the living AIs
+     */
+    GameState(Memory memory, ArtificialIntelligence[] ais, RoundRobinScheduler scheduler) {
+        //the memory of a state is only read, so its storage is never created again
+        this.memory = memory.fork(PagedMemoryStorage::new);
+        this.isAlive = new boolean[ais.length];
+        this.instructionPointers = new int[ais.length];
+        this.numbersOfExecutedCommands = new int[ais.length];
+        for (int i = 0; i < ais.length; i++) {
+            isAlive[i] = ais[i].getIsAlive();
+            instructionPointers[i] = ais[i].getInstructionPointer();
+            numbersOfExecutedCommands[i] = ais[i].getNumberOfExecutedCommands();
+        }
+        this.currentAiIndex = scheduler.getCurrentAiIndex();
+    }
+
+    /**
+     * Sets the game back to this state.
+     *
+     * @param memory the memory of the game
+     * @param ais the active AIs
+     * @param scheduler the scheduler of the living AIs
+     */
+    void restore(Memory memory, ArtificialIntelligence[] ais, RoundRobinScheduler scheduler) {
+        memory.restore(this.memory);
+        for (int i = 0; i < ais.length; i++) {
+            ais[i].setIsAlive(isAlive[i]);
+            ais[i].setInstructionPointer(instructionPointers[i]);
+            ais[i].increaseNumberOfExecutedCommands(numbersOfExecutedCommands[i] - ais[i].getNumberOfExecutedCommands());
+        }
+        scheduler.restore(isAlive, currentAiIndex);
+    }
+}
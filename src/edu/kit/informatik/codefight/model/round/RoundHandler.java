@@ -2,22 +2,29 @@ package edu.kit.informatik.codefight.model.round;
 
 
 import edu.kit.informatik.codefight.exceptions.GameExecutionException;
+import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
 import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.MemoryJournal;
+import edu.kit.informatik.codefight.model.PersistentArena;
+import edu.kit.informatik.codefight.model.replay.ReplayRecorder;
 import edu.kit.informatik.codefight.model.round.aicommands.AddCommand;
 import edu.kit.informatik.codefight.model.round.aicommands.AddRCommand;
 import edu.kit.informatik.codefight.model.round.aicommands.AiCommand;
 import edu.kit.informatik.codefight.model.round.aicommands.CmpCommand;
+import edu.kit.informatik.codefight.model.round.aicommands.DecodeCache;
+import edu.kit.informatik.codefight.model.round.aicommands.DecodedAiCommand;
 import edu.kit.informatik.codefight.model.round.aicommands.JmpCommand;
 import edu.kit.informatik.codefight.model.round.aicommands.JmzCommand;
 import edu.kit.informatik.codefight.model.round.aicommands.MovICommand;
 import edu.kit.informatik.codefight.model.round.aicommands.MovRCommand;
+import edu.kit.informatik.codefight.model.round.aicommands.Opcode;
 import edu.kit.informatik.codefight.model.round.aicommands.StopCommand;
 import edu.kit.informatik.codefight.model.round.aicommands.SwapCommand;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.Path;
+import java.util.List;
 
 import static edu.kit.informatik.codefight.command.CommandHandler.COMMAND_NOT_FOUND_FORMAT;
 import static edu.kit.informatik.codefight.command.CommandHandler.ERROR_PREFIX;
@@ -30,92 +37,410 @@ import static edu.kit.informatik.codefight.command.CommandHandler.ERROR_PREFIX;
  * @version 1.0
  */
 public class RoundHandler {
-    private static final String AI_STOPPED_FORMAT = "%s executed %d steps until stopping.";
     private final CodeFight codeFight;
-    private final Map<String, AiCommand> commands;
-    private ArtificialIntelligence currentAi;
-    private int nextAiIndex;
+    private final List<ArtificialIntelligence> activeAis;
+    //the active AIs in the order of the list, so finding the current AI does not go through the list
+    private final ArtificialIntelligence[] ais;
+    private final StopEventLog stopEvents;
+    private final RoundRobinScheduler scheduler;
+    //the AI commands indexed by the code of their opcode
+    private final AiCommand[] commands;
+    //the file the state of the AIs is written to after every command or null if the game is not persistent
+    private final PersistentArena persistentArena;
+    //the decoded memory cells, invalidated by the memory whenever a memory cell is written
+    private final DecodeCache decodeCache;
+    //detects repeated states of the game to skip their repetitions, null if cycle detection is disabled
+    private final CycleDetector cycleDetector;
+    //whether no commands are executed anymore once at most one AI is alive
+    private final boolean isStoppedWhenDecided;
+    //records the executed steps to undo them, null if the game is not reversible
+    private final UndoJournal undoJournal;
+    //records the last executed steps, null if the depth of the trace is 0
+    private final StepTrace stepTrace;
+    //takes snapshots of the game to jump to any step, null if the game takes no snapshots
+    private final SnapshotStore snapshotStore;
+    //records the executed steps in a replay log, null if the game is not recorded
+    private ReplayRecorder replayRecorder;
     /**
      * Creates a new round handler.
      *
      * @param codeFight the code fight game
      */
     public RoundHandler(CodeFight codeFight) {
+        this(codeFight, new RoundRobinScheduler(codeFight.getActiveAis().size()));
+        initInstructionPointers();
+    }
+
+    /**
+     * Creates a new round handler for a resumed game. The instruction pointers of the AIs are kept.
+     *
+     * @param codeFight the code fight game
+     * @param nextAiIndex the index of the next AI or -1 if no AI is alive
+     */
+    public RoundHandler(CodeFight codeFight, int nextAiIndex) {
+        this(codeFight, new RoundRobinScheduler(getAliveAis(codeFight.getActiveAis()), nextAiIndex));
+    }
+
+    private RoundHandler(CodeFight codeFight, RoundRobinScheduler scheduler) {
         this.codeFight = codeFight;
-        this.nextAiIndex = 0;
-        this.currentAi = codeFight.getActiveAis().get(nextAiIndex);
-        this.commands = new HashMap<>();
+        this.activeAis = codeFight.getActiveAis();
+        this.ais = activeAis.toArray(new ArtificialIntelligence[0]);
+        this.stopEvents = new StopEventLog(activeAis.size());
+        this.scheduler = scheduler;
+        this.commands = new AiCommand[Opcode.getNumberOfOpcodes()];
+        this.persistentArena = codeFight.getPersistentArena();
+        this.isStoppedWhenDecided = codeFight.isStoppedWhenDecided();
         initCommands();
-        initInstructionPointers();
+        this.decodeCache = new DecodeCache(commands);
+        this.stepTrace = codeFight.getTraceDepth() > 0 ? new StepTrace(codeFight.getTraceDepth()) : null;
+        codeFight.getMemory().setMemoryListener(decodeCache);
+        if (codeFight.isReversible()) {
+            this.undoJournal = new UndoJournal(codeFight.getMemory(), ais, scheduler);
+        } else {
+            this.undoJournal = null;
+        }
+        codeFight.getMemory().setMemoryJournal(createMemoryJournal(undoJournal));
+        if (codeFight.getSnapshotSpacing() > 0) {
+            this.snapshotStore = new SnapshotStore(codeFight.getMemory(), ais, scheduler, getNumberOfExecutedSteps(),
+                    codeFight.getSnapshotSpacing());
+        } else {
+            this.snapshotStore = null;
+        }
+        //skipping the repetitions of a cycle would skip steps that can be undone, have to be recorded or are snapshots
+        if (codeFight.isCycleDetectionEnabled() && undoJournal == null && codeFight.getReplayLogPath() == null
+                && snapshotStore == null) {
+            codeFight.getMemory().enableFingerprint();
+            this.cycleDetector = new CycleDetector(codeFight.getMemory(), ais);
+        } else {
+            this.cycleDetector = null;
+        }
     }
+
     /**
-     * Sets the index of the next AI. If no AI is alive, the value is set to -1.
+     * Returns the journal of the memory that passes the memory cells on to the given journal. In a persistent game,
+     * the memory cells are written to the intent record of the file first, so an interrupted step can be rolled back.
+     */
+    private MemoryJournal createMemoryJournal(MemoryJournal journal) {
+        return persistentArena != null ? persistentArena.createIntentJournal(journal) : journal;
+    }
+
+    private static boolean[] getAliveAis(List<ArtificialIntelligence> activeAis) {
+        boolean[] aliveAis = new boolean[activeAis.size()];
+        for (int i = 0; i < aliveAis.length; i++) {
+            aliveAis[i] = activeAis.get(i).getIsAlive();
+        }
+        return aliveAis;
+    }
+    /**
+     * Executes the given number of commands, one command of each living AI after another. If an AI stopped,
+     * the index of the AI and the number of executed commands are recorded in the
+     * {@link #getStopEvents() stop event log}.
+     * If cycle detection is enabled and the game repeats a state, the remaining repetitions of the cycle are skipped
+     * and only the numbers of executed commands of the AIs are increased as if every command was executed.
      *
+     * @param numberOfCommands the number of commands to execute
+     * @throws GameExecutionException if the command name is not valid or the replay log cannot be written anymore
      */
-    private void nextAiIndex() {
-        //set the index to the next AI in the list of active AIs that is still alive
-        for (int i = nextAiIndex + 1; i < nextAiIndex + 1 + codeFight.getActiveAis().size(); i++) {
-            int nextIndex = i % codeFight.getActiveAis().size();
-            if (codeFight.getActiveAis().get(nextIndex).getIsAlive()) {
-                nextAiIndex = nextIndex;
+    public void executeCommands(int numberOfCommands) throws GameExecutionException {
+        try {
+            if (snapshotStore != null) {
+                executeCommandsTakingSnapshots(numberOfCommands);
+            } else if (cycleDetector != null) {
+                executeCommandsDetectingCycles(numberOfCommands);
+            } else {
+                runCommands(numberOfCommands);
+            }
+        } finally {
+            //the replay log contains every executed step as soon as the commands are executed
+            if (replayRecorder != null) {
+                replayRecorder.flush();
+            }
+        }
+        //the game goes on without the recording, but the failure is reported once
+        if (replayRecorder != null && replayRecorder.hasFailed()) {
+            stopRecording();
+            throw new GameExecutionException(ReplayRecorder.RECORDING_FAILED_MESSAGE);
+        }
+    }
+
+    private void executeCommandsDetectingCycles(int numberOfCommands) throws GameExecutionException {
+        cycleDetector.start(scheduler.getCurrentAiIndex());
+        int executedCommands = 0;
+        while (executedCommands < numberOfCommands && isRunning()) {
+            runCommands(1);
+            executedCommands++;
+            int lengthOfCycle = cycleDetector.record(executedCommands, scheduler.getCurrentAiIndex());
+            if (lengthOfCycle > 0) {
+                int numberOfRepetitions = (numberOfCommands - executedCommands) / lengthOfCycle;
+                cycleDetector.fastForward(numberOfRepetitions);
+                saveStateOfAllAis();
+                //the commands after the last complete repetition are executed as usual
+                runCommands(numberOfCommands - executedCommands - numberOfRepetitions * lengthOfCycle);
                 return;
             }
         }
-        //set the current AI to -1 if no AI is alive
-        nextAiIndex = -1;
     }
+
+    private boolean isRunning() {
+        return scheduler.getCurrentAiIndex() != RoundRobinScheduler.NO_AI_ALIVE
+                && !(isStoppedWhenDecided && scheduler.hasSingleAiAlive());
+    }
+
+    private void executeCommandsTakingSnapshots(int numberOfCommands) throws GameExecutionException {
+        long step = getNumberOfExecutedSteps();
+        long targetStep = step + numberOfCommands;
+        snapshotStore.takeSnapshotIfDue(step);
+        //the commands are executed up to the step of the next snapshot, so no step has to check for it
+        while (step < targetStep && isRunning()) {
+            runCommands((int) (Math.min(targetStep, snapshotStore.getNextSnapshotStep(step)) - step));
+            step = getNumberOfExecutedSteps();
+            snapshotStore.takeSnapshotIfDue(step);
+        }
+    }
+
+    private long getNumberOfExecutedSteps() {
+        long numberOfExecutedSteps = 0;
+        for (ArtificialIntelligence ai : ais) {
+            numberOfExecutedSteps += ai.getNumberOfExecutedCommands();
+        }
+        return numberOfExecutedSteps;
+    }
+
+    private void saveStateOfAllAis() {
+        if (persistentArena != null) {
+            for (int i = 0; i < ais.length; i++) {
+                persistentArena.saveAiState(i, ais[i], scheduler.getCurrentAiIndex());
+            }
+        }
+    }
+
+    private void runCommands(int numberOfCommands) throws GameExecutionException {
+        Memory memory = codeFight.getMemory();
+        int remainingCommands = numberOfCommands;
+        while (remainingCommands > 0 && isRunning()) {
+            int currentAiIndex = scheduler.getCurrentAiIndex();
+            ArtificialIntelligence currentAi = ais[currentAiIndex];
+            DecodedAiCommand decodedAiCommand = decodeCache.get(memory, currentAi.getInstructionPointer());
+            executeCommand(memory, currentAiIndex, decodedAiCommand);
+            remainingCommands--;
+        }
+    }
+
     /**
-     * Executes the next command of the current AI.
+     * Executes the next command of the current AI and passes the turn to the next living AI.
      *
-     * @return a string containing the name of the AI and the number of executed commands if the AI stopped
-     *         otherwise null
+     * @param memory the memory
+     * @param currentAiIndex the index of the current AI
+     * @param decodedAiCommand the decoded command at the instruction pointer of the current AI or null if the memory
+     *                         cell does not contain a command
      * @throws GameExecutionException if the command name is not valid
      */
-    public String executeCommand() throws GameExecutionException {
-        //check if there is still an AI alive because otherwise no command needs to be executed
-        String resultMessage = "";
-        if (nextAiIndex == -1) {
-            return null;
+    private void executeCommand(Memory memory, int currentAiIndex, DecodedAiCommand decodedAiCommand)
+            throws GameExecutionException {
+        ArtificialIntelligence currentAi = ais[currentAiIndex];
+        // check if the memory cell contains an AI command
+        if (decodedAiCommand == null) {
+            throw new GameExecutionException(ERROR_PREFIX
+                    + COMMAND_NOT_FOUND_FORMAT.formatted(memory.getCommandName(currentAi.getInstructionPointer())));
+        }
+        if (persistentArena != null) {
+            persistentArena.beginStep(currentAiIndex);
         }
-        currentAi = codeFight.getActiveAis().get(nextAiIndex);
-        MemoryCell currentCommand = codeFight.getMemory().getMemoryCell(currentAi.getInstructionPointer());
-        // check if the command name is valid
-        if (!commands.containsKey(currentCommand.getCommandName())) {
-            throw new GameExecutionException(ERROR_PREFIX + COMMAND_NOT_FOUND_FORMAT.formatted(currentCommand.getCommandName()));
+        if (undoJournal != null) {
+            undoJournal.recordStep(currentAiIndex);
+        }
+        if (replayRecorder != null) {
+            replayRecorder.recordStep(currentAiIndex);
         }
         // execute the command
-        commands.get(currentCommand.getCommandName()).execute(codeFight, currentCommand, currentAi);
-        //check if current AI executed a stop command
+        int address = currentAi.getInstructionPointer();
+        decodedAiCommand.getAiCommand().execute(memory, currentAi, decodedAiCommand);
+        if (stepTrace != null) {
+            stepTrace.record(currentAiIndex, address, decodedAiCommand, currentAi);
+        }
+        //check if current AI executed a stop command and set the next AI
         if (!currentAi.getIsAlive()) {
-            resultMessage += AI_STOPPED_FORMAT.formatted(currentAi.getName(), currentAi.getNumberOfExecutedCommands() - 1);
+            stopEvents.add(currentAiIndex, currentAi.getNumberOfExecutedCommands() - 1);
+            scheduler.removeCurrentAndAdvance();
+        } else {
+            scheduler.advance();
+        }
+        if (persistentArena != null) {
+            persistentArena.saveAiState(currentAiIndex, currentAi, scheduler.getCurrentAiIndex());
+        }
+    }
+
+    /**
+     * Stops the AI with the given index without executing a command, so it is not part of the rounds anymore.
+     *
+     * @param aiIndex the index of the AI in the list of active AIs
+     * @return true if the AI was alive, false otherwise
+     */
+    public boolean stopAi(int aiIndex) {
+        ArtificialIntelligence ai = ais[aiIndex];
+        if (!ai.getIsAlive()) {
+            return false;
+        }
+        //like after a stop command, the AI does not point to a memory cell anymore
+        ai.setIsAlive(false);
+        ai.setInstructionPointer(-1);
+        scheduler.remove(aiIndex);
+        if (persistentArena != null) {
+            persistentArena.saveAiState(aiIndex, ai, scheduler.getCurrentAiIndex());
+        }
+        return true;
+    }
+
+    /**
+     * Starts to record every executed step in a {@link ReplayRecorder replay log}, which starts with the current state
+     * of the game. The recorder is the journal of the memory, so a recorded game cannot be reversible.
+     *
+     * @param path the path of the replay log
+     * @throws GameInitialisationException if the file cannot be accessed
+     */
+    public void startRecording(Path path) throws GameInitialisationException {
+        replayRecorder = new ReplayRecorder(path, codeFight.getMemory(), ais, scheduler.getCurrentAiIndex());
+        codeFight.getMemory().setMemoryJournal(createMemoryJournal(replayRecorder));
+    }
+
+    /**
+     * Writes the remaining steps to the replay log and closes it, if the game is recorded.
+     */
+    public void stopRecording() {
+        if (replayRecorder != null) {
+            replayRecorder.close();
+            codeFight.getMemory().setMemoryJournal(createMemoryJournal(null));
+            replayRecorder = null;
+        }
+    }
+
+    /**
+     * Returns the number of commands that can be undone.
+     *
+     * @return the number of commands or 0 if the game is not reversible
+     */
+    public int getNumberOfRewindableCommands() {
+        return undoJournal != null ? undoJournal.getNumberOfRewindableSteps() : 0;
+    }
+
+    /**
+     * Undoes the given number of the last executed commands. Commands that were executed before the last checkpoint
+     * of the {@link UndoJournal undo journal} are undone by restoring an earlier checkpoint and executing the commands
+     * after it again, the AIs that stop then are recorded in the {@link #getStopEvents() stop event log}.
+     *
+     * @param numberOfCommands the number of commands, at most the {@link #getNumberOfRewindableCommands() number of
+     *                         rewindable commands}
+     * @throws GameExecutionException if a command that is executed again is not valid
+     */
+    public void rewind(int numberOfCommands) throws GameExecutionException {
+        int numberOfCommandsToExecuteAgain = undoJournal.rewind(numberOfCommands);
+        //the trace ends with the target step after the steps before it are executed again
+        if (stepTrace != null) {
+            stepTrace.removeLatest(numberOfCommands + numberOfCommandsToExecuteAgain);
+        }
+        runCommands(numberOfCommandsToExecuteAgain);
+    }
+
+    /**
+     * Returns whether the game takes snapshots, so it can {@link #seek(long) jump} to earlier steps.
+     *
+     * @return true if the game takes snapshots, false otherwise
+     */
+    public boolean isSeekable() {
+        return snapshotStore != null;
+    }
+
+    /**
+     * Returns the current step of the game, which is the sum of the numbers of executed commands of all AIs.
+     *
+     * @return the current step
+     */
+    public long getStep() {
+        return getNumberOfExecutedSteps();
+    }
+
+    /**
+     * Returns the earliest step the game can {@link #seek(long) jump} to.
+     *
+     * @return the step of the first snapshot
+     */
+    public long getFirstSeekableStep() {
+        return snapshotStore.getFirstStep();
+    }
+
+    /**
+     * Jumps to the given step of the game. If the step is before the current step or a snapshot is closer to it, the
+     * last snapshot at or before the step is restored first, then the commands up to the step are executed. The AIs
+     * that stop then are recorded in the {@link #getStopEvents() stop event log}. If all AIs stop before the step,
+     * the game stays at the step at which the last AI stopped. Restoring a snapshot discards the commands that could
+     * be undone before.
+     *
+     * @param targetStep the step, at least the {@link #getFirstSeekableStep() first seekable step}
+     * @return the step the game is at afterwards
+     * @throws GameExecutionException if a command that is executed is not valid
+     */
+    public long seek(long targetStep) throws GameExecutionException {
+        long step = getNumberOfExecutedSteps();
+        long snapshotStep = snapshotStore.getLatestSnapshotStep(targetStep);
+        if (targetStep < step || snapshotStep > step) {
+            //the trace ends with the snapshot if it was reached before, otherwise it starts over
+            if (stepTrace != null) {
+                stepTrace.removeLatest(snapshotStep < step ? (int) Math.min(Integer.MAX_VALUE, step - snapshotStep)
+                        : Integer.MAX_VALUE);
+            }
+            snapshotStore.restore(snapshotStep);
+            if (undoJournal != null) {
+                undoJournal.reset();
+            }
+            step = snapshotStep;
         }
-        // set the next AI
-        nextAiIndex();
-        return resultMessage.isEmpty() ? null : resultMessage;
+        while (step < targetStep && scheduler.getCurrentAiIndex() != RoundRobinScheduler.NO_AI_ALIVE) {
+            executeCommandsTakingSnapshots((int) Math.min(Integer.MAX_VALUE, targetStep - step));
+            step = getNumberOfExecutedSteps();
+        }
+        return step;
+    }
+
+    /**
+     * Returns the log of the AIs that stopped during the execution of commands.
+     *
+     * @return the stop event log
+     */
+    public StopEventLog getStopEvents() {
+        return stopEvents;
+    }
+
+    /**
+     * Returns the trace of the last executed commands.
+     *
+     * @return the trace or null if the depth of the trace is 0
+     */
+    public StepTrace getStepTrace() {
+        return stepTrace;
     }
 
     /**
-     * Returns the index of the current AI.
+     * Returns the index of the next AI. If no AI is alive, -1 is returned.
      *
-     * @return the index of the current AI
+     * @return the index of the next AI
      */
     public int getNextAiIndex() {
-        return nextAiIndex;
+        return scheduler.getCurrentAiIndex();
     }
     private void initCommands() {
-        this.addCommand(StopCommand.COMMAND_NAME, new StopCommand());
-        this.addCommand(MovRCommand.COMMAND_NAME, new MovRCommand());
-        this.addCommand(MovICommand.COMMAND_NAME, new MovICommand());
-        this.addCommand(AddCommand.COMMAND_NAME, new AddCommand());
-        this.addCommand(AddRCommand.COMMAND_NAME, new AddRCommand());
-        this.addCommand(JmpCommand.COMMAND_NAME, new JmpCommand());
-        this.addCommand(JmzCommand.COMMAND_NAME, new JmzCommand());
-        this.addCommand(CmpCommand.COMMAND_NAME, new CmpCommand());
-        this.addCommand(SwapCommand.COMMAND_NAME, new SwapCommand());
+        this.addCommand(Opcode.STOP, new StopCommand());
+        this.addCommand(Opcode.MOV_R, new MovRCommand());
+        this.addCommand(Opcode.MOV_I, new MovICommand());
+        this.addCommand(Opcode.ADD, new AddCommand());
+        this.addCommand(Opcode.ADD_R, new AddRCommand());
+        this.addCommand(Opcode.JMP, new JmpCommand());
+        this.addCommand(Opcode.JMZ, new JmzCommand());
+        this.addCommand(Opcode.CMP, new CmpCommand());
+        this.addCommand(Opcode.SWAP, new SwapCommand());
     }
 
-    private void addCommand(String commandName, AiCommand aiCommand) {
-        this.commands.put(commandName, aiCommand);
+    private void addCommand(Opcode opcode, AiCommand aiCommand) {
+        this.commands[opcode.getCode()] = aiCommand;
     }
 
     /**
@@ -123,9 +448,10 @@ public class RoundHandler {
      * the first command is not a stop command.
      */
     private void initInstructionPointers() {
-        for (ArtificialIntelligence ai : codeFight.getActiveAis()) {
-            while (codeFight.getMemory().getMemoryCell(ai.getInstructionPointer()).getCommandName().equals(StopCommand.COMMAND_NAME)) {
-                ai.setInstructionPointer(ai.getInstructionPointer() + 1);
+        Memory memory = codeFight.getMemory();
+        for (ArtificialIntelligence ai : activeAis) {
+            while (memory.getOpcode(ai.getInstructionPointer()) == Opcode.STOP.getCode()) {
+                ai.setInstructionPointer(memory.normaliseIndex(ai.getInstructionPointer() + 1L));
             }
         }
     }
@@ -0,0 +1,155 @@
+package edu.kit.informatik.codefight.model.round;
+
+/**
+ * This class determines the order in which the living AIs execute their commands.
+ * The living AIs are kept in a circular doubly linked ring in the order of the list of active AIs,
+ * so that the next AI is found and a stopped AI is removed in constant time.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class RoundRobinScheduler {
+    /**
+     * The index that is returned if no AI is alive anymore.
+     */
+    public static final int NO_AI_ALIVE = -1;
+    private final int[] nextAiIndices;
+    private final int[] previousAiIndices;
+    private int currentAiIndex;
+
+    /**
+     * Constructs a new round-robin scheduler in which all AIs are alive and the first AI is the current one.
+     *
+     * @param numberOfAis the number of active AIs
+     */
+    public RoundRobinScheduler(int numberOfAis) {
+        this.nextAiIndices = new int[numberOfAis];
+        this.previousAiIndices = new int[numberOfAis];
+        linkAll();
+        this.currentAiIndex = numberOfAis > 0 ? 0 : NO_AI_ALIVE;
+    }
+
+    /**
+     * Constructs a new round-robin scheduler for a resumed game in which only the AIs that are still alive are part of
+     * the ring.
+     *
+     * @param isAlive whether the AI at each index of the list of active AIs is alive
+     * @param currentAiIndex the index of the AI whose turn it is or {@link #NO_AI_ALIVE} if no AI is alive
+     */
+    public RoundRobinScheduler(boolean[] isAlive, int currentAiIndex) {
+        this(isAlive.length);
+        restore(isAlive, currentAiIndex);
+    }
+
+    /**
+     * Rebuilds the ring, so only the AIs that are alive are part of it.
+     *
+     * @param isAlive whether the AI at each index of the list of active AIs is alive
+     * @param currentAiIndex the index of the AI whose turn it is or {@link #NO_AI_ALIVE} if no AI is alive
+     */
+    public void restore(boolean[] isAlive, int currentAiIndex) {
+        linkAll();
+        for (int i = 0; i < isAlive.length; i++) {
+            if (!isAlive[i] && nextAiIndices[i] != i) {
+                unlink(i);
+            }
+        }
+        this.currentAiIndex = currentAiIndex;
+    }
+
+    private void linkAll() {
+        int numberOfAis = nextAiIndices.length;
+        for (int i = 0; i < numberOfAis; i++) {
+            nextAiIndices[i] = (i + 1) % numberOfAis;
+            previousAiIndices[i] = (i - 1 + numberOfAis) % numberOfAis;
+        }
+    }
+
+    /**
+     * Returns the index of the AI whose turn it is.
+     *
+     * @return the index of the current AI in the list of active AIs or {@link #NO_AI_ALIVE} if no AI is alive
+     */
+    public int getCurrentAiIndex() {
+        return currentAiIndex;
+    }
+
+    /**
+     * Sets the index of the AI whose turn it is.
+     *
+     * @param currentAiIndex the index of a living AI or {@link #NO_AI_ALIVE} if no AI is alive
+     */
+    public void setCurrentAiIndex(int currentAiIndex) {
+        this.currentAiIndex = currentAiIndex;
+    }
+
+    /**
+     * Returns whether exactly one AI is alive, so the current AI keeps the turn after every command.
+     *
+     * @return true if exactly one AI is alive, false otherwise
+     */
+    public boolean hasSingleAiAlive() {
+        return currentAiIndex != NO_AI_ALIVE && nextAiIndices[currentAiIndex] == currentAiIndex;
+    }
+
+    /**
+     * Passes the turn to the next living AI.
+     */
+    public void advance() {
+        if (currentAiIndex != NO_AI_ALIVE) {
+            currentAiIndex = nextAiIndices[currentAiIndex];
+        }
+    }
+
+    /**
+     * Removes the current AI from the ring because it stopped and passes the turn to the next living AI.
+     * The links of the removed AI are kept, so that it could be reinserted at the same position.
+     */
+    public void removeCurrentAndAdvance() {
+        if (currentAiIndex == NO_AI_ALIVE) {
+            return;
+        }
+        int nextAiIndex = nextAiIndices[currentAiIndex];
+        if (nextAiIndex == currentAiIndex) { //the current AI was the last living AI
+            currentAiIndex = NO_AI_ALIVE;
+            return;
+        }
+        unlink(currentAiIndex);
+        currentAiIndex = nextAiIndex;
+    }
+
+    /**
+     * Removes the AI with the given index from the ring because it stopped. If it is the current AI, the turn passes
+     * to the next living AI.
+     *
+     * @param aiIndex the index of the living AI in the list of active AIs
+     */
+    public void remove(int aiIndex) {
+        if (aiIndex == currentAiIndex) {
+            removeCurrentAndAdvance();
+        } else {
+            unlink(aiIndex);
+        }
+    }
+
+    /**
+     * Inserts the AI with the given index into the ring again at the position it was removed from. As the links of
+     * a removed AI are kept, this undoes its removal if the AIs are inserted in the reverse order of their removal.
+     *
+     * @param aiIndex the index of the AI that was removed last of all removed AIs
+     */
+    public void reinsert(int aiIndex) {
+        //the last living AI is never unlinked, so it is still part of the ring
+        if (nextAiIndices[previousAiIndices[aiIndex]] != aiIndex) {
+            nextAiIndices[previousAiIndices[aiIndex]] = aiIndex;
+            previousAiIndices[nextAiIndices[aiIndex]] = aiIndex;
+        }
+    }
+
+    private void unlink(int aiIndex) {
+        int previousAiIndex = previousAiIndices[aiIndex];
+        int nextAiIndex = nextAiIndices[aiIndex];
+        nextAiIndices[previousAiIndex] = nextAiIndex;
+        previousAiIndices[nextAiIndex] = previousAiIndex;
+    }
+}
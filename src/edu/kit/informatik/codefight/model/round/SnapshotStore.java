@@ -0,0 +1,151 @@
+package edu.kit.informatik.codefight.model.round;
+
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.Memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class takes snapshots of a running game at regular steps, so the game can jump to any step after the first
+ * snapshot by restoring the last snapshot before the step and executing the steps after it again. The steps of the
+ * game are counted by the sum of the numbers of executed commands of all active AIs.
+ * <p>
+ * A snapshot is taken every time the number of steps since the first snapshot is a multiple of the spacing. The store
+ * keeps a bounded number of snapshots: when it is full, the spacing is doubled and every other snapshot is discarded.
+ * So the snapshots cover the whole game with a spacing that grows with the length of the game, and at most one spacing
+ * of steps has to be executed again to reach any step. As the game is deterministic, snapshots after the current step
+ * stay valid when the game jumps back.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class SnapshotStore {
+    /**
+     * The maximum number of snapshots that are kept.
+     */
+    public static final int MAX_NUMBER_OF_SNAPSHOTS = 64;
+    private final Memory memory;
+    private final ArtificialIntelligence[] ais;
+    private final RoundRobinScheduler scheduler;
+    private final long firstStep;
+    //the snapshots ordered by their steps
+    private final List<Snapshot> snapshots;
+    private long spacing;
+
+    /**
+     * Constructs a new empty store. The first snapshot is taken at the given step.
+     *
+     * @param memory the memory of the game
+     * @param ais the active AIs
+     * @param scheduler the scheduler of the living AIs
+     * @param firstStep the step of the first snapshot
+     * @param spacing the initial number of steps between two snapshots, positive
+     */
+    public SnapshotStore(Memory memory, ArtificialIntelligence[] ais, RoundRobinScheduler scheduler, long firstStep,
+                         int spacing) {
+        this.memory = memory;
+        this.ais = ais;
+        this.scheduler = scheduler;
+        this.firstStep = firstStep;
+        this.spacing = spacing;
+        this.snapshots = new ArrayList<>(MAX_NUMBER_OF_SNAPSHOTS);
+    }
+
+    /**
+     * Returns the step of the first snapshot, no earlier step can be restored.
+     *
+     * @return the step of the first snapshot
+     */
+    public long getFirstStep() {
+        return firstStep;
+    }
+
+    /**
+     * Returns the first step after the given step at which a snapshot is due.
+     *
+     * @param step the current step, at least the {@link #getFirstStep() first step}
+     * @return the step of the next snapshot
+     */
+    public long getNextSnapshotStep(long step) {
+        return firstStep + ((step - firstStep) / spacing + 1) * spacing;
+    }
+
+    /**
+     * Takes a snapshot of the current state of the game if a snapshot is due at the given step and was not taken yet.
+     *
+     * @param step the current step
+     */
+    public void takeSnapshotIfDue(long step) {
+        if (!isDue(step)) {
+            return;
+        }
+        int position = findPosition(step);
+        if (position < snapshots.size() && snapshots.get(position).step == step) {
+            return;
+        }
+        if (snapshots.size() == MAX_NUMBER_OF_SNAPSHOTS) {
+            spacing *= 2;
+            snapshots.removeIf(snapshot -> !isDue(snapshot.step));
+            if (!isDue(step)) {
+                return;
+            }
+            position = findPosition(step);
+        }
+        snapshots.add(position, new Snapshot(step, new GameState(memory, ais, scheduler)));
+    }
+
+    /**
+     * Returns the step of the last snapshot at or before the given step.
+     *
+     * @param step the step
+     * @return the step of the snapshot or -1 if there is no snapshot at or before the step
+     */
+    public long getLatestSnapshotStep(long step) {
+        int position = findPosition(step + 1);
+        return position > 0 ? snapshots.get(position - 1).step : -1;
+    }
+
+    /**
+     * Sets the game back to the snapshot at the given step.
+     *
+     * @param step the step of a snapshot, as returned by {@link #getLatestSnapshotStep(long)}
+     */
+    public void restore(long step) {
+        snapshots.get(findPosition(step)).state.restore(memory, ais, scheduler);
+    }
+
+    private boolean isDue(long step) {
+        return step >= firstStep && (step - firstStep) % spacing == 0;
+    }
+
+    /**
+     * Returns the position of the first snapshot at or after the given step.
+     */
+    private int findPosition(long step) {
+        int low = 0;
+        int high = snapshots.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (snapshots.get(middle).step < step) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * This class represents the state of the game at a step.
+     */
+    private static final class Snapshot {
+        private final long step;
+        private final GameState state;
+
+        Snapshot(long step, GameState state) {
+            this.step = step;
+            this.state = state;
+        }
+    }
+}
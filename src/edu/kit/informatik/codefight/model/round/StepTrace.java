@@ -0,0 +1,119 @@
+package edu.kit.informatik.codefight.model.round;
+
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.round.aicommands.AiCommand;
+import edu.kit.informatik.codefight.model.round.aicommands.DecodedAiCommand;
+
+import java.util.List;
+
+/**
+ * This class records the last executed steps of a game in a ring buffer of fixed depth, so the steps before an
+ * unexpected stop of an AI can be inspected afterwards. Every step records the index of the AI, its number of executed
+ * commands afterwards, the executed AI command with its address and arguments and the instruction pointer of the AI
+ * afterwards. The records are stored in arrays that are allocated once and overwritten from the oldest record on,
+ * and they are only formatted when the trace is shown, so recording a step does not allocate memory.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class StepTrace {
+    /**
+     * The number of steps that are recorded if no other depth is configured.
+     */
+    public static final int DEFAULT_DEPTH = 32;
+    /**
+     * The maximum number of steps that can be recorded.
+     */
+    public static final int MAX_DEPTH = 1 << 20;
+    private static final String STEP_FORMAT = "%s (step %d): %s|%d|%d @%d, next @%d";
+    private static final String STOPPING_STEP_FORMAT = "%s (step %d): %s|%d|%d @%d, STOPPED";
+    private static final String NO_STEPS_MESSAGE = "No steps were executed.";
+    //the index of the AI, its number of executed commands, the address and the arguments of the command, the next address
+    private static final int RECORD_SIZE = 6;
+    private final int depth;
+    private final int[] records;
+    private final AiCommand[] aiCommands;
+    //the position the next step is recorded at, which holds the oldest step once the buffer is full
+    private int position;
+    private int numberOfSteps;
+
+    /**
+     * Constructs a new empty trace.
+     *
+     * @param depth the number of the last steps that are recorded, positive and at most {@link #MAX_DEPTH}
+     */
+    public StepTrace(int depth) {
+        this.depth = depth;
+        this.records = new int[depth * RECORD_SIZE];
+        this.aiCommands = new AiCommand[depth];
+    }
+
+    /**
+     * Records a step that was executed, replacing the oldest step if the trace is full.
+     *
+     * @param aiIndex the index of the AI that executed the step
+     * @param address the address of the executed command
+     * @param decodedAiCommand the executed command
+     * @param ai the AI after the step
+     */
+    public void record(int aiIndex, int address, DecodedAiCommand decodedAiCommand, ArtificialIntelligence ai) {
+        int offset = position * RECORD_SIZE;
+        records[offset] = aiIndex;
+        records[offset + 1] = ai.getNumberOfExecutedCommands();
+        records[offset + 2] = address;
+        records[offset + 3] = decodedAiCommand.getFirstArgument();
+        records[offset + 4] = decodedAiCommand.getSecondArgument();
+        records[offset + 5] = ai.getInstructionPointer();
+        aiCommands[position] = decodedAiCommand.getAiCommand();
+        position++;
+        if (position == depth) {
+            position = 0;
+        }
+        if (numberOfSteps < depth) {
+            numberOfSteps++;
+        }
+    }
+
+    /**
+     * Removes the given number of the latest recorded steps, so the trace ends with an earlier step.
+     *
+     * @param numberOfRemovedSteps the number of steps, all steps are removed if it is larger than their number
+     */
+    public void removeLatest(int numberOfRemovedSteps) {
+        int removedSteps = Math.min(numberOfRemovedSteps, numberOfSteps);
+        position = Math.floorMod(position - removedSteps, depth);
+        numberOfSteps -= removedSteps;
+    }
+
+    /**
+     * Returns the recorded steps from the oldest to the latest one, separated by line separators.
+     *
+     * @param activeAis the list of active AIs the recorded indices refer to
+     * @return the recorded steps or a message that no steps were executed
+     */
+    public String format(List<ArtificialIntelligence> activeAis) {
+        if (numberOfSteps == 0) {
+            return NO_STEPS_MESSAGE;
+        }
+        StringBuilder trace = new StringBuilder();
+        int start = Math.floorMod(position - numberOfSteps, depth);
+        for (int i = 0; i < numberOfSteps; i++) {
+            if (i != 0) {
+                trace.append(System.lineSeparator());
+            }
+            int recordPosition = (start + i) % depth;
+            int offset = recordPosition * RECORD_SIZE;
+            String aiName = activeAis.get(records[offset]).getName();
+            String commandName = aiCommands[recordPosition].getCommandName();
+            //a stopped AI does not point to a memory cell anymore
+            if (records[offset + 5] < 0) {
+                trace.append(STOPPING_STEP_FORMAT.formatted(aiName, records[offset + 1], commandName, records[offset + 3],
+                        records[offset + 4], records[offset + 2]));
+            } else {
+                trace.append(STEP_FORMAT.formatted(aiName, records[offset + 1], commandName, records[offset + 3],
+                        records[offset + 4], records[offset + 2], records[offset + 5]));
+            }
+        }
+        return trace.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package edu.kit.informatik.codefight.model.round;
+
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+
+import java.util.List;
+
+/**
+ * This class records the AIs that stopped during the execution of AI commands.
+ * The events are stored as primitive records and are only formatted when the output is produced,
+ * so that recording an event does not allocate memory.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class StopEventLog {
+    private static final String AI_STOPPED_FORMAT = "%s executed %d steps until stopping.";
+    private final int[] aiIndices;
+    private final int[] numbersOfExecutedCommands;
+    private int numberOfEvents;
+
+    /**
+     * Constructs a new stop event log.
+     *
+     * @param numberOfAis the number of AIs that can stop, every AI can stop at most once
+     */
+    public StopEventLog(int numberOfAis) {
+        this.aiIndices = new int[numberOfAis];
+        this.numbersOfExecutedCommands = new int[numberOfAis];
+    }
+
+    /**
+     * Records that the AI with the given index stopped.
+     *
+     * @param aiIndex the index of the AI in the list of active AIs
+     * @param numberOfExecutedCommands the number of commands the AI executed until stopping
+     */
+    public void add(int aiIndex, int numberOfExecutedCommands) {
+        aiIndices[numberOfEvents] = aiIndex;
+        numbersOfExecutedCommands[numberOfEvents] = numberOfExecutedCommands;
+        numberOfEvents++;
+    }
+
+    /**
+     * Removes all recorded events.
+     */
+    public void clear() {
+        numberOfEvents = 0;
+    }
+
+    /**
+     * Returns whether there are no recorded events.
+     *
+     * @return true if no AI stopped since the last clear, false otherwise
+     */
+    public boolean isEmpty() {
+        return numberOfEvents == 0;
+    }
+
+    /**
+     * Returns the messages for all recorded events, separated by line separators.
+     *
+     * @param activeAis the list of active AIs the recorded indices refer to
+     * @return the messages for all the stopped AIs or null if there are no recorded events
+     */
+    public String format(List<ArtificialIntelligence> activeAis) {
+        if (isEmpty()) {
+            return null;
+        }
+        StringBuilder resultMessage = new StringBuilder();
+        for (int i = 0; i < numberOfEvents; i++) {
+            if (i != 0) {
+                resultMessage.append(System.lineSeparator());
+            }
+            resultMessage.append(AI_STOPPED_FORMAT.formatted(activeAis.get(aiIndices[i]).getName(), numbersOfExecutedCommands[i]));
+        }
+        return resultMessage.toString();
+    }
+}
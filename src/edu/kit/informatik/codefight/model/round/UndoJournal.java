@@ -0,0 +1,194 @@
+package edu.kit.informatik.codefight.model.round;
+
+import edu.kit.informatik.codefight.model.ArtificialIntelligence;
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.MemoryJournal;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * This class records the executed steps of a game, so they can be undone. Every step records the index of the AI that
+ * executed it, its instruction pointer and number of executed commands before and the content of every memory cell
+ * before it was written. The AI was alive before the step and it was its turn, so this is enough to undo the step.
+ * The records are stored in primitive arrays, so recording a step does not allocate memory.
+ * <p>
+ * After a fixed number of steps, the journal takes a checkpoint of the whole game and starts over. The memory of a
+ * checkpoint is a {@link Memory#fork(java.util.function.IntFunction) fork}, so it shares the memory cells with the
+ * memory of the game until they are written. Steps since the last checkpoint are undone one by one, older steps are
+ * reached by restoring the checkpoint before them and executing the steps up to them again. So the size of the journal,
+ * the number of checkpoints and the time to rewind to any step within reach are bounded.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class UndoJournal implements MemoryJournal {
+    private static final int CHECKPOINT_INTERVAL = 1 << 12;
+    private static final int MAX_NUMBER_OF_CHECKPOINTS = 64;
+    //the index of the memory cell, the opcode and the display symbol id, the first and the second argument
+    private static final int CELL_RECORD_SIZE = 4;
+    //the index of the AI, its instruction pointer, its number of executed commands and the first cell record
+    private static final int STEP_RECORD_SIZE = 4;
+    private static final int INITIAL_CAPACITY = 1 << 8;
+    private static final int OPCODE_SHIFT = Short.SIZE;
+    private static final int DISPLAY_SYMBOL_ID_MASK = 0xFFFF;
+    private final Memory memory;
+    private final ArtificialIntelligence[] ais;
+    private final RoundRobinScheduler scheduler;
+    //the oldest checkpoint first, the checkpoint the journal starts at last
+    private final Deque<Checkpoint> checkpoints;
+    private int[] cellRecords;
+    private int lengthOfCellRecords;
+    private int[] stepRecords;
+    private int numberOfRecordedSteps;
+    private int numberOfSteps;
+
+    /**
+     * Constructs a new empty journal. The first checkpoint is taken before the first step is recorded.
+     *
+     * @param memory the memory of the game
+     * @param ais the active AIs
+     * @param scheduler the scheduler of the living AIs
+     */
+    public UndoJournal(Memory memory, ArtificialIntelligence[] ais, RoundRobinScheduler scheduler) {
+        this.memory = memory;
+        this.ais = ais;
+        this.scheduler = scheduler;
+        this.checkpoints = new ArrayDeque<>();
+        this.cellRecords = new int[INITIAL_CAPACITY * CELL_RECORD_SIZE];
+        this.stepRecords = new int[INITIAL_CAPACITY * STEP_RECORD_SIZE];
+    }
+
+    /**
+     * Records the state of the AI with the given index before it executes a step.
+     *
+     * @param aiIndex the index of the AI whose turn it is
+     */
+    public void recordStep(int aiIndex) {
+        if (checkpoints.isEmpty() || numberOfRecordedSteps == CHECKPOINT_INTERVAL) {
+            takeCheckpoint();
+        }
+        if ((numberOfRecordedSteps + 1) * STEP_RECORD_SIZE > stepRecords.length) {
+            stepRecords = Arrays.copyOf(stepRecords, 2 * stepRecords.length);
+        }
+        int offset = numberOfRecordedSteps * STEP_RECORD_SIZE;
+        stepRecords[offset] = aiIndex;
+        stepRecords[offset + 1] = ais[aiIndex].getInstructionPointer();
+        stepRecords[offset + 2] = ais[aiIndex].getNumberOfExecutedCommands();
+        stepRecords[offset + 3] = lengthOfCellRecords;
+        numberOfRecordedSteps++;
+        numberOfSteps++;
+    }
+
+    @Override
+    public void recordMemoryCell(int index, byte opcode, int firstArgument, int secondArgument, short displaySymbolId) {
+        if (lengthOfCellRecords + CELL_RECORD_SIZE > cellRecords.length) {
+            cellRecords = Arrays.copyOf(cellRecords, 2 * cellRecords.length);
+        }
+        cellRecords[lengthOfCellRecords] = index;
+        cellRecords[lengthOfCellRecords + 1] = (opcode & 0xFF) << OPCODE_SHIFT | displaySymbolId & DISPLAY_SYMBOL_ID_MASK;
+        cellRecords[lengthOfCellRecords + 2] = firstArgument;
+        cellRecords[lengthOfCellRecords + 3] = secondArgument;
+        lengthOfCellRecords += CELL_RECORD_SIZE;
+    }
+
+    /**
+     * Returns the number of steps that can be undone.
+     *
+     * @return the number of steps since the oldest checkpoint
+     */
+    public int getNumberOfRewindableSteps() {
+        return checkpoints.isEmpty() ? 0 : numberOfSteps - checkpoints.getFirst().step;
+    }
+
+    /**
+     * Discards all recorded steps and checkpoints, so no step before the current state of the game can be undone.
+     * This is used when the game jumps to a state that was not reached by the recorded steps.
+     */
+    public void reset() {
+        checkpoints.clear();
+        clear();
+    }
+
+    /**
+     * Undoes the given number of steps. If they were recorded since the last checkpoint, they are undone one by one.
+     * Otherwise, the last checkpoint before the target step is restored and the steps from the checkpoint up to the
+     * target step have to be executed again.
+     *
+     * @param numberOfStepsToUndo the number of steps, at most the {@link #getNumberOfRewindableSteps() number of
+     *                            rewindable steps}
+     * @return the number of steps that have to be executed again after the checkpoint was restored
+     */
+    public int rewind(int numberOfStepsToUndo) {
+        if (numberOfStepsToUndo <= numberOfRecordedSteps) {
+            for (int i = 0; i < numberOfStepsToUndo; i++) {
+                undoStep();
+            }
+            return 0;
+        }
+        int targetStep = numberOfSteps - numberOfStepsToUndo;
+        //the checkpoints after the target step are taken again when the steps are executed again
+        while (checkpoints.getLast().step > targetStep) {
+            checkpoints.removeLast();
+        }
+        Checkpoint checkpoint = checkpoints.getLast();
+        restore(checkpoint);
+        return targetStep - checkpoint.step;
+    }
+
+    private void undoStep() {
+        numberOfRecordedSteps--;
+        numberOfSteps--;
+        int offset = numberOfRecordedSteps * STEP_RECORD_SIZE;
+        int aiIndex = stepRecords[offset];
+        //the memory cells are restored in the reverse order, so a memory cell written twice gets its oldest content
+        while (lengthOfCellRecords > stepRecords[offset + 3]) {
+            lengthOfCellRecords -= CELL_RECORD_SIZE;
+            int opcodeAndDisplaySymbolId = cellRecords[lengthOfCellRecords + 1];
+            memory.restoreMemoryCell(cellRecords[lengthOfCellRecords], (byte) (opcodeAndDisplaySymbolId >>> OPCODE_SHIFT),
+                    cellRecords[lengthOfCellRecords + 2], cellRecords[lengthOfCellRecords + 3],
+                    (short) opcodeAndDisplaySymbolId);
+        }
+        ArtificialIntelligence ai = ais[aiIndex];
+        if (!ai.getIsAlive()) {
+            ai.setIsAlive(true);
+            scheduler.reinsert(aiIndex);
+        }
+        ai.setInstructionPointer(stepRecords[offset + 1]);
+        ai.increaseNumberOfExecutedCommands(stepRecords[offset + 2] - ai.getNumberOfExecutedCommands());
+        scheduler.setCurrentAiIndex(aiIndex);
+    }
+
+    private void takeCheckpoint() {
+        if (checkpoints.size() == MAX_NUMBER_OF_CHECKPOINTS) {
+            checkpoints.removeFirst();
+        }
+        checkpoints.addLast(new Checkpoint(numberOfSteps, new GameState(memory, ais, scheduler)));
+        clear();
+    }
+
+    private void restore(Checkpoint checkpoint) {
+        checkpoint.state.restore(memory, ais, scheduler);
+        numberOfSteps = checkpoint.step;
+        clear();
+    }
+
+    private void clear() {
+        numberOfRecordedSteps = 0;
+        lengthOfCellRecords = 0;
+    }
+
+    /**
+     * This class represents the state of the game after a step.
+     */
+    private static final class Checkpoint {
+        private final int step;
+        private final GameState state;
+
+        Checkpoint(int step, GameState state) {
+            this.step = step;
+            this.state = state;
+        }
+    }
+}
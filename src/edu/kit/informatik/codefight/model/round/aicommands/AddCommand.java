@@ -2,8 +2,7 @@ package edu.kit.informatik.codefight.model.round.aicommands;
 
 
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
-import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
 
 /**
  * This command adds the values of the first and second argument and saves the result in the second
@@ -23,13 +22,11 @@ public final class AddCommand implements AiCommand {
     }
 
     @Override
-    public void execute(CodeFight model, MemoryCell currentCommand, ArtificialIntelligence currentAi) {
-        String commandName = currentCommand.getCommandName();
-        int firstArgument = currentCommand.getFirstArgument();
-        int secondArgument = currentCommand.getSecondArgument();
-        int result = firstArgument + secondArgument;
-        model.getMemory().setMemoryCell(currentAi.getInstructionPointer(), new MemoryCell(commandName, firstArgument, result, currentAi));
-        currentAi.setInstructionPointer(currentAi.getInstructionPointer() + 1);
+    public void execute(Memory memory, ArtificialIntelligence currentAi, DecodedAiCommand decodedAiCommand) {
+        int result = decodedAiCommand.getFirstArgument() + decodedAiCommand.getSecondArgument();
+        memory.setSecondArgument(currentAi.getInstructionPointer(), result);
+        memory.updateDisplaySymbol(currentAi.getInstructionPointer(), currentAi);
+        currentAi.setInstructionPointer(decodedAiCommand.getNextAddress());
         currentAi.increaseNumberOfExecutedCommands(1);
     }
 }
@@ -2,8 +2,7 @@ package edu.kit.informatik.codefight.model.round.aicommands;
 
 
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
-import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
 
 /**
  * This command adds the value of the first argument to the second entry of the
@@ -24,15 +23,11 @@ public final class AddRCommand implements AiCommand {
     }
 
     @Override
-    public void execute(CodeFight model, MemoryCell currentCommand, ArtificialIntelligence currentAi) {
-        int firstArgument = currentCommand.getFirstArgument();
-        int secondArgument = currentCommand.getSecondArgument();
-        MemoryCell target = model.getMemory().getMemoryCell(currentAi.getInstructionPointer()
-                + (long) secondArgument);
-        target.setSecondArgument(target.getSecondArgument() + firstArgument);
-        target.setCurrentDisplaySymbol(currentAi);
-        model.getMemory().setMemoryCell(currentAi.getInstructionPointer() + (long) secondArgument, target);
-        currentAi.setInstructionPointer(currentAi.getInstructionPointer() + 1);
+    public void execute(Memory memory, ArtificialIntelligence currentAi, DecodedAiCommand decodedAiCommand) {
+        int targetAddress = decodedAiCommand.getSecondTarget();
+        memory.setSecondArgument(targetAddress, memory.getSecondArgument(targetAddress) + decodedAiCommand.getFirstArgument());
+        memory.updateDisplaySymbol(targetAddress, currentAi);
+        currentAi.setInstructionPointer(decodedAiCommand.getNextAddress());
         currentAi.increaseNumberOfExecutedCommands(1);
     }
 }
@@ -2,8 +2,7 @@ package edu.kit.informatik.codefight.model.round.aicommands;
 
 
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
-import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
 
 /**
  * This interface represents a command that can be executed by an AI.
@@ -21,10 +20,12 @@ public interface AiCommand {
     /**
      * Executes the command.
      *
-     * @param model the {@link CodeFight Code Fight Game} to execute the command on
-     * @param currentCommand the current command to execute
+     * The command is the decoded content of the memory cell the instruction pointer of the current AI points to.
+     *
+     * @param memory the {@link Memory memory} of the game to execute the command on
      * @param currentAi the current AI which executes the command
+     * @param decodedAiCommand the decoded memory cell with the arguments and the addresses they refer to
      */
-    void execute(CodeFight model, MemoryCell currentCommand, ArtificialIntelligence currentAi);
+    void execute(Memory memory, ArtificialIntelligence currentAi, DecodedAiCommand decodedAiCommand);
 
 }
@@ -2,8 +2,7 @@ package edu.kit.informatik.codefight.model.round.aicommands;
 
 
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
-import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
 
 
 /**
@@ -26,14 +25,12 @@ public final class CmpCommand implements AiCommand {
     }
 
     @Override
-    public void execute(CodeFight model, MemoryCell currentCommand, ArtificialIntelligence currentAi) {
-        int firstArgument = currentCommand.getFirstArgument();
-        int secondArgument = currentCommand.getSecondArgument();
-        if (model.getMemory().getMemoryCell(currentAi.getInstructionPointer() + (long) firstArgument).getFirstArgument()
-                != model.getMemory().getMemoryCell(currentAi.getInstructionPointer() + (long) secondArgument).getSecondArgument()) {
-            currentAi.setInstructionPointer(currentAi.getInstructionPointer() + 2);
+    public void execute(Memory memory, ArtificialIntelligence currentAi, DecodedAiCommand decodedAiCommand) {
+        if (memory.getFirstArgument(decodedAiCommand.getFirstTarget())
+                != memory.getSecondArgument(decodedAiCommand.getSecondTarget())) {
+            currentAi.setInstructionPointer(memory.normaliseIndex(decodedAiCommand.getNextAddress() + 1L));
         } else {
-            currentAi.setInstructionPointer(currentAi.getInstructionPointer() + 1);
+            currentAi.setInstructionPointer(decodedAiCommand.getNextAddress());
         }
         currentAi.increaseNumberOfExecutedCommands(1);
     }
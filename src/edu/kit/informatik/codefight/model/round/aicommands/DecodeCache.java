@@ -0,0 +1,68 @@
+package edu.kit.informatik.codefight.model.round.aicommands;
+
+import edu.kit.informatik.codefight.model.Memory;
+import edu.kit.informatik.codefight.model.MemoryListener;
+
+/**
+ * This class caches the decoded AI commands of the memory cells that are executed. The cache is direct-mapped:
+ * every address has exactly one slot, so looking up an address is a single array access and the cache never grows.
+ * The decoded AI command of a memory cell is invalidated as soon as the memory cell is written.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public class DecodeCache implements MemoryListener {
+    private static final int CACHE_SHIFT = 12;
+    private static final int CACHE_SIZE = 1 << CACHE_SHIFT;
+    private static final int CACHE_MASK = CACHE_SIZE - 1;
+    //the decoded AI commands are reused when their slot is filled again, so decoding does not allocate
+    private final DecodedAiCommand[] slots;
+    //the AI commands indexed by the code of their opcode
+    private final AiCommand[] aiCommands;
+
+    /**
+     * Constructs a new empty decode cache.
+     *
+     * @param aiCommands the AI commands indexed by the code of their opcode
+     */
+    public DecodeCache(AiCommand[] aiCommands) {
+        this.aiCommands = aiCommands;
+        this.slots = new DecodedAiCommand[CACHE_SIZE];
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            slots[i] = new DecodedAiCommand();
+        }
+    }
+
+    /**
+     * Returns the decoded AI command of the memory cell at the given address. If it is not cached yet,
+     * the memory cell is decoded and cached.
+     *
+     * @param memory the memory
+     * @param address the normalised address of the memory cell
+     * @return the decoded AI command or null if the memory cell does not contain an AI command
+     */
+    public DecodedAiCommand get(Memory memory, int address) {
+        DecodedAiCommand decodedAiCommand = slots[address & CACHE_MASK];
+        if (decodedAiCommand.getAddress() == address) {
+            return decodedAiCommand;
+        }
+        byte opcode = memory.getOpcode(address);
+        if (opcode < 0 || opcode >= aiCommands.length) {
+            return null;
+        }
+        int firstArgument = memory.getFirstArgument(address);
+        int secondArgument = memory.getSecondArgument(address);
+        decodedAiCommand.decode(aiCommands[opcode], address, firstArgument, secondArgument,
+                memory.normaliseIndex(address + (long) firstArgument), memory.normaliseIndex(address + (long) secondArgument),
+                memory.normaliseIndex(address + 1L));
+        return decodedAiCommand;
+    }
+
+    @Override
+    public void memoryCellChanged(int index) {
+        DecodedAiCommand decodedAiCommand = slots[index & CACHE_MASK];
+        if (decodedAiCommand.getAddress() == index) {
+            decodedAiCommand.invalidate();
+        }
+    }
+}
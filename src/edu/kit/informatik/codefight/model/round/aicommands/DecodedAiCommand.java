@@ -0,0 +1,117 @@
+package edu.kit.informatik.codefight.model.round.aicommands;
+
+/**
+ * This class represents the decoded content of a memory cell. The AI command and its arguments are read once and
+ * the addresses the arguments refer to relative to the memory cell are already normalised, so executing the AI command
+ * again does not need to read or resolve them anymore. The decoded AI command is only valid as long as the memory cell
+ * is not written.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public final class DecodedAiCommand {
+    /**
+     * The address of a decoded AI command that does not belong to any memory cell.
+     */
+    static final int NO_ADDRESS = -1;
+    private AiCommand aiCommand;
+    private int address = NO_ADDRESS;
+    private int firstArgument;
+    private int secondArgument;
+    private int firstTarget;
+    private int secondTarget;
+    private int nextAddress;
+
+    /**
+     * Sets the decoded content of the memory cell at the given address.
+     *
+     * @param aiCommand the AI command of the memory cell
+     * @param address the address of the memory cell
+     * @param firstArgument the first argument of the memory cell
+     * @param secondArgument the second argument of the memory cell
+     * @param firstTarget the normalised address the first argument refers to
+     * @param secondTarget the normalised address the second argument refers to
+     * @param nextAddress the normalised address of the memory cell after the memory cell
+     */
+    void decode(AiCommand aiCommand, int address, int firstArgument, int secondArgument, int firstTarget,
+                int secondTarget, int nextAddress) {
+        this.aiCommand = aiCommand;
+        this.address = address;
+        this.firstArgument = firstArgument;
+        this.secondArgument = secondArgument;
+        this.firstTarget = firstTarget;
+        this.secondTarget = secondTarget;
+        this.nextAddress = nextAddress;
+    }
+
+    /**
+     * Marks the decoded AI command as invalid because its memory cell was written. The decoded content stays readable
+     * until the decoded AI command is reused, so an AI command that writes its own memory cell can still finish.
+     */
+    void invalidate() {
+        address = NO_ADDRESS;
+    }
+
+    /**
+     * Returns the AI command of the memory cell.
+     *
+     * @return the AI command
+     */
+    public AiCommand getAiCommand() {
+        return aiCommand;
+    }
+
+    /**
+     * Returns the address of the memory cell.
+     *
+     * @return the address of the memory cell or {@link #NO_ADDRESS} if the decoded AI command is invalid
+     */
+    public int getAddress() {
+        return address;
+    }
+
+    /**
+     * Returns the first argument of the memory cell.
+     *
+     * @return the first argument
+     */
+    public int getFirstArgument() {
+        return firstArgument;
+    }
+
+    /**
+     * Returns the second argument of the memory cell.
+     *
+     * @return the second argument
+     */
+    public int getSecondArgument() {
+        return secondArgument;
+    }
+
+    /**
+     * Returns the normalised address the first argument refers to relative to the memory cell.
+     *
+     * @return the address the first argument refers to
+     */
+    public int getFirstTarget() {
+        return firstTarget;
+    }
+
+    /**
+     * Returns the normalised address the second argument refers to relative to the memory cell.
+     *
+     * @return the address the second argument refers to
+     */
+    public int getSecondTarget() {
+        return secondTarget;
+    }
+
+    /**
+     * Returns the normalised address of the memory cell after the memory cell.
+     *
+     * @return the address of the next memory cell
+     */
+    public int getNextAddress() {
+        return nextAddress;
+    }
+}
@@ -2,8 +2,7 @@ package edu.kit.informatik.codefight.model.round.aicommands;
 
 
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
-import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
 
 
 /**
@@ -24,16 +23,9 @@ public final class JmpCommand implements AiCommand {
     }
 
     @Override
-    public void execute(CodeFight model, MemoryCell currentCommand, ArtificialIntelligence currentAi) {
-        // set the new address for the instruction pointer, the new address is calculated the same way
-        //as in the getMemoryCell method of the Memory class
-        long targetAddress = currentAi.getInstructionPointer() + (long) currentCommand.getFirstArgument();
-        if (targetAddress < 0) {
-            targetAddress = model.getMemory().getSize() + targetAddress % model.getMemory().getSize();
-        } else {
-            targetAddress %= model.getMemory().getSize();
-        }
-        currentAi.setInstructionPointer((int) targetAddress);
+    public void execute(Memory memory, ArtificialIntelligence currentAi, DecodedAiCommand decodedAiCommand) {
+        //set the new address for the instruction pointer, the address the first argument refers to is already normalised
+        currentAi.setInstructionPointer(decodedAiCommand.getFirstTarget());
         currentAi.increaseNumberOfExecutedCommands(1);
     }
 }
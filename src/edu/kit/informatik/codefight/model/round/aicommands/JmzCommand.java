@@ -1,8 +1,7 @@
 package edu.kit.informatik.codefight.model.round.aicommands;
 
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
-import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
 
 /**
  * This command jumps to the memory cell given by the first argument
@@ -24,13 +23,11 @@ public final class JmzCommand implements AiCommand {
     }
 
     @Override
-    public void execute(CodeFight model, MemoryCell currentCommand, ArtificialIntelligence currentAi) {
-        int firstArgument = currentCommand.getFirstArgument();
-        int secondArgument = currentCommand.getSecondArgument();
-        if (model.getMemory().getMemoryCell(currentAi.getInstructionPointer() + (long) secondArgument).getSecondArgument() == 0) {
-            currentAi.setInstructionPointer(currentAi.getInstructionPointer() + firstArgument);
+    public void execute(Memory memory, ArtificialIntelligence currentAi, DecodedAiCommand decodedAiCommand) {
+        if (memory.getSecondArgument(decodedAiCommand.getSecondTarget()) == 0) {
+            currentAi.setInstructionPointer(decodedAiCommand.getFirstTarget());
         } else {
-            currentAi.setInstructionPointer(currentAi.getInstructionPointer() + 1);
+            currentAi.setInstructionPointer(decodedAiCommand.getNextAddress());
         }
         currentAi.increaseNumberOfExecutedCommands(1);
     }
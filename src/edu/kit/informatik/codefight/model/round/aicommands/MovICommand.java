@@ -2,8 +2,7 @@ package edu.kit.informatik.codefight.model.round.aicommands;
 
 
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
-import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
 
 /**
  * This command copies the content of the memory referenced by the first argument to the memory cell referenced by the
@@ -27,15 +26,13 @@ public final class MovICommand implements AiCommand {
     }
 
     @Override
-    public void execute(CodeFight model, MemoryCell currentCommand, ArtificialIntelligence currentAi) {
-        int firstArgument = currentCommand.getFirstArgument();
-        int secondArgument = currentCommand.getSecondArgument();
-        MemoryCell source = model.getMemory().getMemoryCell(currentAi.getInstructionPointer() + (long) firstArgument);
-        source.setCurrentDisplaySymbol(currentAi);
-        long intermediateAddress = (long) currentAi.getInstructionPointer() + secondArgument;
-        long targetAddress = intermediateAddress + model.getMemory().getMemoryCell(intermediateAddress).getSecondArgument();
-        model.getMemory().setMemoryCell(targetAddress, source);
-        currentAi.setInstructionPointer(currentAi.getInstructionPointer() + 1);
+    public void execute(Memory memory, ArtificialIntelligence currentAi, DecodedAiCommand decodedAiCommand) {
+        int intermediateAddress = decodedAiCommand.getSecondTarget();
+        //the intermediate memory cell may change at any time, so the target address is resolved on every execution
+        long targetAddress = intermediateAddress + (long) memory.getSecondArgument(intermediateAddress);
+        memory.copyMemoryCell(decodedAiCommand.getFirstTarget(), targetAddress);
+        memory.updateDisplaySymbol(targetAddress, currentAi);
+        currentAi.setInstructionPointer(decodedAiCommand.getNextAddress());
         currentAi.increaseNumberOfExecutedCommands(1);
     }
 }
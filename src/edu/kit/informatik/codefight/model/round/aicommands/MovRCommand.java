@@ -2,8 +2,7 @@ package edu.kit.informatik.codefight.model.round.aicommands;
 
 
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
-import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
 
 /**
  * This command copies the content of the memory cell referenced by the first argument to the memory cell
@@ -23,13 +22,11 @@ public final class MovRCommand implements AiCommand {
     }
 
     @Override
-    public void execute(CodeFight model, MemoryCell currentCommand, ArtificialIntelligence currentAi) {
-        int firstArgument = currentCommand.getFirstArgument();
-        int secondArgument = currentCommand.getSecondArgument();
-        MemoryCell source = model.getMemory().getMemoryCell(currentAi.getInstructionPointer() + (long) firstArgument);
-        source.setCurrentDisplaySymbol(currentAi);
-        model.getMemory().setMemoryCell(currentAi.getInstructionPointer() + (long) secondArgument, source);
-        currentAi.setInstructionPointer(currentAi.getInstructionPointer() + 1);
+    public void execute(Memory memory, ArtificialIntelligence currentAi, DecodedAiCommand decodedAiCommand) {
+        int targetAddress = decodedAiCommand.getSecondTarget();
+        memory.copyMemoryCell(decodedAiCommand.getFirstTarget(), targetAddress);
+        memory.updateDisplaySymbol(targetAddress, currentAi);
+        currentAi.setInstructionPointer(decodedAiCommand.getNextAddress());
         currentAi.increaseNumberOfExecutedCommands(1);
 
     }
@@ -0,0 +1,125 @@
+package edu.kit.informatik.codefight.model.round.aicommands;
+
+/**
+ * This enum represents the opcodes of the AI commands as they are stored in the memory.
+ * The order of the opcodes is the order needed for the random initialisation of the memory.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+public enum Opcode {
+    /**
+     * The opcode of the {@link StopCommand}.
+     */
+    STOP(StopCommand.COMMAND_NAME),
+    /**
+     * The opcode of the {@link MovRCommand}.
+     */
+    MOV_R(MovRCommand.COMMAND_NAME),
+    /**
+     * The opcode of the {@link MovICommand}.
+     */
+    MOV_I(MovICommand.COMMAND_NAME),
+    /**
+     * The opcode of the {@link AddCommand}.
+     */
+    ADD(AddCommand.COMMAND_NAME),
+    /**
+     * The opcode of the {@link AddRCommand}.
+     */
+    ADD_R(AddRCommand.COMMAND_NAME),
+    /**
+     * The opcode of the {@link JmpCommand}.
+     */
+    JMP(JmpCommand.COMMAND_NAME),
+    /**
+     * The opcode of the {@link JmzCommand}.
+     */
+    JMZ(JmzCommand.COMMAND_NAME),
+    /**
+     * The opcode of the {@link CmpCommand}.
+     */
+    CMP(CmpCommand.COMMAND_NAME),
+    /**
+     * The opcode of the {@link SwapCommand}.
+     */
+    SWAP(SwapCommand.COMMAND_NAME);
+
+    private static final Opcode[] OPCODES = values();
+    private final String commandName;
+
+    Opcode(String commandName) {
+        this.commandName = commandName;
+    }
+
+    /**
+     * Returns the name of the AI command of this opcode.
+     *
+     * @return the name of the AI command
+     */
+    public String getCommandName() {
+        return commandName;
+    }
+
+    /**
+     * Returns the code of this opcode as it is stored in the memory.
+     *
+     * @return the code of this opcode
+     */
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Returns whether an AI command with this opcode and the given arguments is an AI bomb.
+     *
+     * @param firstArgument the first argument of the AI command
+     * @param secondArgument the second argument of the AI command
+     * @return true if the AI command is an AI bomb, false otherwise
+     */
+    public boolean isAiBomb(int firstArgument, int secondArgument) {
+        return switch (this) {
+            case STOP -> true;
+            case JMP -> firstArgument == 0;
+            case JMZ -> firstArgument == 0 && secondArgument == 0;
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns the number of opcodes.
+     *
+     * @return the number of opcodes
+     */
+    public static int getNumberOfOpcodes() {
+        return OPCODES.length;
+    }
+
+    /**
+     * Returns the opcode with the given code.
+     *
+     * @param code the code of the opcode
+     * @return the opcode with the given code or null if there is no opcode with this code
+     */
+    public static Opcode fromCode(byte code) {
+        if (code < 0 || code >= OPCODES.length) {
+            return null;
+        }
+        return OPCODES[code];
+    }
+
+    /**
+     * Returns the opcode of the AI command with the given name.
+     *
+     * @param commandName the name of the AI command
+     * @return the opcode of the AI command or null if there is no AI command with this name
+     */
+    public static Opcode fromCommandName(String commandName) {
+        for (Opcode opcode : OPCODES) {
+            if (opcode.getCommandName().equals(commandName)) {
+                return opcode;
+            }
+        }
+        return null;
+    }
+}
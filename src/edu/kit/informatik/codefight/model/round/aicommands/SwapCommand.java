@@ -1,8 +1,7 @@
 package edu.kit.informatik.codefight.model.round.aicommands;
 
 import edu.kit.informatik.codefight.model.ArtificialIntelligence;
-import edu.kit.informatik.codefight.model.CodeFight;
-import edu.kit.informatik.codefight.model.MemoryCell;
+import edu.kit.informatik.codefight.model.Memory;
 
 /**
  * This command swaps the first entry of the memory cell referenced by the first argument
@@ -24,26 +23,25 @@ public final class SwapCommand implements AiCommand {
     }
 
     @Override
-    public void execute(CodeFight model, MemoryCell currentCommand, ArtificialIntelligence currentAi) {
-        int firstArgument = currentCommand.getFirstArgument();
-        int secondArgument = currentCommand.getSecondArgument();
-        MemoryCell first = model.getMemory().getMemoryCell(currentAi.getInstructionPointer() + (long) firstArgument);
-        first.setCurrentDisplaySymbol(currentAi);
-        if (firstArgument == secondArgument) { //if the same memory cell is referenced
-            int temp = first.getFirstArgument();
-            first.setFirstArgument(first.getSecondArgument());
-            first.setSecondArgument(temp);
-            model.getMemory().setMemoryCell(currentAi.getInstructionPointer() + (long) firstArgument, first);
+    public void execute(Memory memory, ArtificialIntelligence currentAi, DecodedAiCommand decodedAiCommand) {
+        int firstAddress = decodedAiCommand.getFirstTarget();
+        int secondAddress = decodedAiCommand.getSecondTarget();
+        //the display symbols are determined by the content of the memory cells before swapping
+        memory.updateDisplaySymbol(firstAddress, currentAi);
+        if (decodedAiCommand.getFirstArgument() == decodedAiCommand.getSecondArgument()) { //if the same memory cell is referenced
+            int temp = memory.getFirstArgument(firstAddress);
+            memory.setFirstArgument(firstAddress, memory.getSecondArgument(firstAddress));
+            memory.setSecondArgument(firstAddress, temp);
         } else { //if different memory cells are referenced
-            MemoryCell second = model.getMemory().getMemoryCell(currentAi.getInstructionPointer() + (long) secondArgument);
-            second.setCurrentDisplaySymbol(currentAi);
-            int temp = first.getFirstArgument();
-            first.setFirstArgument(second.getSecondArgument());
-            second.setSecondArgument(temp);
-            model.getMemory().setMemoryCell(currentAi.getInstructionPointer() + (long) firstArgument, first);
-            model.getMemory().setMemoryCell(currentAi.getInstructionPointer() + (long) secondArgument, second);
+            memory.updateDisplaySymbol(secondAddress, currentAi);
+            int temp = memory.getFirstArgument(firstAddress);
+            int firstArgumentOfSecond = memory.getFirstArgument(secondAddress);
+            memory.setFirstArgument(firstAddress, memory.getSecondArgument(secondAddress));
+            //the second memory cell is written last, so it prevails if both addresses refer to the same memory cell
+            memory.setFirstArgument(secondAddress, firstArgumentOfSecond);
+            memory.setSecondArgument(secondAddress, temp);
         }
-        currentAi.setInstructionPointer(currentAi.getInstructionPointer() + 1);
+        currentAi.setInstructionPointer(decodedAiCommand.getNextAddress());
         currentAi.increaseNumberOfExecutedCommands(1);
     }
 }
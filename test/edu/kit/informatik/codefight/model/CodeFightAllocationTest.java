@@ -0,0 +1,71 @@
+package edu.kit.informatik.codefight.model;
+
+import edu.kit.informatik.codefight.exceptions.GameExecutionException;
+import edu.kit.informatik.codefight.exceptions.GameInitialisationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * This class tests that executing the next commands of a running game allocates nothing per executed step.
+ * The allocated bytes of the current thread are measured after a warm-up, so the classes are loaded and the
+ * hot path is compiled.
+ *
+ * @author uexnb
+ * @version 1.0
+ */
+class CodeFightAllocationTest {
+    private static final int MEMORY_SIZE = 1337;
+    private static final String[] AI_INDEPENDENT_SYMBOLS = {"a", "b", "c", "d"};
+    private static final String[][] AI_DEPENDENT_SYMBOLS = {{"x", "y"}, {"z", "w"}, {"u", "v"}};
+    private static final int NUMBER_OF_WARM_UP_CHUNKS = 20;
+    private static final int STEPS_PER_WARM_UP_CHUNK = 100_000;
+    private static final int NUMBER_OF_MEASURED_STEPS = 1_000_000;
+    //the JIT compiler and the counter itself may allocate a few bytes while the steps are measured
+    private static final long MAX_NOISE_BYTES = 1024;
+    private CodeFight game;
+
+    @BeforeEach
+    void startGame() throws GameInitialisationException {
+        game = new CodeFight(MEMORY_SIZE, ArrayMemoryStorage::new, AI_INDEPENDENT_SYMBOLS, AI_DEPENDENT_SYMBOLS,
+                AI_DEPENDENT_SYMBOLS.length);
+        //none of the AIs ever stops, so every step executes a command
+        registerAi("imp", "MOV_I,0,1");
+        registerAi("jumper", "JMP,0,0");
+        registerAi("counter", "ADD,1,1,JMP,-1,0");
+        game.setActiveAis(new String[] {"imp", "jumper", "counter"});
+        game.startGame();
+    }
+
+    private void registerAi(String name, String aiCommands) {
+        ArtificialIntelligence ai = new ArtificialIntelligence(name);
+        ai.setAiCommands(aiCommands.split(","));
+        game.registerAi(ai);
+    }
+
+    @Test
+    void executeNextCommandsAllocatesNothingPerStep() throws GameExecutionException {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(allocationCounter.isThreadAllocatedMemorySupported());
+        allocationCounter.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < NUMBER_OF_WARM_UP_CHUNKS; i++) {
+            assertNull(game.executeNextCommands(STEPS_PER_WARM_UP_CHUNK));
+        }
+        //the first call of the counter may allocate itself, so it is not part of the measurement
+        allocationCounter.getThreadAllocatedBytes(threadId);
+        long allocatedBytesBefore = allocationCounter.getThreadAllocatedBytes(threadId);
+        String stopMessages = game.executeNextCommands(NUMBER_OF_MEASURED_STEPS);
+        long allocatedBytes = allocationCounter.getThreadAllocatedBytes(threadId) - allocatedBytesBefore;
+        assertNull(stopMessages);
+        assertTrue(allocatedBytes <= MAX_NOISE_BYTES,
+                "%d bytes were allocated in %d steps".formatted(allocatedBytes, NUMBER_OF_MEASURED_STEPS));
+    }
+}